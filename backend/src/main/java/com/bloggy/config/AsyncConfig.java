@@ -1,23 +1,188 @@
 package com.bloggy.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background executors. With {@code spring.threads.virtual.enabled=true} they start a virtual
+ * thread per task (Tomcat and the scheduler switch too); concurrency is then bounded by the
+ * permits in ModerationWorker and by {@link VirtualThreadConfig} in front of JDBC and SMTP,
+ * not by pool size.
+ *
+ * Pools are exported by Boot as {@code executor.active}, {@code executor.queued} etc., tagged
+ * with the bean name; {@code executor.rejected} and {@code executor.dropped} are added here.
+ * Virtual executors have no pool to report, see the moderation worker gauges instead.
+ */
 @Configuration
 @EnableAsync
+@EnableScheduling
 
 public class AsyncConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean(name="workerExecutor")
-    public ThreadPoolTaskExecutor workerExecutor(){
+    public AsyncTaskExecutor workerExecutor(@Value("${worker.thread-pool.size:8}") int poolSize,
+                                            @Value("${worker.queue.capacity:100}") int queueCapacity,
+                                            MeterRegistry registry){
+        if (virtualThreads) {
+            return virtualExecutor("worker-", -1);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(50);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(counted("workerExecutor", new ThreadPoolExecutor.AbortPolicy(), registry));
         executor.setThreadNamePrefix("worker-");
         executor.initialize();
         return executor;
     }
-    
+
+    /**
+     * Follower notifications, kept apart from moderation: the thread that approved a blog never
+     * sends its emails. When the queue is full a fan-out is put back on it after a delay, a few
+     * times, and then dropped and counted.
+     */
+    @Bean(name="emailExecutor")
+    public AsyncTaskExecutor emailExecutor(@Value("${email.executor.size:2}") int poolSize,
+                                           @Value("${email.executor.queue-capacity:200}") int queueCapacity,
+                                           @Value("${email.executor.requeue-attempts:5}") int requeueAttempts,
+                                           @Value("${email.executor.requeue-delay-ms:1000}") long requeueDelayMs,
+                                           MeterRegistry registry){
+        if (virtualThreads) {
+            // No limit here; ThrottledMailSender caps how many threads talk SMTP
+            return virtualExecutor("email-", -1);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(requeueing("emailExecutor", requeueAttempts, requeueDelayMs, registry));
+        executor.setThreadNamePrefix("email-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Feed fan-out: Redis writes only, so a small pool keeps up; callers run overflow themselves
+     */
+    @Bean(name="feedExecutor")
+    public AsyncTaskExecutor feedExecutor(@Value("${feed.executor.size:2}") int poolSize,
+                                          @Value("${feed.executor.queue-capacity:500}") int queueCapacity,
+                                          MeterRegistry registry){
+        if (virtualThreads) {
+            return virtualExecutor("feed-", poolSize);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(counted("feedExecutor", new ThreadPoolExecutor.CallerRunsPolicy(), registry));
+        executor.setThreadNamePrefix("feed-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Moderation of bulk imports. CPU-bound, so it stays a platform pool sized to the cores
+     * even in virtual thread mode; when busy the importing request thread helps out.
+     */
+    @Bean(name="ingestExecutor")
+    public AsyncTaskExecutor ingestExecutor(@Value("${ingest.parallelism:4}") int poolSize,
+                                            MeterRegistry registry){
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize);
+        executor.setRejectedExecutionHandler(counted("ingestExecutor", new ThreadPoolExecutor.CallerRunsPolicy(), registry));
+        executor.setThreadNamePrefix("ingest-");
+        executor.initialize();
+        return executor;
+    }
+
+    /** Counts each rejection (including caller-runs overflow) before applying the policy */
+    private RejectedExecutionHandler counted(String name, RejectedExecutionHandler policy, MeterRegistry registry) {
+        Counter rejected = Counter.builder("executor.rejected")
+            .tag("name", name)
+            .description("Tasks the pool had no thread or queue space for")
+            .register(registry);
+        return (task, pool) -> {
+            rejected.increment();
+            policy.rejectedExecution(task, pool);
+        };
+    }
+
+    /**
+     * Counts each rejection, then resubmits the task from a scheduler thread after a doubling
+     * delay; after maxAttempts, or once the pool is shut down, drops it and counts that too
+     */
+    private RejectedExecutionHandler requeueing(String name, int maxAttempts, long delayMs, MeterRegistry registry) {
+        Counter rejected = Counter.builder("executor.rejected")
+            .tag("name", name)
+            .description("Tasks the pool had no thread or queue space for")
+            .register(registry);
+        Counter dropped = Counter.builder("executor.dropped")
+            .tag("name", name)
+            .description("Rejected tasks given up on")
+            .register(registry);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name(name + "-requeue").daemon().factory());
+        return (task, pool) -> {
+            rejected.increment();
+            Requeued requeued = task instanceof Requeued r ? r : new Requeued(task, 0);
+            if (pool.isShutdown() || requeued.attempt >= maxAttempts) {
+                dropped.increment();
+                log.warn("Dropped a task for {} after {} requeues", name, requeued.attempt);
+                return;
+            }
+            Requeued next = new Requeued(requeued.task, requeued.attempt + 1);
+            scheduler.schedule(() -> pool.execute(next), delayMs << requeued.attempt, TimeUnit.MILLISECONDS);
+        };
+    }
+
+    /** A rejected task on its way back to the queue, and how many times it has been turned away */
+    private static final class Requeued implements Runnable {
+        private final Runnable task;
+        private final int attempt;
+
+        Requeued(Runnable task, int attempt) {
+            this.task = task;
+            this.attempt = attempt;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    private SimpleAsyncTaskExecutor virtualExecutor(String prefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskTerminationTimeout(SHUTDOWN_TIMEOUT_MS);
+        return executor;
+    }
 }
@@ -0,0 +1,75 @@
+package com.bloggy.config;
+
+import com.bloggy.model.Blog;
+import com.bloggy.model.BlogBody;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves content stored inline by earlier versions (blogs.content) into blog_bodies, filling in
+ * the snippet, a batch per transaction. Runs before the indexes are rebuilt at startup and is a
+ * no-op once every row is moved, or on schemas that never had the column.
+ * The emptied column is left for the DBA to drop.
+ */
+@Component
+public class BlogBodyMigration implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BlogBodyMigration.class);
+
+    private static final int BATCH = 500;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @Override
+    public void run(String... args) {
+        int moved = 0;
+        int batch;
+        try {
+            do {
+                batch = transactions.execute(tx -> moveBatch());
+                moved += batch;
+            } while (batch == BATCH);
+        } catch (BadSqlGrammarException e) {
+            return; // No legacy content column
+        }
+        if (moved > 0) {
+            log.info("Moved the content of {} blogs to blog_bodies", moved);
+        }
+    }
+
+    private int moveBatch() {
+        List<Map<String, Object>> rows = jdbc.queryForList(
+            "SELECT id, content FROM blogs WHERE body_id IS NULL AND content IS NOT NULL ORDER BY id LIMIT " + BATCH);
+        for (Map<String, Object> row : rows) {
+            String content = (String) row.get("content");
+            KeyHolder key = new GeneratedKeyHolder();
+            jdbc.update(connection -> {
+                PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO blog_bodies (data) VALUES (?)", Statement.RETURN_GENERATED_KEYS);
+                insert.setBytes(1, BlogBody.encode(content));
+                return insert;
+            }, key);
+            jdbc.update("UPDATE blogs SET body_id = ?, snippet = ?, content = NULL WHERE id = ?",
+                key.getKey().longValue(), Blog.snippet(content), ((Number) row.get("id")).longValue());
+        }
+        return rows.size();
+    }
+}
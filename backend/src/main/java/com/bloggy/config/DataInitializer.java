@@ -3,6 +3,8 @@ package com.bloggy.config;
 import com.bloggy.model.User;
 import com.bloggy.repository.UserRepository;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -10,6 +12,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     @Autowired
     private UserRepository userRepo;
 
@@ -23,7 +27,7 @@ public class DataInitializer implements CommandLineRunner {
             admin.setName("Admin");
             admin.setRole("ADMIN");
             userRepo.save(admin);
-            System.out.println("✅ Admin user created: admin@bloggy.com / password");
+            log.info("Admin user created: admin@bloggy.com / password");
         }
     }
 }
@@ -0,0 +1,34 @@
+package com.bloggy.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * ETags for blog reads that carry no version of their own (filtered summaries, related posts,
+ * profanity matches): a hash of the response body, so an unchanged response is still computed
+ * but answered 304 without sending it. Responses that already set an ETag (single blogs, the
+ * unpaged and APPROVED listings, comments) are passed through untouched.
+ */
+@Configuration
+public class HttpCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                // Never buffer writes, e.g. the streamed NDJSON import
+                return !HttpMethod.GET.matches(request.getMethod());
+            }
+        };
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/blogs/*");
+        return registration;
+    }
+}
@@ -2,31 +2,62 @@ package com.bloggy.config;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.bloggy.security.TokenAuthenticationFilter;
+import com.bloggy.security.TokenService;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // When set, actuator listens here instead, for scrapers on the internal network only
+    @Value("${management.server.port:#{null}}")
+    private Integer managementPort;
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(AbstractHttpConfigurer::disable)
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // Identity comes from the bearer token (see AuthController), never from a userId in the body
+            .addFilterBefore(new TokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(e -> e.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
             .authorizeHttpRequests(auth -> auth
+                .requestMatchers(HttpMethod.PUT, "/api/blogs/*/approve", "/api/blogs/*/reject", "/api/blogs/*/review").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/blogs/bulk", "/api/moderation/**").hasRole("ADMIN")
+                // Moderator diagnostics, otherwise caught by the /api/** permitAll below
+                .requestMatchers(HttpMethod.GET, "/api/moderation/queue", "/api/moderation/similarity",
+                    "/api/blogs/*/profanity").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/blogs/*/comments").authenticated()
+                .requestMatchers(HttpMethod.PUT, "/api/blogs/*").authenticated()
+                .requestMatchers("/api/follow").authenticated()
+                .requestMatchers(HttpMethod.PUT, "/api/auth/user/*").authenticated()
                 .requestMatchers("/api/**").permitAll()
+                // STOMP frames are authenticated by StompAuthenticationInterceptor
+                .requestMatchers("/ws/**").permitAll()
                 .requestMatchers("/error").permitAll()
+                .requestMatchers(request -> managementPort != null && managementPort > 0
+                    && request.getLocalPort() == managementPort).permitAll()
+                .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                // Executor, pool and queue internals: admins only on the public port
+                .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                 .anyRequest().authenticated()
             );
 
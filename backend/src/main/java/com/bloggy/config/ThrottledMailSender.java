@@ -0,0 +1,65 @@
+package com.bloggy.config;
+
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import jakarta.mail.internet.MimeMessage;
+
+import java.io.InputStream;
+import java.util.concurrent.Semaphore;
+
+/**
+ * JavaMailSender allowing a fixed number of concurrent SMTP sessions; each send call is
+ * one session however many messages it carries.
+ */
+public class ThrottledMailSender implements JavaMailSender {
+
+    private final JavaMailSender target;
+    private final Semaphore permits;
+
+    public ThrottledMailSender(JavaMailSender target, int maxConcurrent) {
+        this.target = target;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    @Override
+    public MimeMessage createMimeMessage() {
+        return target.createMimeMessage();
+    }
+
+    @Override
+    public MimeMessage createMimeMessage(InputStream contentStream) throws MailException {
+        return target.createMimeMessage(contentStream);
+    }
+
+    @Override
+    public void send(MimeMessage... mimeMessages) throws MailException {
+        acquire();
+        try {
+            target.send(mimeMessages);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void send(SimpleMailMessage... simpleMessages) throws MailException {
+        acquire();
+        try {
+            target.send(simpleMessages);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted waiting for an SMTP permit", e);
+        }
+    }
+}
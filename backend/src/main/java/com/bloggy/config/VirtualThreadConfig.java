@@ -0,0 +1,55 @@
+package com.bloggy.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import javax.sql.DataSource;
+
+/**
+ * Guards for virtual-thread mode.
+ *
+ * Platform pools capped concurrency by their size; with a virtual thread per request and
+ * task, nothing does. Only as many threads as there are pooled connections may reach JDBC
+ * (the MySQL driver pins its carrier thread while it holds a monitor) and only a few share SMTP.
+ *
+ * A Hikari pool already parks waiters without pinning, so it is kept as is and only shrunk
+ * to db.max-concurrent; replacing the bean would hide it from Boot's hikaricp metrics. Any
+ * other DataSource, and every JavaMailSender, is wrapped with a semaphore.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitPostProcessor(Environment env) {
+        int dbPermits = env.getProperty("db.max-concurrent", Integer.class,
+            env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long dbWaitMs = env.getProperty("db.max-wait-ms", Long.class, 30_000L);
+        int smtpPermits = env.getProperty("email.smtp.max-concurrent", Integer.class, 4);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    hikari.setMaximumPoolSize(Math.min(hikari.getMaximumPoolSize(), dbPermits));
+                    hikari.setConnectionTimeout(Math.min(hikari.getConnectionTimeout(), dbWaitMs));
+                    return hikari;
+                }
+                if (bean instanceof DataSource dataSource && !(bean instanceof ThrottledDataSource)) {
+                    return new ThrottledDataSource(dataSource, dbPermits, dbWaitMs);
+                }
+                if (bean instanceof JavaMailSender mailSender && !(bean instanceof ThrottledMailSender)) {
+                    return new ThrottledMailSender(mailSender, smtpPermits);
+                }
+                return bean;
+            }
+        };
+    }
+}
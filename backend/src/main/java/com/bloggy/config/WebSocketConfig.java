@@ -0,0 +1,49 @@
+package com.bloggy.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+import com.bloggy.security.StompAuthenticationInterceptor;
+import com.bloggy.security.TokenService;
+import com.bloggy.service.BlogStatusPublisher;
+
+import java.util.List;
+
+/**
+ * STOMP over WebSocket at /ws. Clients subscribe to moderation updates instead of polling:
+ * /topic/blogs/{id}, /topic/authors/{author} and /topic/moderation (every transition, admins
+ * only). Send the bearer token as the CONNECT frame's Authorization header.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    @Value("${websocket.allowed-origins:http://localhost:3000}")
+    private String[] allowedOrigins;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws").setAllowedOrigins(allowedOrigins);
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic");
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new StompAuthenticationInterceptor(
+            tokenService, List.of(BlogStatusPublisher.MODERATION_TOPIC), "/topic"));
+    }
+}
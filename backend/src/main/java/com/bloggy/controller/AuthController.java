@@ -2,9 +2,13 @@ package com.bloggy.controller;
 
 import com.bloggy.model.User;
 import com.bloggy.repository.UserRepository;
+import com.bloggy.security.AuthenticatedUser;
+import com.bloggy.security.TokenService;
+import com.bloggy.service.UserCacheService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -17,6 +21,12 @@ public class AuthController {
     @Autowired
     private UserRepository userRepo;
 
+    @Autowired
+    private UserCacheService userCache;
+
+    @Autowired
+    private TokenService tokenService;
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody Map<String, String> body) {
         String email = body.get("email");
@@ -44,6 +54,7 @@ public class AuthController {
         response.put("email", user.getEmail());
         response.put("name", user.getName());
         response.put("role", user.getRole());
+        response.put("token", tokenService.issue(user));
 
         return ResponseEntity.ok(response);
     }
@@ -65,13 +76,14 @@ public class AuthController {
         response.put("name", user.getName());
         response.put("bio", user.getBio());
         response.put("role", user.getRole());
+        response.put("token", tokenService.issue(user));
 
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/user/{id}")
     public ResponseEntity<?> getUser(@PathVariable Long id) {
-        User user = userRepo.findById(id).orElse(null);
+        User user = userCache.findById(id).orElse(null);
         if (user == null) {
             return ResponseEntity.notFound().build();
         }
@@ -88,7 +100,12 @@ public class AuthController {
     }
 
     @PutMapping("/user/{id}")
-    public ResponseEntity<?> updateProfile(@PathVariable Long id, @RequestBody Map<String, String> body) {
+    public ResponseEntity<?> updateProfile(@PathVariable Long id, @RequestBody Map<String, String> body,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (!principal.getId().equals(id) && !principal.isAdmin()) {
+            return ResponseEntity.status(403).body(Map.of("error", "Cannot edit another user's profile"));
+        }
+
         User user = userRepo.findById(id).orElse(null);
         if (user == null) {
             return ResponseEntity.notFound().build();
@@ -105,6 +122,7 @@ public class AuthController {
         }
 
         userRepo.save(user);
+        userCache.invalidate(id);
 
         Map<String, Object> response = new HashMap<>();
         response.put("id", user.getId());
@@ -112,6 +130,8 @@ public class AuthController {
         response.put("name", user.getName());
         response.put("bio", user.getBio());
         response.put("role", user.getRole());
+        // Name may have changed; a fresh token carries it
+        response.put("token", tokenService.issue(user));
 
         return ResponseEntity.ok(response);
     }
@@ -1,70 +1,358 @@
 package com.bloggy.controller;
 
+import com.bloggy.dto.BlogCursor;
+import com.bloggy.dto.BlogSummary;
+import com.bloggy.dto.CursorPage;
+import com.bloggy.event.BlogStatusChangedEvent;
 import com.bloggy.model.Blog;
 import com.bloggy.model.Status;
 import com.bloggy.repository.BlogRepository;
+import com.bloggy.security.AuthenticatedUser;
+import com.bloggy.service.BlogCacheService;
 import com.bloggy.service.BlogProcessingService;
+import com.bloggy.service.BulkIngestService;
+import com.bloggy.service.CompressedResponseCache;
+import com.bloggy.service.ModerationQueue;
+import com.bloggy.service.profanity.ProfanityDictionary;
+import com.bloggy.service.profanity.ProfanityMatch;
+import com.bloggy.service.profanity.ProfanityMatcher;
+import com.bloggy.service.related.RelatedPostsService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/blogs")
 public class BlogController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_TITLE_LENGTH = 255;
+
     @Autowired
     private BlogRepository blogRepo;
 
-    @Autowired 
+    @Autowired
+    private ModerationQueue moderationQueue;
+
+    @Autowired
+    private ProfanityDictionary profanityDictionary;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private BlogCacheService blogCache;
+
+    @Autowired
+    private RelatedPostsService relatedPosts;
+
+    @Autowired
+    private BulkIngestService bulkIngest;
+
+    @Autowired
     private BlogProcessingService processingService;
 
+    @Autowired
+    private CompressedResponseCache compressedResponses;
+
     @PostMapping
-    public Blog submitBlog(@RequestBody Blog blog) {
-        blog.setStatus(Status.PENDING);
-        Blog savedBlog = blogRepo.save(blog);
-        processingService.processBlog(savedBlog);
-        return blogRepo.save(blog);
+    public ResponseEntity<?> submitBlog(@RequestBody Blog blog, @AuthenticationPrincipal AuthenticatedUser principal) {
+        // Shed load while the moderation backlog is over its limit
+        if (moderationQueue.isSaturated()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(Map.of("error", "Too many blogs awaiting moderation, please retry later"));
+        }
+        if (blog.getContent() != null && blog.getContent().length() > Blog.MAX_CONTENT_LENGTH) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Content is limited to " + Blog.MAX_CONTENT_LENGTH + " characters"));
+        }
+        // Ownership comes from the token, never from the body
+        blog.setAuthorId(principal != null ? principal.getId() : null);
+        return ResponseEntity.ok(moderationQueue.submit(blog));
+    }
+
+    /**
+     * Import blogs from an NDJSON body, one object per line, streaming back one result per line.
+     * Moderated inline rather than queued; followers are only emailed if notify is set.
+     */
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void bulkImport(@RequestParam(defaultValue = "false") boolean notify,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if (!bulkIngest.tryAcquire()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "60");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"An import is already running, please retry later\"}");
+            return;
+        }
+        try {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            bulkIngest.ingest(request.getReader(), response.getWriter(), notify);
+        } finally {
+            bulkIngest.release();
+        }
     }
 
     @GetMapping
-    public List<Blog> getAllBlogs() {
-        return blogRepo.findAll();
+    public ResponseEntity<?> getAllBlogs(WebRequest request) {
+        return versionedListing("all", null, null, request, () -> blogRepo.findAll());
     }
 
     @GetMapping(params = "status")
-    public List<Blog> getBlogsByStatus(@RequestParam Status status) {
-        return blogRepo.findAllByStatus(status);
+    public ResponseEntity<?> getBlogsByStatus(@RequestParam Status status, WebRequest request) {
+        return versionedListing("status-" + status, status, null, request, () -> blogRepo.findAllByStatus(status));
     }
 
+    /**
+     * Unpaged listing with an ETag from aggregates over its rows, so a revalidation that matches is
+     * answered 304 before any blog (or its content) is loaded
+     */
+    private ResponseEntity<?> versionedListing(String name, Status status, String author, WebRequest request,
+                                               Supplier<List<Blog>> loader) {
+        String etag = blogRepo.findListingVersion(status, author).etag("blogs-" + name);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(loader.get());
+    }
+
+    /**
+     * Lightweight, cursor-paginated listing; filter by status or author (or neither).
+     * Rows carry a snippet instead of the content, and cost stays flat as the table grows.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<?> getBlogSummaries(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        BlogCursor after;
+        try {
+            after = BlogCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // The public APPROVED listing is the hot one; serve its pages from Redis, versioned by generation
+        if (status == Status.APPROVED && author == null) {
+            String generation = blogCache.getApprovedGeneration();
+            if (generation != null) {
+                String etag = "W/\"approved-" + generation + "\"";
+                if (request.checkNotModified(etag)) {
+                    return null;
+                }
+                String pageKey = (cursor != null ? cursor : "first") + ":" + size;
+                return cachedJson("approved:" + generation + ":" + pageKey, etag, -1, acceptEncoding,
+                    () -> blogCache.getApprovedPage(generation, pageKey, () -> loadSummaries(status, null, after, size)));
+            }
+        }
+        return ResponseEntity.ok(loadSummaries(status, author, after, size));
+    }
+
+    private CursorPage<BlogSummary> loadSummaries(Status status, String author, BlogCursor after, int size) {
+        // One extra row tells us whether there is a next page
+        Limit fetch = Limit.of(size + 1);
+
+        List<BlogSummary> rows;
+        if (status != null) {
+            rows = blogRepo.findSummariesByStatus(status, after.getCreatedAt(), after.getId(), fetch);
+        } else if (author != null) {
+            rows = blogRepo.findSummariesByAuthor(author, after.getCreatedAt(), after.getId(), fetch);
+        } else {
+            rows = blogRepo.findSummaries(after.getCreatedAt(), after.getId(), fetch);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            BlogSummary last = rows.get(size - 1);
+            nextCursor = new BlogCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    /**
+     * Full blog, with ETag and Last-Modified from its updatedAt. A revalidation that matches is
+     * answered 304 after reading only that column.
+     */
     @GetMapping("/{id}")
-    public Blog getBlogById(@PathVariable Long id) {
-        return blogRepo.findById(id).orElseThrow();
+    public ResponseEntity<?> getBlogById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        LocalDateTime updatedAt = blogRepo.findUpdatedAtById(id).orElse(null);
+        if (updatedAt == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String version = BlogCacheService.version(updatedAt);
+        String etag = "W/\"" + id + "-" + version + "\"";
+        long lastModified = updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        return cachedJson("blog:" + id + ":" + version, etag, lastModified, acceptEncoding,
+            () -> blogCache.getBlog(id, updatedAt, () -> blogRepo.findWithBodyById(id).orElseThrow()));
+    }
+
+    /**
+     * JSON that clients must revalidate before reuse; gzipped once per version for clients that accept it.
+     * The ETag is weak as both encodings share it.
+     */
+    private ResponseEntity<?> cachedJson(String key, String etag, long lastModified, String acceptEncoding,
+                                         Supplier<String> json) {
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache())
+            .eTag(etag)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (lastModified >= 0) {
+            ok.lastModified(lastModified);
+        }
+        if (acceptsGzip(acceptEncoding)) {
+            return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(compressedResponses.gzip(key, json));
+        }
+        return ok.body(json.get());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // gzip;q=0 means "not gzip"
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Edit a blog's title and/or content; only the user who submitted it (or an admin) may.
+     * Moderated again in the request, rescanning only the paragraphs that changed.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateBlog(@PathVariable Long id, @RequestBody Map<String, String> body,
+                                        @AuthenticationPrincipal AuthenticatedUser principal) {
+        Blog blog = blogRepo.findWithBodyById(id).orElse(null);
+        if (blog == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // The author field is free text, so ownership is the submitter's user ID
+        if (!principal.isAdmin() && !Objects.equals(blog.getAuthorId(), principal.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Only the author can edit this blog"));
+        }
+        // The queued job would overwrite the edit with what it loaded
+        if (blog.getStatus() == Status.PENDING || blog.getStatus() == Status.PROCESSING) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("error", "Blog is still being moderated, please retry shortly"));
+        }
+
+        String title = body.getOrDefault("title", blog.getTitle());
+        String content = body.getOrDefault("content", blog.getContent());
+        if (title == null || title.isBlank() || content == null || content.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Title and content cannot be empty"));
+        }
+        if (title.length() > MAX_TITLE_LENGTH || content.length() > Blog.MAX_CONTENT_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Title is limited to " + MAX_TITLE_LENGTH
+                + " and content to " + Blog.MAX_CONTENT_LENGTH + " characters"));
+        }
+        if (title.equals(blog.getTitle()) && content.equals(blog.getContent())) {
+            return ResponseEntity.ok(blog);
+        }
+        return ResponseEntity.ok(processingService.edit(blog, title, content));
+    }
+
+    // Precomputed neighbours; an unknown or unapproved blog simply has none
+    @GetMapping("/{id}/related")
+    public Map<String, Object> getRelatedBlogs(@PathVariable Long id,
+                                               @RequestParam(defaultValue = "5") int limit) {
+        int size = Math.max(1, Math.min(limit, relatedPosts.getMaxPosts()));
+        return Map.of("blogId", id, "items", relatedPosts.getRelated(id, size));
+    }
+
+    // Where the profanity is, so moderators don't have to hunt for it
+    @GetMapping("/{id}/profanity")
+    public List<Map<String, Object>> getProfanityMatches(@PathVariable Long id) {
+        Blog blog = blogRepo.findWithBodyById(id).orElseThrow();
+        ProfanityMatcher matcher = profanityDictionary.getMatcher();
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        addMatches(result, "title", blog.getTitle(), matcher.findAll(blog.getTitle()));
+        addMatches(result, "content", blog.getContent(), matcher.findAll(blog.getContent()));
+        return result;
     }
 
     @PutMapping("/{id}/approve")
     public Blog approveBlog(@PathVariable Long id) {
-        Blog blog = blogRepo.findById(id).orElseThrow();
-        blog.setStatus(Status.APPROVED);
-        return blogRepo.save(blog);
+        return changeStatus(id, Status.APPROVED);
     }
 
     @PutMapping("/{id}/reject")
     public Blog rejectBlog(@PathVariable Long id) {
-        Blog blog = blogRepo.findById(id).orElseThrow();
-        blog.setStatus(Status.REJECTED);
-        return blogRepo.save(blog);
+        return changeStatus(id, Status.REJECTED);
     }
 
     @PutMapping("/{id}/review")
     public Blog putUnderReview(@PathVariable Long id) {
-        Blog blog = blogRepo.findById(id).orElseThrow();
-        blog.setStatus(Status.REVIEW);
-        return blogRepo.save(blog);
+        return changeStatus(id, Status.REVIEW);
     }
 
     @GetMapping(params = "author")
-    public List<Blog> getBlogsByAuthor(@RequestParam String author) {
-        return blogRepo.findByAuthor(author);
+    public ResponseEntity<?> getBlogsByAuthor(@RequestParam String author, WebRequest request) {
+        return versionedListing("author", null, author, request,
+            () -> blogRepo.findByAuthor(author));
+    }
+
+    private Blog changeStatus(Long id, Status status) {
+        Blog blog = blogRepo.findWithBodyById(id).orElseThrow();
+        Status previous = blog.getStatus();
+        blog.setStatus(status);
+        Blog saved = blogRepo.save(blog);
+        events.publishEvent(new BlogStatusChangedEvent(saved, previous));
+        return saved;
+    }
+
+    private void addMatches(List<Map<String, Object>> result, String field, String text, List<ProfanityMatch> matches) {
+        for (ProfanityMatch m : matches) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("field", field);
+            map.put("term", m.getTerm());
+            map.put("language", m.getLanguage());
+            map.put("start", m.getStart());
+            map.put("end", m.getEnd());
+            map.put("text", text.substring(m.getStart(), m.getEnd()));
+            result.add(map);
+        }
     }
 }
\ No newline at end of file
@@ -1,25 +1,34 @@
 package com.bloggy.controller;
 
+import com.bloggy.dto.BlogCursor;
+import com.bloggy.dto.CommentView;
+import com.bloggy.dto.CursorPage;
+import com.bloggy.dto.ListingVersion;
 import com.bloggy.model.Blog;
 import com.bloggy.model.Comment;
 import com.bloggy.model.User;
 import com.bloggy.repository.BlogRepository;
 import com.bloggy.repository.CommentRepository;
 import com.bloggy.repository.UserRepository;
+import com.bloggy.security.AuthenticatedUser;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/blogs/{blogId}/comments")
 public class CommentController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private CommentRepository commentRepo;
 
@@ -29,44 +38,67 @@ public class CommentController {
     @Autowired
     private UserRepository userRepo;
 
+    /**
+     * Newest comments first, a page at a time; pass nextCursor back as cursor for more
+     */
     @GetMapping
-    public List<Map<String, Object>> getComments(@PathVariable Long blogId) {
-        List<Comment> comments = commentRepo.findByBlogIdOrderByCreatedAtDesc(blogId);
-        
-        return comments.stream().map(c -> {
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", c.getId());
-            map.put("content", c.getContent());
-            map.put("author", c.getUser().getName());
-            map.put("authorEmail", c.getUser().getEmail());
-            map.put("createdAt", c.getCreatedAt());
-            return map;
-        }).collect(Collectors.toList());
+    public ResponseEntity<?> getComments(
+            @PathVariable Long blogId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request) {
+        BlogCursor after;
+        try {
+            after = BlogCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        // Revalidation is answered from aggregates over the blog's comments, before any are read
+        String etag = commentRepo.findListingVersion(blogId).etag("comments-" + blogId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // One extra row tells us whether there is a next page
+        List<CommentView> rows = commentRepo.findViews(blogId, after.getCreatedAt(), after.getId(), Limit.of(size + 1));
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            CommentView last = rows.get(size - 1);
+            nextCursor = new BlogCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return ResponseEntity.ok().eTag(etag).body(new CursorPage<>(rows, nextCursor));
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<?> getCommentCount(@PathVariable Long blogId, WebRequest request) {
+        ListingVersion version = commentRepo.findListingVersion(blogId);
+        String etag = version.etag("comments-" + blogId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(Map.of("blogId", blogId, "count", version.getCount()));
     }
 
     @PostMapping
     public ResponseEntity<?> addComment(
             @PathVariable Long blogId,
-            @RequestBody Map<String, Object> body) {
+            @RequestBody Map<String, Object> body,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         
         String content = (String) body.get("content");
-        Object userIdObj = body.get("userId");
         
-        if (content == null || userIdObj == null) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Missing content or userId"));
+        if (content == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Missing content"));
         }
-        
-        Long userId = Long.valueOf(userIdObj.toString());
-
-        Blog blog = blogRepo.findById(blogId).orElse(null);
-        User user = userRepo.findById(userId).orElse(null);
 
-        if (blog == null) {
+        // Only the FKs are needed; don't load the blog's content or the user
+        if (!blogRepo.existsById(blogId)) {
             return ResponseEntity.badRequest().body(Map.of("error", "Blog not found"));
         }
-        if (user == null) {
-            return ResponseEntity.badRequest().body(Map.of("error", "User not found"));
-        }
+        Blog blog = blogRepo.getReferenceById(blogId);
+        User user = userRepo.getReferenceById(principal.getId());
 
         Comment comment = new Comment();
         comment.setContent(content);
@@ -78,8 +110,8 @@ public class CommentController {
         Map<String, Object> response = new HashMap<>();
         response.put("id", comment.getId());
         response.put("content", comment.getContent());
-        response.put("author", user.getName());
-        response.put("authorEmail", user.getEmail());
+        response.put("author", principal.getName());
+        response.put("authorEmail", principal.getEmail());
         response.put("createdAt", comment.getCreatedAt());
 
         return ResponseEntity.ok(response);
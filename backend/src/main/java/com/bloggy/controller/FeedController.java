@@ -0,0 +1,42 @@
+package com.bloggy.controller;
+
+import com.bloggy.dto.BlogCursor;
+import com.bloggy.service.FeedService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private FeedService feedService;
+
+    /**
+     * Newest APPROVED posts of the authors the user follows; pass nextCursor back as cursor
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<?> getFeed(@PathVariable Long userId,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(defaultValue = "20") int limit) {
+        BlogCursor after;
+        try {
+            after = BlogCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(feedService.getFeed(userId, after, size));
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        return feedService.stats();
+    }
+}
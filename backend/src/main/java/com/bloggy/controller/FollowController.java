@@ -4,61 +4,76 @@ import com.bloggy.model.Follow;
 import com.bloggy.model.User;
 import com.bloggy.repository.FollowRepository;
 import com.bloggy.repository.UserRepository;
+import com.bloggy.security.AuthenticatedUser;
+import com.bloggy.service.FeedService;
+import com.bloggy.service.FollowService;
+import com.bloggy.service.UserCacheService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/follow")
 public class FollowController {
 
+    private static final int MAX_BATCH_AUTHORS = 100;
+
     @Autowired
     private FollowRepository followRepo;
 
     @Autowired
     private UserRepository userRepo;
 
+    @Autowired
+    private UserCacheService userCache;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private FeedService feedService;
+
     @PostMapping
-    public ResponseEntity<?> followAuthor(@RequestBody Map<String, Object> request) {
-        Long userId = ((Number) request.get("userId")).longValue();
+    public ResponseEntity<?> followAuthor(@RequestBody Map<String, Object> request,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        Long userId = principal.getId();
         String authorName = (String) request.get("authorName");
 
-        User user = userRepo.findById(userId).orElse(null);
-        if (user == null) {
-            return ResponseEntity.badRequest().body(Map.of("error", "User not found"));
+        boolean followed;
+        try {
+            // Only the FK is needed; the token already identifies the user
+            followed = followService.follow(userRepo.getReferenceById(userId), authorName);
+        } catch (DataIntegrityViolationException e) {
+            followed = false; // Lost a race with an identical request
         }
-
-        if (followRepo.existsByFollowerAndAuthorName(user, authorName)) {
+        if (!followed) {
             return ResponseEntity.badRequest().body(Map.of("error", "Already following"));
         }
-
-        Follow follow = new Follow();
-        follow.setFollower(user);
-        follow.setAuthorName(authorName);
-        followRepo.save(follow);
+        feedService.invalidate(userId);
 
         return ResponseEntity.ok(Map.of("message", "Now following " + authorName));
     }
 
     @DeleteMapping
-    @Transactional
-    public ResponseEntity<?> unfollowAuthor(@RequestBody Map<String, Object> request) {
-        Long userId = ((Number) request.get("userId")).longValue();
+    public ResponseEntity<?> unfollowAuthor(@RequestBody Map<String, Object> request,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        Long userId = principal.getId();
         String authorName = (String) request.get("authorName");
 
-        User user = userRepo.findById(userId).orElse(null);
-        if (user == null) {
-            return ResponseEntity.badRequest().body(Map.of("error", "User not found"));
+        if (followService.unfollow(userId, authorName)) {
+            feedService.invalidate(userId);
         }
-
-        followRepo.deleteByFollowerAndAuthorName(user, authorName);
         return ResponseEntity.ok(Map.of("message", "Unfollowed " + authorName));
     }
 
@@ -66,23 +81,52 @@ public class FollowController {
     public ResponseEntity<?> checkFollowing(
             @RequestParam Long userId,
             @RequestParam String authorName) {
-        User user = userRepo.findById(userId).orElse(null);
-        if (user == null) {
-            return ResponseEntity.ok(Map.of("isFollowing", false));
-        }
-        boolean isFollowing = followRepo.existsByFollowerAndAuthorName(user, authorName);
+        // An unknown user simply follows nobody
+        boolean isFollowing = followService.isFollowing(userId, authorName);
         return ResponseEntity.ok(Map.of("isFollowing", isFollowing));
     }
 
     @GetMapping("/count/{authorName}")
     public ResponseEntity<?> getFollowerCount(@PathVariable String authorName) {
-        long count = followRepo.countByAuthorName(authorName);
+        long count = followService.getFollowerCount(authorName);
         return ResponseEntity.ok(Map.of("count", count));
     }
 
+    /**
+     * Follow state and follower counts for many authors in one round trip, e.g.
+     * {@code /api/follow/state?userId=1&authorNames=alice&authorNames=bob}. userId is optional.
+     */
+    @GetMapping("/state")
+    public ResponseEntity<?> getFollowState(
+            @RequestParam(required = false) Long userId,
+            @RequestParam List<String> authorNames) {
+        Set<String> names = new LinkedHashSet<>(authorNames);
+        if (names.size() > MAX_BATCH_AUTHORS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At most " + MAX_BATCH_AUTHORS + " authors per request"));
+        }
+
+        Set<String> followed = userId != null ? followService.findFollowed(userId, names) : Set.of();
+        List<Map<String, Object>> authors = new ArrayList<>();
+        followService.getFollowerCounts(names).forEach((name, count) -> {
+            Map<String, Object> author = new HashMap<>();
+            author.put("authorName", name);
+            author.put("followers", count);
+            author.put("isFollowing", followed.contains(name));
+            authors.add(author);
+        });
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("authors", authors);
+        if (userId != null) {
+            response.put("userId", userId);
+            response.put("followingCount", followService.getFollowingCount(userId));
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/following/{userId}")
     public ResponseEntity<?> getFollowing(@PathVariable Long userId) {
-        User user = userRepo.findById(userId).orElse(null);
+        User user = userCache.findById(userId).orElse(null);
         if (user == null) {
             return ResponseEntity.badRequest().body(Map.of("error", "User not found"));
         }
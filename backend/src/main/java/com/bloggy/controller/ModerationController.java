@@ -0,0 +1,72 @@
+package com.bloggy.controller;
+
+import com.bloggy.model.Status;
+import com.bloggy.service.BulkModerationService;
+import com.bloggy.service.ModerationQueue;
+import com.bloggy.service.similarity.SimilarityService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/moderation")
+public class ModerationController {
+
+    private static final Map<String, Status> ACTIONS = Map.of(
+        "approve", Status.APPROVED,
+        "reject", Status.REJECTED,
+        "review", Status.REVIEW);
+
+    @Autowired
+    private ModerationQueue queue;
+
+    @Autowired
+    private SimilarityService similarityService;
+
+    @Autowired
+    private BulkModerationService bulkModeration;
+
+    @GetMapping("/queue")
+    public Map<String, Object> getQueueStats() {
+        return queue.stats();
+    }
+
+    @GetMapping("/similarity")
+    public Map<String, Object> getSimilarityStats() {
+        return similarityService.stats();
+    }
+
+    /**
+     * Approve, reject or send back to review many blogs at once. The body names them either by
+     * {@code {"ids": [1, 2]}} or by filter {@code {"from": "REVIEW", "author": "alice", "limit": 500}}.
+     */
+    @PostMapping("/bulk/{action}")
+    public ResponseEntity<?> bulkChangeStatus(@PathVariable String action, @RequestBody Map<String, Object> body) {
+        Status target = ACTIONS.get(action);
+        if (target == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown action: " + action));
+        }
+        try {
+            if (body.get("ids") instanceof List<?> ids) {
+                List<Long> blogIds = new ArrayList<>(ids.size());
+                for (Object id : ids) {
+                    blogIds.add(((Number) id).longValue());
+                }
+                return ResponseEntity.ok(bulkModeration.changeStatus(blogIds, target));
+            }
+            if (body.get("from") instanceof String from) {
+                int limit = body.get("limit") instanceof Number n ? n.intValue() : BulkModerationService.MAX_BATCH;
+                return ResponseEntity.ok(bulkModeration.changeStatus(
+                    Status.valueOf(from), (String) body.get("author"), target, limit));
+            }
+        } catch (ClassCastException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        return ResponseEntity.badRequest().body(Map.of("error", "Provide ids or a from status"));
+    }
+}
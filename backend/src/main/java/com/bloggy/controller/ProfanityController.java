@@ -0,0 +1,26 @@
+package com.bloggy.controller;
+
+import com.bloggy.service.profanity.ProfanityDictionary;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/moderation/profanity")
+public class ProfanityController {
+
+    @Autowired
+    private ProfanityDictionary dictionary;
+
+    @GetMapping
+    public Map<String, Object> getDictionaryStats() {
+        return dictionary.stats();
+    }
+
+    @PostMapping("/reload")
+    public Map<String, Object> reloadDictionary() {
+        return dictionary.reload();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bloggy.controller;
+
+import com.bloggy.service.search.SearchService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/blogs/search")
+public class SearchController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // Deep pages cost a larger top-k heap and are never read
+    private static final int MAX_OFFSET = 1000;
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(defaultValue = "0") int page,
+                                    @RequestParam(defaultValue = "10") int size) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Query must not be empty"));
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error", "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE));
+        }
+        if (page * size > MAX_OFFSET) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Results beyond the first " + MAX_OFFSET + " are not available"));
+        }
+        return ResponseEntity.ok(searchService.search(q, page, size));
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        return searchService.stats();
+    }
+}
@@ -0,0 +1,53 @@
+package com.bloggy.dto;
+
+import com.bloggy.event.BlogStatusChangedEvent;
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pushed over WebSocket when a blog's moderation status changes; carries the analysis
+ * results so clients don't need to refetch the blog.
+ */
+public class BlogStatusMessage {
+
+    private final Long blogId;
+    private final String title;
+    private final String author;
+    private final Status status;
+    private final Status previousStatus;
+    private final String tags;
+    private final Double seoScore;
+    private final Double aiSimilarityScore;
+    private final String similarBlogIds;
+    private final Boolean profanityFound;
+    private final LocalDateTime changedAt;
+
+    public BlogStatusMessage(BlogStatusChangedEvent event) {
+        Blog blog = event.getBlog();
+        this.blogId = blog.getId();
+        this.title = blog.getTitle();
+        this.author = blog.getAuthor();
+        this.status = blog.getStatus();
+        this.previousStatus = event.getPreviousStatus();
+        this.tags = blog.getTags();
+        this.seoScore = blog.getSeoScore();
+        this.aiSimilarityScore = blog.getAiSimilarityScore();
+        this.similarBlogIds = blog.getSimilarBlogIds();
+        this.profanityFound = blog.getProfanityFound();
+        this.changedAt = LocalDateTime.now();
+    }
+
+    public Long getBlogId() { return blogId; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public Status getStatus() { return status; }
+    public Status getPreviousStatus() { return previousStatus; }
+    public String getTags() { return tags; }
+    public Double getSeoScore() { return seoScore; }
+    public Double getAiSimilarityScore() { return aiSimilarityScore; }
+    public String getSimilarBlogIds() { return similarBlogIds; }
+    public Boolean getProfanityFound() { return profanityFound; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+}
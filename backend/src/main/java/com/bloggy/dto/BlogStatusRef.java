@@ -0,0 +1,20 @@
+package com.bloggy.dto;
+
+import com.bloggy.model.Status;
+
+/**
+ * A blog's ID and status, without its content; what bulk moderation reads and locks.
+ */
+public class BlogStatusRef {
+
+    private final Long id;
+    private final Status status;
+
+    public BlogStatusRef(Long id, Status status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    public Long getId() { return id; }
+    public Status getStatus() { return status; }
+}
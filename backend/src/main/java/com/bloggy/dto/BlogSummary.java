@@ -0,0 +1,55 @@
+package com.bloggy.dto;
+
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listing view of a blog: everything but the full content.
+ * Built directly by JPQL constructor expressions from the blogs row alone, so the body is never read.
+ */
+public class BlogSummary {
+
+    public static final int SNIPPET_LENGTH = Blog.SNIPPET_LENGTH;
+
+    private final Long id;
+    private final String title;
+    private final String author;
+    private final Status status;
+    private final String tags;
+    private final Double seoScore;
+    private final Double aiSimilarityScore;
+    private final Boolean profanityFound;
+    private final String snippet;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public BlogSummary(Long id, String title, String author, Status status, String tags,
+                       Double seoScore, Double aiSimilarityScore, Boolean profanityFound,
+                       String snippet, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.status = status;
+        this.tags = tags;
+        this.seoScore = seoScore;
+        this.aiSimilarityScore = aiSimilarityScore;
+        this.profanityFound = profanityFound;
+        this.snippet = snippet;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public Status getStatus() { return status; }
+    public String getTags() { return tags; }
+    public Double getSeoScore() { return seoScore; }
+    public Double getAiSimilarityScore() { return aiSimilarityScore; }
+    public Boolean getProfanityFound() { return profanityFound; }
+    public String getSnippet() { return snippet; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
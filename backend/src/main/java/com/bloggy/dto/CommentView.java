@@ -0,0 +1,26 @@
+package com.bloggy.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment as listed under a blog, read straight from the query without loading entities.
+ */
+public class CommentView {
+
+    private final Long id;
+    private final String content;
+    private final String author;
+    private final LocalDateTime createdAt;
+
+    public CommentView(Long id, String content, String author, LocalDateTime createdAt) {
+        this.id = id;
+        this.content = content;
+        this.author = author;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public String getContent() { return content; }
+    public String getAuthor() { return author; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,18 @@
+package com.bloggy.dto;
+
+/**
+ * A follower's address, keyed by the follow row so followers can be paged by id.
+ */
+public class FollowerEmail {
+
+    private final Long followId;
+    private final String email;
+
+    public FollowerEmail(Long followId, String email) {
+        this.followId = followId;
+        this.email = email;
+    }
+
+    public Long getFollowId() { return followId; }
+    public String getEmail() { return email; }
+}
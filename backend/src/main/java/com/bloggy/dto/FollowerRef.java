@@ -0,0 +1,18 @@
+package com.bloggy.dto;
+
+/**
+ * A follower's user id, keyed by the follow row so followers can be paged by id.
+ */
+public class FollowerRef {
+
+    private final Long followId;
+    private final Long userId;
+
+    public FollowerRef(Long followId, Long userId) {
+        this.followId = followId;
+        this.userId = userId;
+    }
+
+    public Long getFollowId() { return followId; }
+    public Long getUserId() { return userId; }
+}
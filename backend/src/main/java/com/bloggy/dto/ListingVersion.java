@@ -0,0 +1,31 @@
+package com.bloggy.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Version of a listing, for conditional GETs: row count, newest ID and latest change over the
+ * rows it is built from. Built by JPQL aggregates, so answering 304 loads no rows; any insert,
+ * delete or update of a row (that sets its updatedAt) changes it.
+ */
+public class ListingVersion {
+
+    private final long count;
+    private final LocalDateTime latestUpdate;
+    private final Long latestId;
+
+    public ListingVersion(Long count, LocalDateTime latestUpdate, Long latestId) {
+        this.count = count != null ? count : 0;
+        this.latestUpdate = latestUpdate;
+        this.latestId = latestId;
+    }
+
+    public long getCount() { return count; }
+
+    /** Weak ETag for the listing named by prefix */
+    public String etag(String prefix) {
+        long update = latestUpdate == null ? 0
+            : latestUpdate.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + latestUpdate.getNano() / 1000;
+        return "W/\"" + prefix + "-" + count + "-" + (latestId != null ? latestId : 0) + "-" + update + "\"";
+    }
+}
@@ -0,0 +1,41 @@
+package com.bloggy.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One search result. Highlights are [start, end) offsets of matched words, into the
+ * title and into the snippet respectively.
+ */
+public class SearchHit {
+
+    private final Long id;
+    private final String title;
+    private final String author;
+    private final LocalDateTime createdAt;
+    private final float score;
+    private final String snippet;
+    private final List<int[]> titleHighlights;
+    private final List<int[]> snippetHighlights;
+
+    public SearchHit(Long id, String title, String author, LocalDateTime createdAt, float score,
+                     String snippet, List<int[]> titleHighlights, List<int[]> snippetHighlights) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.createdAt = createdAt;
+        this.score = score;
+        this.snippet = snippet;
+        this.titleHighlights = titleHighlights;
+        this.snippetHighlights = snippetHighlights;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public float getScore() { return score; }
+    public String getSnippet() { return snippet; }
+    public List<int[]> getTitleHighlights() { return titleHighlights; }
+    public List<int[]> getSnippetHighlights() { return snippetHighlights; }
+}
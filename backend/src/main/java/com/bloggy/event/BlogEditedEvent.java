@@ -0,0 +1,31 @@
+package com.bloggy.event;
+
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+
+/**
+ * Published when an author edits a moderated blog. Carries the text the blog had before, so
+ * listeners can take the old version out of what they derived from it.
+ */
+public class BlogEditedEvent extends BlogStatusChangedEvent {
+
+    private final String previousTitle;
+    private final String previousContent;
+
+    public BlogEditedEvent(Blog blog, Status previousStatus, String previousTitle, String previousContent) {
+        super(blog, previousStatus);
+        this.previousTitle = previousTitle;
+        this.previousContent = previousContent;
+    }
+
+    @Override
+    public String getPreviousTitle() { return previousTitle; }
+
+    @Override
+    public String getPreviousContent() { return previousContent; }
+
+    @Override
+    public boolean isRevised() {
+        return getPreviousStatus() == Status.APPROVED && getStatus() == Status.APPROVED;
+    }
+}
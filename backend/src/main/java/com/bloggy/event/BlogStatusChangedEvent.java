@@ -0,0 +1,47 @@
+package com.bloggy.event;
+
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+
+/**
+ * Published whenever a blog's moderation status changes, by the pipeline or by a moderator.
+ * Listeners keep derived state (statistics, caches, indexes) in step with the blogs table.
+ */
+public class BlogStatusChangedEvent {
+
+    private final Blog blog;
+    private final Status previousStatus;
+
+    /**
+     * @param previousStatus null for a newly submitted blog
+     */
+    public BlogStatusChangedEvent(Blog blog, Status previousStatus) {
+        this.blog = blog;
+        this.previousStatus = previousStatus;
+    }
+
+    public Blog getBlog() { return blog; }
+    public Status getPreviousStatus() { return previousStatus; }
+    public Status getStatus() { return blog.getStatus(); }
+
+    /** Blog just became publicly visible */
+    public boolean isPublished() {
+        return getStatus() == Status.APPROVED && previousStatus != Status.APPROVED;
+    }
+
+    /** Blog was public and no longer is */
+    public boolean isUnpublished() {
+        return previousStatus == Status.APPROVED && getStatus() != Status.APPROVED;
+    }
+
+    /** Blog stayed public but its text changed (see {@link BlogEditedEvent}) */
+    public boolean isRevised() {
+        return false;
+    }
+
+    /** Title the blog had under its previous status; differs from the blog's only after an edit */
+    public String getPreviousTitle() { return blog.getTitle(); }
+
+    /** Content the blog had under its previous status; differs from the blog's only after an edit */
+    public String getPreviousContent() { return blog.getContent(); }
+}
@@ -1,24 +1,44 @@
 package com.bloggy.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "blogs")
+@Table(name = "blogs", indexes = {
+    // Keyset listings: (createdAt, id) order, optionally filtered by status or author
+    @Index(name = "idx_blogs_created", columnList = "createdAt, id"),
+    @Index(name = "idx_blogs_status_created", columnList = "status, createdAt, id"),
+    @Index(name = "idx_blogs_author_created", columnList = "author, createdAt, id")
+})
 public class Blog {
 
+    public static final int MAX_CONTENT_LENGTH = 100_000;
+    public static final int SNIPPET_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String title;
     private String author;
-    @Column(length = 10000)
-    private String content;
+    // User who submitted it, the one allowed to edit it; null for imported and older blogs
+    private Long authorId;
+    // Out of row and loaded on first access; repository methods that need it fetch it in the same query
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "body_id")
+    private BlogBody body;
+    // Start of the content, for listings and emails
+    @Column(length = SNIPPET_LENGTH)
+    private String snippet;
     @Enumerated(EnumType.STRING)
     private Status status = Status.PENDING;
     private String tags;
     private Double seoScore;
     private Double aiSimilarityScore;
+    // Closest existing blogs by content, most similar first (comma-separated IDs)
+    private String similarBlogIds;
     private Boolean profanityFound;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -31,8 +51,30 @@ public class Blog {
     public void setTitle(String title) { this.title = title; }
     public String getAuthor() { return author; }
     public void setAuthor(String author) { this.author = author; }
-    public String getContent() { return content; }
-    public void setContent(String content) { this.content = content; }
+    public Long getAuthorId() { return authorId; }
+    public void setAuthorId(Long authorId) { this.authorId = authorId; }
+    public String getContent() { return body != null ? body.getText() : null; }
+    public String getSnippet() { return snippet; }
+    @JsonIgnore
+    public BlogBody getBody() { return body; }
+
+    public void setContent(String content) {
+        if (content == null) {
+            body = null;
+            snippet = null;
+            return;
+        }
+        if (body == null) {
+            body = new BlogBody(content);
+        } else {
+            body.setText(content);
+        }
+        snippet = snippet(content);
+    }
+
+    public static String snippet(String content) {
+        return content.length() <= SNIPPET_LENGTH ? content : content.substring(0, SNIPPET_LENGTH);
+    }
     public Status getStatus() { return status; }
     public void setStatus(Status status) { this.status = status; }
     public String getTags() { return tags; }
@@ -41,6 +83,8 @@ public class Blog {
     public void setSeoScore(Double seoScore) { this.seoScore = seoScore; }
     public Double getAiSimilarityScore() { return aiSimilarityScore; }
     public void setAiSimilarityScore(Double aiSimilarityScore) { this.aiSimilarityScore = aiSimilarityScore; }
+    public String getSimilarBlogIds() { return similarBlogIds; }
+    public void setSimilarBlogIds(String similarBlogIds) { this.similarBlogIds = similarBlogIds; }
     public Boolean getProfanityFound() { return profanityFound; }
     public void setProfanityFound(Boolean profanityFound) { this.profanityFound = profanityFound; }
     public LocalDateTime getCreatedAt() { return createdAt; }
@@ -48,15 +92,16 @@ public class Blog {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    // Microseconds, as stored, so a saved blog's updatedAt equals what is read back (it is the ETag)
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        updatedAt = createdAt;
     }
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
 
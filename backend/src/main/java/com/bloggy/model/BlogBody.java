@@ -0,0 +1,108 @@
+package com.bloggy.model;
+
+import jakarta.persistence.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Full content of a blog, kept out of the blogs row and Deflate-compressed, so listings,
+ * moderation queries and comment joins read narrow rows. Loaded only when the content is.
+ *
+ * The first byte of the data says how the rest is stored: RAW (UTF-8) for text too short
+ * to gain from compression, DEFLATE otherwise.
+ */
+@Entity
+@Table(name = "blog_bodies")
+public class BlogBody {
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATE = 1;
+    private static final int MIN_COMPRESSED_LENGTH = 128;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Worst case: Blog.MAX_CONTENT_LENGTH chars of 4-byte UTF-8, plus the header
+    @Column(nullable = false, length = 4 * Blog.MAX_CONTENT_LENGTH + 16)
+    private byte[] data;
+
+    @Transient
+    private String text;
+
+    public BlogBody() {}
+
+    public BlogBody(String text) {
+        setText(text);
+    }
+
+    public Long getId() { return id; }
+
+    /** Stored form, as written to the data column */
+    public byte[] getData() { return data; }
+
+    public String getText() {
+        if (text == null && data != null) {
+            text = decode(data);
+        }
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+        this.data = encode(text);
+    }
+
+    public static byte[] encode(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_COMPRESSED_LENGTH) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(utf8);
+                deflater.finish();
+                byte[] out = new byte[utf8.length];
+                out[0] = DEFLATE;
+                int size = 1 + deflater.deflate(out, 1, out.length - 1);
+                if (deflater.finished()) {
+                    return Arrays.copyOf(out, size);
+                }
+                // Did not fit in the original size: not worth it
+            } finally {
+                deflater.end();
+            }
+        }
+        byte[] out = new byte[utf8.length + 1];
+        out[0] = RAW;
+        System.arraycopy(utf8, 0, out, 1, utf8.length);
+        return out;
+    }
+
+    public static String decode(byte[] data) {
+        if (data[0] == RAW) {
+            return new String(data, 1, data.length - 1, StandardCharsets.UTF_8);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, 1, data.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated blog body");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt blog body", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bloggy.model;
+
+import jakarta.persistence.*;
+
+/**
+ * MinHash signature of a blog's content (256 bytes), kept so the similarity index
+ * can be rebuilt at startup without re-reading and re-shingling every blog.
+ */
+@Entity
+@Table(name = "blog_fingerprints")
+public class BlogFingerprint {
+
+    @Id
+    @Column(name = "blog_id")
+    private Long blogId;
+
+    @Column(nullable = false, length = 256)
+    private byte[] signature;
+
+    public BlogFingerprint() {}
+
+    public BlogFingerprint(Long blogId, byte[] signature) {
+        this.blogId = blogId;
+        this.signature = signature;
+    }
+
+    public Long getBlogId() { return blogId; }
+    public void setBlogId(Long blogId) { this.blogId = blogId; }
+    public byte[] getSignature() { return signature; }
+    public void setSignature(byte[] signature) { this.signature = signature; }
+}
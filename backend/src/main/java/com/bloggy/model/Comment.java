@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    // Keyset listing of a blog's comments, newest first; also serves the per-blog count
+    @Index(name = "idx_comments_blog_created", columnList = "blog_id, createdAt, id")
+})
 public class Comment {
     
     @Id
@@ -14,11 +17,11 @@ public class Comment {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "blog_id", nullable = false)
     private Blog blog;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
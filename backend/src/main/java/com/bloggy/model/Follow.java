@@ -6,6 +6,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "follows", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"follower_id", "author_name"})
+}, indexes = {
+    @Index(name = "idx_follows_author", columnList = "author_name")
 })
 public class Follow {
     
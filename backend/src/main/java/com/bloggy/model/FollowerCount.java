@@ -0,0 +1,26 @@
+package com.bloggy.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Denormalized number of followers of an author, kept in step with the follows table
+ * by FollowService so reads never COUNT(*) over follows.
+ */
+@Entity
+@Table(name = "follower_counts")
+public class FollowerCount {
+
+    @Id
+    @Column(name = "author_name")
+    private String authorName;
+
+    @Column(name = "follower_count", nullable = false)
+    private long followers;
+
+    public FollowerCount() {}
+
+    public String getAuthorName() { return authorName; }
+    public void setAuthorName(String authorName) { this.authorName = authorName; }
+    public long getFollowers() { return followers; }
+    public void setFollowers(long followers) { this.followers = followers; }
+}
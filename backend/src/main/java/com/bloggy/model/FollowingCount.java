@@ -0,0 +1,26 @@
+package com.bloggy.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Denormalized number of authors a user follows, kept in step with the follows table
+ * by FollowService.
+ */
+@Entity
+@Table(name = "following_counts")
+public class FollowingCount {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "following_count", nullable = false)
+    private long following;
+
+    public FollowingCount() {}
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public long getFollowing() { return following; }
+    public void setFollowing(long following) { this.following = following; }
+}
@@ -0,0 +1,7 @@
+package com.bloggy.model;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    FAILED
+}
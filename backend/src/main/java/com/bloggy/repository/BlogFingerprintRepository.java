@@ -0,0 +1,25 @@
+package com.bloggy.repository;
+
+import com.bloggy.model.Blog;
+import com.bloggy.model.BlogFingerprint;
+import com.bloggy.model.Status;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BlogFingerprintRepository extends JpaRepository<BlogFingerprint, Long> {
+
+    // Keyset batches for the startup load
+    List<BlogFingerprint> findByBlogIdGreaterThanOrderByBlogIdAsc(Long blogId, Limit limit);
+
+    // Moderated blogs that predate fingerprinting
+    @Query("SELECT b FROM Blog b LEFT JOIN FETCH b.body WHERE b.id > :id AND b.status IN :statuses "
+        + "AND NOT EXISTS (SELECT f.blogId FROM BlogFingerprint f WHERE f.blogId = b.id) ORDER BY b.id")
+    List<Blog> findBlogsWithoutFingerprint(@Param("id") Long id, @Param("statuses") Collection<Status> statuses, Limit limit);
+}
@@ -1,13 +1,105 @@
 package com.bloggy.repository;
 
+import com.bloggy.dto.BlogStatusRef;
+import com.bloggy.dto.BlogSummary;
+import com.bloggy.dto.ListingVersion;
 import com.bloggy.model.Blog;
 import com.bloggy.model.Status;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Blog bodies are lazy: plain finders read the blogs row only. Finders for callers that go on
+ * to read the content fetch the body in the same query ({@code @EntityGraph("body")}).
+ */
 @Repository
 public interface BlogRepository extends JpaRepository<Blog, Long> {
+    @Override
+    @EntityGraph(attributePaths = "body")
+    List<Blog> findAll();
+
+    @EntityGraph(attributePaths = "body")
     List<Blog> findAllByStatus(Status status);
+
+    @EntityGraph(attributePaths = "body")
     List<Blog> findByAuthor(String author);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = "body")
+    Slice<Blog> findByStatus(Status status, Pageable pageable);
+
+    @EntityGraph(attributePaths = "body")
+    Optional<Blog> findWithBodyById(Long id);
+
+    @EntityGraph(attributePaths = "body")
+    List<Blog> findWithBodyByIdIn(Collection<Long> ids);
+
+    // Version for conditional GETs, without reading the blog itself
+    @Query("SELECT b.updatedAt FROM Blog b WHERE b.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    // Version of the unpaged listings (all, by status, by author; null matches any)
+    @Query("SELECT new com.bloggy.dto.ListingVersion(COUNT(b), MAX(b.updatedAt), MAX(b.id)) FROM Blog b "
+        + "WHERE (:status IS NULL OR b.status = :status) AND (:author IS NULL OR b.author = :author)")
+    ListingVersion findListingVersion(@Param("status") Status status, @Param("author") String author);
+
+    // Keyset batches for full scans (index rebuilds); OFFSET would slow down as it goes
+    @EntityGraph(attributePaths = "body")
+    List<Blog> findByStatusAndIdGreaterThanOrderByIdAsc(Status status, Long id, Limit limit);
+    long countByStatus(Status status);
+
+    // Bulk moderation: statuses are read and locked, then changed set-wise, without loading content
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.bloggy.dto.BlogStatusRef(b.id, b.status) FROM Blog b WHERE b.id IN :ids")
+    List<BlogStatusRef> lockStatuses(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b.id FROM Blog b WHERE b.status = :status AND (:author IS NULL OR b.author = :author) "
+        + "ORDER BY b.id")
+    List<Long> findIdsByStatus(@Param("status") Status status, @Param("author") String author, Limit limit);
+
+    // The status condition re-checks the precondition in the same statement
+    @Modifying
+    @Query("UPDATE Blog b SET b.status = :to, b.updatedAt = :now WHERE b.id IN :ids AND b.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") Status from, @Param("to") Status to,
+            @Param("now") LocalDateTime now);
+
+    // Keyset listings: newest first, strictly after the cursor (createdAt, id), the stored snippet instead of the body
+    String SUMMARY = "SELECT new com.bloggy.dto.BlogSummary(b.id, b.title, b.author, b.status, b.tags, "
+        + "b.seoScore, b.aiSimilarityScore, b.profanityFound, b.snippet, b.createdAt, b.updatedAt) FROM Blog b ";
+    String AFTER_CURSOR = "(b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) ";
+    String NEWEST_FIRST = "ORDER BY b.createdAt DESC, b.id DESC";
+
+    @Query(SUMMARY + "WHERE " + AFTER_CURSOR + NEWEST_FIRST)
+    List<BlogSummary> findSummaries(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "WHERE b.status = :status AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<BlogSummary> findSummariesByStatus(@Param("status") Status status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // Fan-out on read: posts of every author the user follows
+    @Query(SUMMARY + "WHERE b.status = :status AND b.author IN "
+        + "(SELECT f.authorName FROM Follow f WHERE f.follower.id = :userId) AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<BlogSummary> findFeed(@Param("userId") Long userId, @Param("status") Status status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "WHERE b.id IN :ids")
+    List<BlogSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY + "WHERE b.author = :author AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<BlogSummary> findSummariesByAuthor(@Param("author") String author,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+}
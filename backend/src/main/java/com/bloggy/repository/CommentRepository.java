@@ -1,13 +1,34 @@
 package com.bloggy.repository;
 
+import com.bloggy.dto.CommentView;
+import com.bloggy.dto.ListingVersion;
 import com.bloggy.model.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByBlogIdOrderByCreatedAtDesc(Long blogId);
-}
+    /**
+     * Newest-first page of a blog's comments after the (createdAt, id) cursor.
+     * One query joining only users, for the author name; blogs are filtered by the FK column.
+     */
+    @Query("SELECT new com.bloggy.dto.CommentView(c.id, c.content, u.name, c.createdAt) "
+        + "FROM Comment c JOIN c.user u WHERE c.blog.id = :blogId "
+        + "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) "
+        + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentView> findViews(@Param("blogId") Long blogId, @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id, Limit limit);
+
+    long countByBlogId(Long blogId);
 
+    // Comments can't be edited, so new or deleted ones and renamed authors are all that change a listing
+    @Query("SELECT new com.bloggy.dto.ListingVersion(COUNT(c), MAX(u.updatedAt), MAX(c.id)) "
+        + "FROM Comment c JOIN c.user u WHERE c.blog.id = :blogId")
+    ListingVersion findListingVersion(@Param("blogId") Long blogId);
+}
@@ -1,11 +1,17 @@
 package com.bloggy.repository;
 
+import com.bloggy.dto.FollowerEmail;
+import com.bloggy.dto.FollowerRef;
 import com.bloggy.model.Follow;
 import com.bloggy.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,5 +32,33 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     List<String> findFollowerEmailsByAuthorName(String authorName);
     
     long countByAuthorName(String authorName);
+
+    boolean existsByFollowerIdAndAuthorName(Long followerId, String authorName);
+
+    // Which of these authors the user follows, in one query
+    @Query("SELECT f.authorName FROM Follow f WHERE f.follower.id = :userId AND f.authorName IN :authorNames")
+    List<String> findFollowedAuthorNames(@Param("userId") Long userId, @Param("authorNames") Collection<String> authorNames);
+
+    @Modifying
+    @Query("DELETE FROM Follow f WHERE f.follower.id = :userId AND f.authorName = :authorName")
+    int deleteFollow(@Param("userId") Long userId, @Param("authorName") String authorName);
+
+    // Keyset page of follower addresses for notification fan-out
+    @Query("SELECT new com.bloggy.dto.FollowerEmail(f.id, u.email) FROM Follow f JOIN f.follower u "
+        + "WHERE f.authorName = :authorName AND f.id > :afterId ORDER BY f.id")
+    List<FollowerEmail> findFollowerEmailsAfter(@Param("authorName") String authorName, @Param("afterId") Long afterId,
+                                                Limit limit);
+
+    // Keyset page of follower ids for feed fan-out
+    @Query("SELECT new com.bloggy.dto.FollowerRef(f.id, f.follower.id) FROM Follow f "
+        + "WHERE f.authorName = :authorName AND f.id > :afterId ORDER BY f.id")
+    List<FollowerRef> findFollowersAfter(@Param("authorName") String authorName, @Param("afterId") Long afterId,
+                                         Limit limit);
+
+    // Followed authors popular enough that their posts are not fanned out, merged in at read time
+    @Query("SELECT f.authorName FROM Follow f, FollowerCount c WHERE c.authorName = f.authorName "
+        + "AND f.follower.id = :userId AND c.followers >= :minFollowers")
+    List<String> findFollowedAuthorsWithFollowers(@Param("userId") Long userId, @Param("minFollowers") long minFollowers,
+                                                  Limit limit);
 }
 
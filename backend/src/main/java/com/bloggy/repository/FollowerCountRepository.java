@@ -0,0 +1,31 @@
+package com.bloggy.repository;
+
+import com.bloggy.model.FollowerCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FollowerCountRepository extends JpaRepository<FollowerCount, String> {
+
+    List<FollowerCount> findByAuthorNameIn(Collection<String> authorNames);
+
+    // Atomic in the database: concurrent follows of the same author never lose an update
+    @Modifying
+    @Query(value = "INSERT INTO follower_counts (author_name, follower_count) VALUES (:authorName, GREATEST(:delta, 0)) "
+        + "ON DUPLICATE KEY UPDATE follower_count = GREATEST(follower_count + :delta, 0)", nativeQuery = true)
+    void increment(@Param("authorName") String authorName, @Param("delta") long delta);
+
+    @Query("SELECT COALESCE(SUM(c.followers), 0) FROM FollowerCount c")
+    long sumFollowers();
+
+    @Modifying
+    @Query(value = "INSERT INTO follower_counts (author_name, follower_count) "
+        + "SELECT author_name, COUNT(*) FROM follows GROUP BY author_name", nativeQuery = true)
+    int rebuild();
+}
@@ -0,0 +1,25 @@
+package com.bloggy.repository;
+
+import com.bloggy.model.FollowingCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FollowingCountRepository extends JpaRepository<FollowingCount, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO following_counts (user_id, following_count) VALUES (:userId, GREATEST(:delta, 0)) "
+        + "ON DUPLICATE KEY UPDATE following_count = GREATEST(following_count + :delta, 0)", nativeQuery = true)
+    void increment(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Query("SELECT COALESCE(SUM(c.following), 0) FROM FollowingCount c")
+    long sumFollowing();
+
+    @Modifying
+    @Query(value = "INSERT INTO following_counts (user_id, following_count) "
+        + "SELECT follower_id, COUNT(*) FROM follows GROUP BY follower_id", nativeQuery = true)
+    int rebuild();
+}
@@ -0,0 +1,45 @@
+package com.bloggy.repository;
+
+import com.bloggy.model.JobStatus;
+import com.bloggy.model.ModerationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ModerationJobRepository extends JpaRepository<ModerationJob, Long> {
+
+    /**
+     * Lock the next due jobs; rows locked by other workers are skipped, not waited on.
+     * Must run inside a transaction (MySQL 8+).
+     */
+    @Query(value = "SELECT * FROM moderation_jobs WHERE status = 'QUEUED' AND available_at <= :now "
+        + "ORDER BY available_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ModerationJob> lockNextDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatus(JobStatus status);
+
+    List<ModerationJob> findByStatusAndLockedAtBefore(JobStatus status, LocalDateTime lockedAt);
+
+    @Modifying
+    @Query("DELETE FROM ModerationJob j WHERE j.id = :id AND j.status = com.bloggy.model.JobStatus.RUNNING AND j.lockedBy = :worker")
+    int deleteClaimed(@Param("id") Long id, @Param("worker") String worker);
+
+    // Extends the lease on jobs this worker is still running, so the reaper leaves them alone
+    @Modifying
+    @Query("UPDATE ModerationJob j SET j.lockedAt = :now WHERE j.id IN :ids "
+        + "AND j.status = com.bloggy.model.JobStatus.RUNNING AND j.lockedBy = :worker")
+    int renewClaims(@Param("ids") Collection<Long> ids, @Param("worker") String worker, @Param("now") LocalDateTime now);
+
+    // Blogs left in PENDING/PROCESSING with no live job (e.g. submitted before the queue existed)
+    @Query("SELECT b.id FROM Blog b WHERE b.status IN (com.bloggy.model.Status.PENDING, com.bloggy.model.Status.PROCESSING) "
+        + "AND NOT EXISTS (SELECT j.id FROM ModerationJob j WHERE j.blogId = b.id "
+        + "AND j.status IN (com.bloggy.model.JobStatus.QUEUED, com.bloggy.model.JobStatus.RUNNING))")
+    List<Long> findOrphanedBlogIds();
+}
@@ -0,0 +1,29 @@
+package com.bloggy.security;
+
+/**
+ * The caller, as stated by a verified token; no database lookup stands behind it.
+ * Inject with {@code @AuthenticationPrincipal}.
+ */
+public class AuthenticatedUser {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String role;
+
+    public AuthenticatedUser(Long id, String name, String email, String role) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getEmail() { return email; }
+    public String getRole() { return role; }
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+}
@@ -0,0 +1,89 @@
+package com.bloggy.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.util.AntPathMatcher;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Authenticates STOMP sessions and guards subscriptions. Browsers can't set headers on the
+ * WebSocket handshake, so the bearer token travels in the CONNECT frame's Authorization
+ * header instead; sessions without one stay anonymous, a bad one is refused.
+ *
+ * Only admins may subscribe to the moderation topic, by name or by a pattern that covers it,
+ * and no client may send straight to a broker topic.
+ */
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER = "Bearer ";
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final TokenService tokens;
+    private final List<String> adminTopics;
+    private final String brokerPrefix;
+
+    public StompAuthenticationInterceptor(TokenService tokens, List<String> adminTopics, String brokerPrefix) {
+        this.tokens = tokens;
+        this.adminTopics = adminTopics;
+        this.brokerPrefix = brokerPrefix;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        switch (accessor.getCommand()) {
+            case CONNECT -> authenticate(message, accessor);
+            case SUBSCRIBE -> {
+                String destination = accessor.getDestination();
+                boolean adminOnly = destination != null
+                    && adminTopics.stream().anyMatch(topic -> MATCHER.match(destination, topic));
+                if (adminOnly && !isAdmin(accessor.getUser())) {
+                    throw new MessageDeliveryException(message, "Subscribing to " + destination + " requires ADMIN");
+                }
+            }
+            case SEND -> {
+                String destination = accessor.getDestination();
+                if (destination != null && destination.startsWith(brokerPrefix)) {
+                    throw new MessageDeliveryException(message, "Clients may not send to " + destination);
+                }
+            }
+            default -> { }
+        }
+        return message;
+    }
+
+    private void authenticate(Message<?> message, StompHeaderAccessor accessor) {
+        String header = accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) {
+            return;
+        }
+        AuthenticatedUser user;
+        try {
+            user = tokens.verify(header.substring(BEARER.length()).trim());
+        } catch (IllegalArgumentException e) {
+            throw new MessageDeliveryException(message, e.getMessage());
+        }
+        // Kept on the session; later frames carry it as their user
+        accessor.setUser(new UsernamePasswordAuthenticationToken(
+            user, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()))));
+    }
+
+    private static boolean isAdmin(Principal principal) {
+        return principal instanceof UsernamePasswordAuthenticationToken authentication
+            && authentication.getPrincipal() instanceof AuthenticatedUser user
+            && user.isAdmin();
+    }
+}
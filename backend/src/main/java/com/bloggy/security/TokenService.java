@@ -0,0 +1,150 @@
+package com.bloggy.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.bloggy.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Issues and verifies HS256 JSON Web Tokens carrying a user's id, name, email and role.
+ *
+ * The key is derived once from {@code jwt.secret} into one initialised Mac; callers borrow a
+ * clone of it from a small pool (a ThreadLocal would be rebuilt on every virtual thread), so
+ * verifying a token is one HMAC over a few hundred bytes plus a small JSON parse.
+ * Only the fixed header this service writes is accepted, which rules out "alg" tricks.
+ */
+@Service
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final int POOLED_MACS = 64;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+        "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Value("${jwt.expiration:86400000}")
+    private long expirationMs;
+
+    private Mac prototype;
+    private final BlockingQueue<Mac> macs = new ArrayBlockingQueue<>(POOLED_MACS);
+
+    @PostConstruct
+    public void init() {
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("jwt.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        try {
+            prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(new SecretKeySpec(key, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+
+    public String issue(User user) {
+        long now = System.currentTimeMillis() / 1000;
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", String.valueOf(user.getId()));
+        claims.put("name", user.getName());
+        claims.put("email", user.getEmail());
+        claims.put("role", user.getRole());
+        claims.put("iat", now);
+        claims.put("exp", now + expirationMs / 1000);
+        String payload;
+        try {
+            payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to write token claims", e);
+        }
+        String signingInput = HEADER + "." + payload;
+        return signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is malformed, tampered with or expired
+     */
+    public AuthenticatedUser verify(String token) {
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        if (first < 0 || second < 0 || token.indexOf('.', second + 1) >= 0) {
+            throw new IllegalArgumentException("Malformed token");
+        }
+        if (!HEADER.equals(token.substring(0, first))) {
+            throw new IllegalArgumentException("Unsupported token header");
+        }
+        byte[] signature;
+        try {
+            signature = DECODER.decode(token.substring(second + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed token signature");
+        }
+        if (!MessageDigest.isEqual(signature, sign(token.substring(0, second)))) {
+            throw new IllegalArgumentException("Bad token signature");
+        }
+
+        JsonNode claims;
+        try {
+            claims = objectMapper.readTree(DECODER.decode(token.substring(first + 1, second)));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed token claims");
+        }
+        if (claims.path("exp").asLong() <= System.currentTimeMillis() / 1000) {
+            throw new IllegalArgumentException("Token expired");
+        }
+        return new AuthenticatedUser(Long.valueOf(claims.path("sub").asText()), claims.path("name").asText(null),
+            claims.path("email").asText(null), claims.path("role").asText("USER"));
+    }
+
+    private byte[] sign(String signingInput) {
+        Mac mac = macs.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        // doFinal leaves the Mac reset, ready for the next caller; beyond the pool's size it is dropped
+        byte[] signature = mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        macs.offer(mac);
+        return signature;
+    }
+
+    private Mac newMac() {
+        try {
+            // A clone carries the initialised key, skipping the provider lookup and key setup
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+                return mac;
+            } catch (GeneralSecurityException unavailable) {
+                throw new IllegalStateException("HMAC-SHA256 unavailable", unavailable);
+            }
+        }
+    }
+}
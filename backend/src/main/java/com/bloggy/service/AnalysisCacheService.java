@@ -0,0 +1,100 @@
+package com.bloggy.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.bloggy.service.analysis.BlogText;
+import com.bloggy.service.analysis.ContentStats;
+import com.bloggy.service.profanity.ProfanityDictionary;
+import com.bloggy.service.profanity.ProfanityMatcher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Content-addressed cache of text analysis, at two levels.
+ *
+ * Whole texts are keyed by a SHA-256 of the normalized title and content plus the stats and
+ * dictionary versions, so resubmitting or duplicating a post skips the scan entirely.
+ * Paragraphs are keyed by their own hash, so an edit rescans only the paragraphs it changed
+ * and reuses the stats of the rest. Hit and miss counts are exported as
+ * {@code cache.gets{cache="analysis.documents"|"analysis.paragraphs"}}.
+ */
+@Service
+public class AnalysisCacheService {
+
+    @Autowired
+    private ProfanityDictionary dictionary;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${analysis.cache.documents.max-size:2000}")
+    private long maxDocuments;
+
+    @Value("${analysis.cache.paragraphs.max-size:50000}")
+    private long maxParagraphs;
+
+    @Value("${analysis.cache.idle-minutes:60}")
+    private long idleMinutes;
+
+    private Cache<String, BlogText> documents;
+    private Cache<String, ContentStats> paragraphs;
+
+    @PostConstruct
+    public void init() {
+        documents = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+            .maximumSize(maxDocuments)
+            .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+            .recordStats()
+            .<String, BlogText>build(), "analysis.documents");
+        paragraphs = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+            .maximumSize(maxParagraphs)
+            .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+            .recordStats()
+            .<String, ContentStats>build(), "analysis.paragraphs");
+    }
+
+    /**
+     * Analysis of the text, from the cache where possible. CRLF line endings are folded to LF
+     * first, so paragraph breaks are found either way.
+     */
+    public BlogText analyze(String title, String content) {
+        String t = normalize(title);
+        String c = normalize(content);
+        ProfanityMatcher matcher = dictionary.getMatcher();
+        String key = ContentStats.VERSION + ":" + dictionary.getVersion() + ":" + digest(t, c);
+        return documents.get(key, k -> BlogText.of(t, c, matcher, this::paragraph));
+    }
+
+    private ContentStats paragraph(String text) {
+        return paragraphs.get(ContentStats.VERSION + ":" + digest(text), k -> ContentStats.of(text));
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.replace("\r\n", "\n");
+    }
+
+    private static String digest(String... parts) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                sha.update(part.getBytes(StandardCharsets.UTF_8));
+                sha.update((byte) 0); // Keeps ("ab", "c") and ("a", "bc") apart
+            }
+            return Base64.getEncoder().encodeToString(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.bloggy.service;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bloggy.event.BlogStatusChangedEvent;
+import com.bloggy.model.Blog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Redis read-through cache for blog reads.
+ *
+ * Values are stored as the JSON the API returns, so a hit skips both MySQL and serialization.
+ * Single blogs are keyed by their version (updatedAt) and written under the new one whenever
+ * their status changes; APPROVED listing pages are keyed by a generation number that is bumped
+ * when a blog enters or leaves APPROVED (after the change commits), which drops every cached
+ * page at once. A page is only stored if the generation it was loaded under is still current,
+ * so a load that raced a change can't leave stale rows behind until the TTL. The version
+ * and the generation double as ETags: JSON stored under one is never older than it.
+ * Misses on a hot key are collapsed: one request per JVM (single-flight) and one per cluster
+ * (Redis SET NX lock) loads from the DB while the rest wait for its result.
+ * If Redis is unreachable, reads fall through to the database.
+ */
+@Service
+public class BlogCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(BlogCacheService.class);
+
+    private static final String PREFIX = "bloggy:";
+    private static final String BLOG_KEY = PREFIX + "blog:";
+    private static final String APPROVED_PAGE_KEY = PREFIX + "blogs:approved:";
+    private static final String APPROVED_GENERATION_KEY = PREFIX + "blogs:approved:gen";
+    private static final String LOCK_SUFFIX = ":lock";
+    private static final long POLL_INTERVAL_MS = 25;
+    private static final long REDIS_RETRY_AFTER_MS = 10_000;
+
+    // KEYS: generation, page; ARGV: expected generation, JSON, TTL in ms
+    private static final RedisScript<Long> SET_IF_GENERATION = new DefaultRedisScript<>(
+        "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+            + "redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3]) return 1 end return 0", Long.class);
+
+    @Autowired
+    private StringRedisTemplate redis;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.blog.ttl-seconds:600}")
+    private long blogTtlSeconds;
+
+    @Value("${cache.listing.ttl-seconds:60}")
+    private long listingTtlSeconds;
+
+    @Value("${cache.lock.wait-ms:2000}")
+    private long lockWaitMs;
+
+    private final ConcurrentMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    // While Redis is down, don't pay a connection timeout on every request
+    private volatile long redisRetryAt;
+
+    // Listing changes this instance could not announce; the generation is bumped once Redis is back
+    private volatile boolean missedListingChange;
+
+    /** Version of a blog as used in cache keys and ETags */
+    public static String version(LocalDateTime updatedAt) {
+        return Long.toString(updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1000);
+    }
+
+    /**
+     * @param updatedAt Current version of the blog, as read from the DB
+     * @return JSON of the blog at that version or later, from cache or loaded via loader
+     */
+    public String getBlog(Long id, LocalDateTime updatedAt, Supplier<Blog> loader) {
+        return readThrough(blogKey(id, version(updatedAt)), null, Duration.ofSeconds(blogTtlSeconds), loader);
+    }
+
+    /**
+     * Current version of the APPROVED listing; starts from the clock, so counting never restarts
+     * from a value handed out before Redis lost it
+     * @return null while Redis is unavailable
+     */
+    public String getApprovedGeneration() {
+        if (!redisAvailable()) {
+            return null;
+        }
+        try {
+            if (missedListingChange) {
+                missedListingChange = false;
+                return String.valueOf(redis.opsForValue().increment(APPROVED_GENERATION_KEY));
+            }
+            String generation = redis.opsForValue().get(APPROVED_GENERATION_KEY);
+            if (generation == null) {
+                redis.opsForValue().setIfAbsent(APPROVED_GENERATION_KEY, String.valueOf(System.currentTimeMillis()));
+                generation = redis.opsForValue().get(APPROVED_GENERATION_KEY);
+            }
+            return generation;
+        } catch (RuntimeException e) {
+            markRedisDown(e);
+            return null;
+        }
+    }
+
+    /**
+     * @param generation From {@link #getApprovedGeneration}
+     * @param pageKey Cursor and page size identifying the page
+     * @return JSON of the APPROVED listing page, from cache or loaded via loader
+     */
+    public String getApprovedPage(String generation, String pageKey, Supplier<?> loader) {
+        String key = APPROVED_PAGE_KEY + generation + ":" + pageKey;
+        return readThrough(key, generation, Duration.ofSeconds(listingTtlSeconds), loader);
+    }
+
+    // After commit, so a page loaded under the new generation can't miss the change
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(BlogStatusChangedEvent event) {
+        boolean listingChanged = event.isPublished() || event.isUnpublished() || event.isRevised();
+        if (!redisAvailable()) {
+            missedListingChange |= listingChanged;
+            return;
+        }
+        Blog blog = event.getBlog();
+        try {
+            // Write the new version so the next read of a just-approved post is still a hit; a blog
+            // loaded without its content is left to miss rather than be read again
+            if (Hibernate.isInitialized(blog.getBody())) {
+                redis.opsForValue().set(blogKey(blog.getId(), version(blog.getUpdatedAt())), toJson(blog),
+                    Duration.ofSeconds(blogTtlSeconds));
+            }
+            if (listingChanged) {
+                redis.opsForValue().increment(APPROVED_GENERATION_KEY);
+            }
+        } catch (RuntimeException e) {
+            // Entries written before the outage still expire by TTL
+            missedListingChange |= listingChanged;
+            markRedisDown(e);
+        }
+    }
+
+    private static String blogKey(Long id, String version) {
+        return BLOG_KEY + id + ":" + version;
+    }
+
+    /**
+     * @param generation Listing generation the key belongs to; the value is only stored while it
+     *                   is current. Null for keys that are versioned by their content.
+     */
+    private String readThrough(String key, String generation, Duration ttl, Supplier<?> loader) {
+        if (!redisAvailable()) {
+            return toJson(loader.get());
+        }
+        String cached = safeGet(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Single-flight within this JVM
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            String json = loadWithLock(key, generation, ttl, loader);
+            mine.complete(json);
+            return json;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** Cluster-wide: only the lock holder hits the DB; others poll for its result */
+    private String loadWithLock(String key, String generation, Duration ttl, Supplier<?> loader) {
+        String lockKey = key + LOCK_SUFFIX;
+        String token = UUID.randomUUID().toString();
+        Boolean locked = null;
+        try {
+            locked = redis.opsForValue().setIfAbsent(lockKey, token, Duration.ofMillis(lockWaitMs));
+        } catch (RuntimeException e) {
+            markRedisDown(e);
+        }
+
+        if (Boolean.FALSE.equals(locked)) {
+            long deadline = System.currentTimeMillis() + lockWaitMs;
+            while (System.currentTimeMillis() < deadline) {
+                try {
+                    Thread.sleep(POLL_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                String cached = safeGet(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            // Holder is slow or died; serve from the DB without fighting over the key
+            return toJson(loader.get());
+        }
+
+        boolean holder = Boolean.TRUE.equals(locked);
+        try {
+            String json = toJson(loader.get());
+            if (holder) {
+                safeSet(key, generation, json, ttl);
+            }
+            return json;
+        } finally {
+            if (holder) {
+                releaseLock(lockKey, token);
+            }
+        }
+    }
+
+    private void releaseLock(String lockKey, String token) {
+        try {
+            if (token.equals(redis.opsForValue().get(lockKey))) {
+                redis.delete(lockKey);
+            }
+        } catch (RuntimeException e) {
+            markRedisDown(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private String safeGet(String key) {
+        try {
+            return redis.opsForValue().get(key);
+        } catch (RuntimeException e) {
+            markRedisDown(e);
+            return null;
+        }
+    }
+
+    private void safeSet(String key, String generation, String value, Duration ttl) {
+        try {
+            if (generation == null) {
+                redis.opsForValue().set(key, value, ttl);
+            } else {
+                redis.execute(SET_IF_GENERATION, List.of(APPROVED_GENERATION_KEY, key),
+                    generation, value, String.valueOf(ttl.toMillis()));
+            }
+        } catch (RuntimeException e) {
+            markRedisDown(e);
+        }
+    }
+
+    private boolean redisAvailable() {
+        return enabled && System.currentTimeMillis() >= redisRetryAt;
+    }
+
+    private void markRedisDown(RuntimeException e) {
+        redisRetryAt = System.currentTimeMillis() + REDIS_RETRY_AFTER_MS;
+        log.warn("Redis unavailable, bypassing blog cache: {}", e.getMessage());
+    }
+}
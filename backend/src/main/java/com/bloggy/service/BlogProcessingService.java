@@ -1,161 +1,170 @@
 package com.bloggy.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.bloggy.event.BlogEditedEvent;
+import com.bloggy.event.BlogStatusChangedEvent;
 import com.bloggy.model.Blog;
 import com.bloggy.model.Status;
 import com.bloggy.repository.BlogRepository;
+import com.bloggy.service.analysis.BlogAnalyzer;
+import com.bloggy.service.analysis.BlogText;
+import com.bloggy.service.similarity.SimilarityService;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.util.List;
+import java.util.function.Supplier;
 
 @Service
 public class BlogProcessingService {
 
-    @Autowired
-    private BlogRepository blogRepo;
+    // Timer per stage (tag "stage"), and a child span of "bloggy.moderation" when tracing is on
+    private static final String MODERATION = "bloggy.moderation";
+    private static final String STAGE = "bloggy.moderation.stage";
 
     @Autowired
-    private TfIdfTagGenerator tagGenerator;
+    private BlogRepository blogRepo;
 
     @Autowired
     private EmailService emailService;
 
-    // Common profane words (subset - add more as needed)
-    private static final Set<String> PROFANE_WORDS = new HashSet<>(Arrays.asList(
-        "fuck", "shit", "ass", "bitch", "damn", "crap", "bastard", "hell",
-        "dick", "cock", "pussy", "cunt", "whore", "slut", "fag", "nigger",
-        "asshole", "bullshit", "motherfucker", "fucker", "fucking", "shitty"
-    ));
-
-    @Async("workerExecutor")
-    public void processBlog(Blog blog) {
-        blog.setStatus(Status.PROCESSING);
-        blogRepo.save(blog);
+    @Autowired
+    private ApplicationEventPublisher events;
 
-        // Check for profanity
-        boolean hasProfanity = checkProfanity(blog.getTitle() + " " + blog.getContent());
-        blog.setProfanityFound(hasProfanity);
+    @Autowired
+    private ObservationRegistry observations;
 
-        // Calculate SEO score
-        double seoScore = calculateSeoScore(blog);
-        blog.setSeoScore(seoScore);
+    @Autowired
+    private AnalysisCacheService analysisCache;
 
-        // AI similarity (random for now)
-        blog.setAiSimilarityScore(Math.random());
+    @Autowired
+    private SimilarityService similarityService;
 
-        // Auto-generate tags using TF-IDF
-        String tags = tagGenerator.generateTags(blog.getTitle(), blog.getContent(), 5);
-        blog.setTags(tags);
+    // Profanity, SEO, tags, similarity in @Order; all share one (cached) analysis of the text
+    @Autowired
+    private List<BlogAnalyzer> analyzers;
 
-        // Set status based on profanity
-        if (hasProfanity) {
-            blog.setStatus(Status.REVIEW);  // Needs human moderation
-        } else {
-            blog.setStatus(Status.APPROVED);  // Auto-approve if clean
-            // Send email notifications to followers
-            emailService.sendNewBlogNotification(blog);
+    /**
+     * Run automated moderation; called by {@link ModerationWorker} for each queued job.
+     * Safe to repeat: a blog a moderator has already decided is left alone.
+     */
+    public void processBlog(Blog blog) {
+        if (blog.getStatus() != Status.PENDING && blog.getStatus() != Status.PROCESSING) {
+            return;
         }
-
-        blogRepo.save(blog);
+        Observation.createNotStarted(MODERATION, observations)
+            .highCardinalityKeyValue("blog.id", String.valueOf(blog.getId()))
+            .observe(() -> moderate(blog));
     }
 
-    private boolean checkProfanity(String text) {
-        if (text == null) return false;
-        String[] words = text.toLowerCase().replaceAll("[^a-zA-Z ]", "").split("\\s+");
-        for (String word : words) {
-            if (PROFANE_WORDS.contains(word)) {
-                return true;
-            }
+    private void moderate(Blog blog) {
+        Status previous = blog.getStatus();
+        blog.setStatus(Status.PROCESSING);
+        save(blog);
+        stage("events", () -> events.publishEvent(new BlogStatusChangedEvent(blog, previous)));
+
+        BlogText text = analyze(blog);
+        save(blog);
+        if (blog.getStatus() == Status.APPROVED) {
+            // Only once the approval is saved: a retry of this job finds the blog decided and
+            // returns early, so followers are emailed at most once
+            stage("email", () -> emailService.sendNewBlogNotification(blog));
         }
-        return false;
+        fingerprint(blog, text);
+        stage("events", () -> events.publishEvent(new BlogStatusChangedEvent(blog, Status.PROCESSING)));
     }
 
-    private double calculateSeoScore(Blog blog) {
-        double score = 0;
-        String title = blog.getTitle() != null ? blog.getTitle() : "";
-        String content = blog.getContent() != null ? blog.getContent() : "";
-
-        // Title length (10%) - ideal 50-70 chars
-        int titleLen = title.length();
-        if (titleLen >= 50 && titleLen <= 70) {
-            score += 10;
-        } else if (titleLen >= 30 && titleLen <= 90) {
-            score += 6;
-        } else if (titleLen > 0) {
-            score += 3;
+    // Only once the result is saved, so a failed run leaves no fingerprint to match later posts against
+    private void fingerprint(Blog blog, BlogText text) {
+        int[] signature = text.getContent().getSignature();
+        if (signature != null) {
+            stage("fingerprint", () -> similarityService.record(blog.getId(), signature));
         }
+    }
 
-        // Content length (20%) - ideal 600-2000 words
-        int wordCount = content.split("\\s+").length;
-        if (wordCount >= 600 && wordCount <= 2000) {
-            score += 20;
-        } else if (wordCount >= 300 && wordCount <= 3000) {
-            score += 12;
-        } else if (wordCount >= 100) {
-            score += 6;
-        } else if (wordCount > 0) {
-            score += 2;
-        }
+    // The worker's blog is detached; carry the new version back so listeners cache it under the right key
+    private void save(Blog blog) {
+        Blog saved = stage("persistence", () -> blogRepo.save(blog));
+        blog.setUpdatedAt(saved.getUpdatedAt());
+    }
 
-        // Headings presence (10%) - check for markdown headings
-        if (content.contains("#") || content.contains("<h1") || content.contains("<h2")) {
-            score += 10;
-        } else if (content.length() > 500) {
-            score += 3; // Longer content without headings gets partial credit
-        }
+    /**
+     * Replace an already moderated blog's title and content, and moderate it again straight away.
+     * Only the changed paragraphs are rescanned. An approved blog stays up unless the edit
+     * brings in profanity; any other blog goes (back) to REVIEW for a moderator. Followers are
+     * not notified again.
+     */
+    public Blog edit(Blog blog, String title, String content) {
+        Status previous = blog.getStatus();
+        String previousTitle = blog.getTitle();
+        String previousContent = blog.getContent();
+        blog.setTitle(title);
+        blog.setContent(content);
+        return Observation.createNotStarted(MODERATION, observations)
+            .highCardinalityKeyValue("blog.id", String.valueOf(blog.getId()))
+            .observe(() -> {
+                BlogText text = analyze(blog);
+                if (previous != Status.APPROVED) {
+                    blog.setStatus(Status.REVIEW);
+                }
+                Blog saved = stage("persistence", () -> blogRepo.save(blog));
+                fingerprint(saved, text);
+                stage("events", () -> events.publishEvent(
+                    new BlogEditedEvent(saved, previous, previousTitle, previousContent)));
+                return saved;
+            });
+    }
 
-        // Paragraph structure (10%)
-        long paragraphs = content.chars().filter(c -> c == '\n').count() + 1;
-        if (paragraphs >= 3) {
-            score += 10;
-        } else if (paragraphs >= 2) {
-            score += 5;
+    /**
+     * Run every analyzer and decide the status from the result; nothing is saved.
+     * Thread-safe, so callers may analyze many blogs in parallel.
+     * @return The shared text analysis, for callers that need it afterwards
+     */
+    public BlogText analyze(Blog blog) {
+        // Identical text is not scanned again, and changed text only in the paragraphs that differ
+        BlogText text = stage("text", () -> analysisCache.analyze(blog.getTitle(), blog.getContent()));
+        for (BlogAnalyzer analyzer : analyzers) {
+            stage(analyzer.stage(), () -> analyzer.analyze(text, blog));
         }
 
-        // Readability - sentence variety (15%)
-        String[] sentences = content.split("[.!?]+");
-        if (sentences.length >= 5) {
-            double avgSentenceLen = (double) wordCount / sentences.length;
-            if (avgSentenceLen >= 10 && avgSentenceLen <= 20) {
-                score += 15;
-            } else if (avgSentenceLen >= 5 && avgSentenceLen <= 30) {
-                score += 10;
-            } else {
-                score += 5;
-            }
-        } else if (sentences.length >= 2) {
-            score += 7;
+        // Set status based on profanity
+        boolean hasProfanity = Boolean.TRUE.equals(blog.getProfanityFound());
+        if (hasProfanity) {
+            blog.setStatus(Status.REVIEW);  // Needs human moderation
+        } else {
+            blog.setStatus(Status.APPROVED);  // Auto-approve if clean
         }
+        return text;
+    }
 
-        // Has links (10%)
-        if (content.contains("http") || content.contains("href")) {
-            score += 10;
-        }
+    private void stage(String name, Runnable work) {
+        Observation.createNotStarted(STAGE, observations)
+            .lowCardinalityKeyValue("stage", name)
+            .observe(work);
+    }
 
-        // Has images (10%)
-        if (content.contains("<img") || content.contains("![")) {
-            score += 10;
-        }
+    private <T> T stage(String name, Supplier<T> work) {
+        return Observation.createNotStarted(STAGE, observations)
+            .lowCardinalityKeyValue("stage", name)
+            .observe(work);
+    }
 
-        // Keyword in title and content (15%)
-        String[] titleWords = title.toLowerCase().split("\\s+");
-        String contentLower = content.toLowerCase();
-        int keywordMatches = 0;
-        for (String word : titleWords) {
-            if (word.length() > 3 && contentLower.contains(word)) {
-                keywordMatches++;
+    /**
+     * Hand a blog whose moderation keeps failing to a human
+     */
+    public void sendToReview(Long blogId) {
+        blogRepo.findWithBodyById(blogId).ifPresent(blog -> {
+            Status previous = blog.getStatus();
+            if (previous != Status.PENDING && previous != Status.PROCESSING) {
+                return;
             }
-        }
-        if (keywordMatches >= 3) {
-            score += 15;
-        } else if (keywordMatches >= 1) {
-            score += 8;
-        }
-
-        return Math.min(score, 100); // Cap at 100
+            blog.setStatus(Status.REVIEW);
+            blogRepo.save(blog);
+            events.publishEvent(new BlogStatusChangedEvent(blog, previous));
+        });
     }
 }
@@ -0,0 +1,46 @@
+package com.bloggy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bloggy.dto.BlogStatusMessage;
+import com.bloggy.event.BlogStatusChangedEvent;
+
+/**
+ * Pushes every moderation status change to WebSocket subscribers: the blog's own topic,
+ * its author's topic and the moderators' queue topic.
+ */
+@Service
+public class BlogStatusPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(BlogStatusPublisher.class);
+
+    public static final String BLOG_TOPIC = "/topic/blogs/";
+    public static final String AUTHOR_TOPIC = "/topic/authors/";
+    public static final String MODERATION_TOPIC = "/topic/moderation";
+
+    @Autowired
+    private SimpMessagingTemplate messaging;
+
+    // After commit, so subscribers never hear of a change that rolls back
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(BlogStatusChangedEvent event) {
+        BlogStatusMessage message = new BlogStatusMessage(event);
+        try {
+            messaging.convertAndSend(BLOG_TOPIC + message.getBlogId(), message);
+            if (message.getAuthor() != null) {
+                messaging.convertAndSend(AUTHOR_TOPIC + message.getAuthor(), message);
+            }
+            messaging.convertAndSend(MODERATION_TOPIC, message);
+        } catch (MessagingException e) {
+            // A push is best effort; the REST endpoints remain the source of truth
+            log.warn("Failed to push status of blog {}: {}", message.getBlogId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.bloggy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bloggy.event.BlogStatusChangedEvent;
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+import com.bloggy.service.analysis.BlogText;
+import com.bloggy.service.similarity.SimilarityService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bulk blog import from an NDJSON stream (one blog object per line), for migrations.
+ *
+ * Lines are read and parsed one at a time and handled in chunks: each chunk is moderated in
+ * parallel on the ingest executor, inserted with one JDBC batch (Hibernate cannot batch
+ * IDENTITY inserts), fingerprinted with another, and only then announced, so listeners see
+ * the same events as for a single submission. One result line is written per input line as
+ * each chunk completes. At most one chunk is held in memory, whatever the upload size.
+ */
+@Service
+public class BulkIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkIngestService.class);
+
+    private static final String INSERT_BODY = "INSERT INTO blog_bodies (data) VALUES (?)";
+    private static final String INSERT_BLOG = "INSERT INTO blogs (title, author, body_id, snippet, status, tags,"
+        + " seo_score, ai_similarity_score, similar_blog_ids, profanity_found, created_at, updated_at)"
+        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    @Autowired
+    private BlogProcessingService processingService;
+
+    @Autowired
+    private SimilarityService similarityService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("ingestExecutor")
+    private TaskExecutor executor;
+
+    @Value("${ingest.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${ingest.parallelism:4}")
+    private int parallelism;
+
+    @Value("${ingest.max-line-length:262144}")
+    private int maxLineLength;
+
+    @Value("${ingest.max-concurrent:1}")
+    private int maxConcurrent;
+
+    private Semaphore running;
+
+    @PostConstruct
+    public void init() {
+        running = new Semaphore(maxConcurrent);
+    }
+
+    /** Claim an import slot; pair with {@link #release()}. False while the limit is reached. */
+    public boolean tryAcquire() {
+        return running.tryAcquire();
+    }
+
+    public void release() {
+        running.release();
+    }
+
+    /**
+     * Import every line of the stream, writing one NDJSON result per line and a final summary.
+     * Results are {@code {"line":n,"id":..,"status":..}} or {@code {"line":n,"error":..}}.
+     * @param notify Email followers about posts that are approved (off for migrations)
+     */
+    public Result ingest(Reader in, Writer out, boolean notify) throws IOException {
+        Result result = new Result();
+        LineReader lines = new LineReader(in, maxLineLength);
+        List<Entry> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = lines.next()) != null) {
+            int number = lines.getNumber();
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(number, line, lines.wasTruncated()));
+            if (chunk.size() == chunkSize) {
+                flush(chunk, out, notify, result);
+            }
+        }
+        flush(chunk, out, notify, result);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("done", true);
+        summary.put("imported", result.imported);
+        summary.put("failed", result.failed);
+        write(out, summary);
+        out.flush();
+        return result;
+    }
+
+    private Entry parse(int number, String line, boolean truncated) {
+        Entry entry = new Entry(number);
+        if (truncated) {
+            entry.error = "Line exceeds " + maxLineLength + " characters";
+            return entry;
+        }
+        Blog blog;
+        try {
+            blog = objectMapper.readValue(line, Blog.class);
+        } catch (JsonProcessingException e) {
+            entry.error = "Malformed JSON: " + e.getOriginalMessage();
+            return entry;
+        }
+        entry.error = validate(blog);
+        if (entry.error == null) {
+            entry.blog = prepare(blog);
+        }
+        return entry;
+    }
+
+    private static String validate(Blog blog) {
+        if (blog == null) {
+            return "Expected a blog object";
+        }
+        if (isBlank(blog.getTitle()) || isBlank(blog.getAuthor()) || isBlank(blog.getContent())) {
+            return "title, author and content are required";
+        }
+        if (blog.getTitle().length() > MAX_TITLE_LENGTH || blog.getAuthor().length() > MAX_TITLE_LENGTH) {
+            return "title and author are limited to " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (blog.getContent().length() > Blog.MAX_CONTENT_LENGTH) {
+            return "content is limited to " + Blog.MAX_CONTENT_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    /** Keep only what a client may set; createdAt is honoured so migrated posts keep their date */
+    private static Blog prepare(Blog source) {
+        Blog blog = new Blog();
+        blog.setTitle(source.getTitle());
+        blog.setAuthor(source.getAuthor());
+        blog.setContent(source.getContent());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        blog.setCreatedAt(source.getCreatedAt() != null ? source.getCreatedAt() : now);
+        blog.setUpdatedAt(now);
+        return blog;
+    }
+
+    private void flush(List<Entry> chunk, Writer out, boolean notify, Result result) throws IOException {
+        List<Entry> valid = new ArrayList<>(chunk.size());
+        for (Entry entry : chunk) {
+            if (entry.blog != null) {
+                valid.add(entry);
+            }
+        }
+        if (!valid.isEmpty()) {
+            try {
+                analyze(valid);
+                insert(valid);
+            } catch (RuntimeException e) {
+                log.warn("Bulk import of {} blogs failed", valid.size(), e);
+                for (Entry entry : valid) {
+                    entry.error = "Import failed: " + e.getMessage();
+                    entry.blog.setId(null);
+                }
+            }
+            publish(valid, notify);
+        }
+
+        for (Entry entry : chunk) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("line", entry.number);
+            if (entry.error == null) {
+                line.put("id", entry.blog.getId());
+                line.put("status", entry.blog.getStatus());
+                result.imported++;
+            } else {
+                line.put("error", entry.error);
+                result.failed++;
+            }
+            write(out, line);
+        }
+        out.flush();
+        chunk.clear();
+    }
+
+    /** Moderate the chunk in up to {@code parallelism} slices at once */
+    private void analyze(List<Entry> entries) {
+        int slices = Math.max(1, Math.min(parallelism, entries.size()));
+        int sliceSize = (entries.size() + slices - 1) / slices;
+        List<CompletableFuture<Void>> futures = new ArrayList<>(slices);
+        for (int from = 0; from < entries.size(); from += sliceSize) {
+            List<Entry> slice = entries.subList(from, Math.min(entries.size(), from + sliceSize));
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (Entry entry : slice) {
+                    entry.text = processingService.analyze(entry.blog);
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private void insert(List<Entry> entries) {
+        transactions.executeWithoutResult(tx -> jdbc.execute((ConnectionCallback<Void>) connection -> {
+            // Bodies first (already compressed by setContent), then the rows that point at them
+            long[] bodyIds = new long[entries.size()];
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_BODY, Statement.RETURN_GENERATED_KEYS)) {
+                for (Entry entry : entries) {
+                    insert.setBytes(1, entry.blog.getBody().getData());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                readKeys(insert, bodyIds);
+            }
+            long[] blogIds = new long[entries.size()];
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_BLOG, Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < entries.size(); i++) {
+                    Blog blog = entries.get(i).blog;
+                    insert.setString(1, blog.getTitle());
+                    insert.setString(2, blog.getAuthor());
+                    insert.setLong(3, bodyIds[i]);
+                    insert.setString(4, blog.getSnippet());
+                    insert.setString(5, blog.getStatus().name());
+                    insert.setString(6, blog.getTags());
+                    insert.setObject(7, blog.getSeoScore(), Types.DOUBLE);
+                    insert.setObject(8, blog.getAiSimilarityScore(), Types.DOUBLE);
+                    insert.setString(9, blog.getSimilarBlogIds());
+                    insert.setObject(10, blog.getProfanityFound(), Types.BOOLEAN);
+                    insert.setTimestamp(11, Timestamp.valueOf(blog.getCreatedAt()));
+                    insert.setTimestamp(12, Timestamp.valueOf(blog.getUpdatedAt()));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                readKeys(insert, blogIds);
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).blog.setId(blogIds[i]);
+            }
+            return null;
+        }));
+    }
+
+    private static void readKeys(PreparedStatement insert, long[] ids) throws SQLException {
+        try (ResultSet keys = insert.getGeneratedKeys()) {
+            for (int i = 0; i < ids.length; i++) {
+                if (!keys.next()) {
+                    throw new IllegalStateException("Driver returned fewer keys than rows inserted");
+                }
+                ids[i] = keys.getLong(1);
+            }
+        }
+    }
+
+    /** After commit: fingerprint, then tell the indexes, caches and feeds, as a single submission would */
+    private void publish(List<Entry> entries, boolean notify) {
+        Map<Long, int[]> signatures = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            if (entry.error == null) {
+                int[] signature = entry.text.getContent().getSignature();
+                if (signature != null) {
+                    signatures.put(entry.blog.getId(), signature);
+                }
+            }
+        }
+        if (!signatures.isEmpty()) {
+            try {
+                similarityService.recordAll(signatures);
+            } catch (RuntimeException e) {
+                // Backfilled from the blog text at the next startup
+                log.warn("Failed to fingerprint {} imported blogs", signatures.size(), e);
+            }
+        }
+        for (Entry entry : entries) {
+            if (entry.error != null) {
+                continue;
+            }
+            events.publishEvent(new BlogStatusChangedEvent(entry.blog, null));
+            if (notify && entry.blog.getStatus() == Status.APPROVED) {
+                emailService.sendNewBlogNotification(entry.blog);
+            }
+        }
+    }
+
+    private void write(Writer out, Map<String, Object> line) throws IOException {
+        out.write(objectMapper.writeValueAsString(line));
+        out.write('\n');
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static class Entry {
+        private final int number;
+        private Blog blog;
+        private BlogText text;
+        private String error;
+
+        Entry(int number) {
+            this.number = number;
+        }
+    }
+
+    /**
+     * Line-at-a-time reader with a length cap, so one huge line cannot exhaust memory.
+     * The part of an over-long line beyond the cap is skipped.
+     */
+    static class LineReader {
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private int number;
+        private boolean truncated;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        /** @return The next line without its terminator, or null at end of stream */
+        String next() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean any = false;
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return any ? finish() : null;
+                    }
+                }
+                any = true;
+                char c = buffer[position++];
+                if (c == '\n') {
+                    return finish();
+                }
+                if (line.length() < maxLength) {
+                    line.append(c);
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+
+        private String finish() {
+            number++;
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(length - 1);
+            }
+            return line.toString();
+        }
+
+        /** 1-based number of the line last returned */
+        int getNumber() { return number; }
+
+        boolean wasTruncated() { return truncated; }
+    }
+
+    public static class Result {
+        private int imported;
+        private int failed;
+
+        public int getImported() { return imported; }
+        public int getFailed() { return failed; }
+    }
+}
@@ -0,0 +1,166 @@
+package com.bloggy.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bloggy.dto.BlogStatusRef;
+import com.bloggy.event.BlogStatusChangedEvent;
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+import com.bloggy.repository.BlogRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moderator decisions on many blogs at once.
+ *
+ * In one transaction the statuses of the requested blogs are read and locked (no content),
+ * then changed with one UPDATE per source status, each guarded by that status. Blogs still in
+ * the pipeline (PENDING, PROCESSING) are never touched. After commit the changed blogs are
+ * loaded and announced, so caches, indexes, feeds and followers are brought up to date exactly
+ * as for a single decision. Only blogs entering or leaving APPROVED are loaded with their
+ * content, which the indexes need; moves between REVIEW and REJECTED read the rows alone.
+ */
+@Service
+public class BulkModerationService {
+
+    public static final int MAX_BATCH = 1000;
+
+    // Source statuses a moderator may move a blog from, per target status
+    private static final Map<Status, Set<Status>> ALLOWED_FROM = new EnumMap<>(Map.of(
+        Status.APPROVED, EnumSet.of(Status.REVIEW, Status.REJECTED),
+        Status.REJECTED, EnumSet.of(Status.REVIEW, Status.APPROVED),
+        Status.REVIEW, EnumSet.of(Status.APPROVED, Status.REJECTED)));
+
+    @Autowired
+    private BlogRepository blogRepo;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    /**
+     * Move the oldest blogs in one status (optionally by one author) to another
+     * @return As {@link #changeStatus}, plus hasMore when further blogs may match
+     */
+    public Map<String, Object> changeStatus(Status from, String author, Status to, int limit) {
+        if (!ALLOWED_FROM.get(to).contains(from)) {
+            throw new IllegalArgumentException("Cannot move blogs from " + from + " to " + to);
+        }
+        int size = Math.max(1, Math.min(limit, MAX_BATCH));
+        List<Long> ids = blogRepo.findIdsByStatus(from, author, Limit.of(size));
+        Map<String, Object> result = changeStatus(ids, to);
+        result.put("hasMore", ids.size() == size);
+        return result;
+    }
+
+    /**
+     * @return Counts per outcome and, per ID in request order, its outcome: updated, unchanged
+     *         (already there), skipped (not allowed from its status) or notFound
+     */
+    public Map<String, Object> changeStatus(Collection<Long> ids, Status to) {
+        Set<Status> allowed = ALLOWED_FROM.get(to);
+        if (allowed == null) {
+            throw new IllegalArgumentException("Cannot move blogs to " + to);
+        }
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.size() > MAX_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH + " blogs per request");
+        }
+
+        Map<Long, Status> previous = new HashMap<>();
+        List<Long> changed = new ArrayList<>();
+        if (!distinct.isEmpty()) {
+            transactions.executeWithoutResult(tx -> {
+                Map<Status, List<Long>> bySource = new EnumMap<>(Status.class);
+                for (BlogStatusRef ref : blogRepo.lockStatuses(distinct)) {
+                    previous.put(ref.getId(), ref.getStatus());
+                    if (allowed.contains(ref.getStatus())) {
+                        bySource.computeIfAbsent(ref.getStatus(), s -> new ArrayList<>()).add(ref.getId());
+                    }
+                }
+                LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+                // Rows are locked, so each guarded UPDATE changes its whole group
+                bySource.forEach((from, group) -> {
+                    blogRepo.updateStatus(group, from, to, now);
+                    changed.addAll(group);
+                });
+            });
+        }
+        announce(changed, previous, to);
+
+        Set<Long> changedSet = Set.copyOf(changed);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String outcome : List.of("updated", "unchanged", "skipped", "notFound")) {
+            counts.put(outcome, 0);
+        }
+        List<Map<String, Object>> items = new ArrayList<>(distinct.size());
+        for (Long id : distinct) {
+            Status before = previous.get(id);
+            String outcome;
+            if (before == null) {
+                outcome = "notFound";
+            } else if (changedSet.contains(id)) {
+                outcome = "updated";
+            } else if (before == to) {
+                outcome = "unchanged";
+            } else {
+                outcome = "skipped";
+            }
+            counts.merge(outcome, 1, Integer::sum);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", id);
+            item.put("outcome", outcome);
+            item.put("previousStatus", before);
+            items.add(item);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", to);
+        result.putAll(counts);
+        result.put("items", items);
+        return result;
+    }
+
+    // After commit, with at most two reads for the whole batch
+    private void announce(List<Long> changed, Map<Long, Status> previous, Status to) {
+        List<Long> withBody = new ArrayList<>();
+        List<Long> withoutBody = new ArrayList<>();
+        for (Long id : changed) {
+            (to == Status.APPROVED || previous.get(id) == Status.APPROVED ? withBody : withoutBody).add(id);
+        }
+        List<Blog> blogs = new ArrayList<>(changed.size());
+        if (!withBody.isEmpty()) {
+            blogs.addAll(blogRepo.findWithBodyByIdIn(withBody));
+        }
+        if (!withoutBody.isEmpty()) {
+            blogs.addAll(blogRepo.findAllById(withoutBody));
+        }
+        for (Blog blog : blogs) {
+            BlogStatusChangedEvent event = new BlogStatusChangedEvent(blog, previous.get(blog.getId()));
+            events.publishEvent(event);
+            if (event.isPublished()) {
+                emailService.sendNewBlogNotification(blog);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.bloggy.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped JSON of hot read payloads, so a popular post or listing page is compressed once per
+ * version rather than once per request, and a hit skips fetching the JSON as well.
+ *
+ * Keys must name an immutable version of a payload (e.g. a blog ID and its updatedAt);
+ * superseded versions are never read again and fall out as the cache fills. Bounded by total
+ * compressed bytes. Hit and miss counts are exported as {@code cache.gets{cache="responses.gzip"}}.
+ */
+@Service
+public class CompressedResponseCache {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${http.precompressed.max-bytes:33554432}")
+    private long maxBytes;
+
+    private Cache<String, byte[]> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String key, byte[] value) -> value.length)
+            .recordStats()
+            .<String, byte[]>build(), "responses.gzip");
+    }
+
+    /**
+     * @param json Loads the payload on a miss
+     */
+    public byte[] gzip(String key, Supplier<String> json) {
+        return cache.get(key, k -> gzip(json.get()));
+    }
+
+    static byte[] gzip(String json) {
+        byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // In-memory streams don't throw
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,283 @@
+package com.bloggy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bloggy.event.BlogStatusChangedEvent;
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+import com.bloggy.repository.BlogRepository;
+import com.bloggy.service.analysis.TextAnalysis;
+import com.bloggy.util.LongIntHashMap;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Corpus-wide document frequencies of tag terms over APPROVED blogs.
+ *
+ * Terms are keyed by a 64-bit hash in a primitive map, so the table stays compact and an IDF
+ * lookup never touches the database. Counts move incrementally as blogs are published or
+ * withdrawn, are snapshotted to disk, and are reloaded (or rebuilt from the DB if the snapshot
+ * is missing or stale) at startup.
+ */
+@Service
+public class DocumentFrequencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentFrequencyService.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x42494446; // "BIDF"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    @Autowired
+    private BlogRepository blogRepo;
+
+    @Value("${tags.idf.snapshot-path:data/document-frequencies.bin}")
+    private String snapshotPath;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongIntHashMap frequencies = new LongIntHashMap(16384);
+    private long documents;
+    private volatile boolean dirty;
+
+    /**
+     * Smoothed inverse document frequency: ln((N + 1) / (df + 1)) + 1.
+     * Returns 1 for every term while the corpus is empty.
+     * @param terms Distinct terms, in the order the scores are wanted
+     * @return IDF per term
+     */
+    public double[] idf(Collection<String> terms) {
+        double[] idf = new double[terms.size()];
+        lock.readLock().lock();
+        try {
+            double n = documents + 1;
+            int i = 0;
+            for (String term : terms) {
+                idf[i++] = Math.log(n / (frequencies.get(hash(term)) + 1)) + 1;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return idf;
+    }
+
+    public long getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return documents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return frequencies.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // After commit, so counts never include a change that rolls back
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(BlogStatusChangedEvent event) {
+        if (event.isPublished()) {
+            addDocument(event.getBlog());
+        } else if (event.isUnpublished()) {
+            // After an edit the blog holds the new text, but the counts hold the old one
+            update(distinctTerms(event.getPreviousTitle(), event.getPreviousContent()), -1);
+        } else if (event.isRevised()) {
+            update(distinctTerms(event.getPreviousTitle(), event.getPreviousContent()), -1);
+            addDocument(event.getBlog());
+        }
+    }
+
+    public void addDocument(Blog blog) {
+        update(distinctTerms(blog), 1);
+    }
+
+    /** Call when an APPROVED blog is rejected or deleted */
+    public void removeDocument(Blog blog) {
+        update(distinctTerms(blog), -1);
+    }
+
+    private void update(Set<String> terms, int delta) {
+        lock.writeLock().lock();
+        try {
+            for (String term : terms) {
+                frequencies.addTo(hash(term), delta);
+            }
+            documents = Math.max(0, documents + delta);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Set<String> distinctTerms(Blog blog) {
+        return distinctTerms(blog.getTitle(), blog.getContent());
+    }
+
+    private Set<String> distinctTerms(String title, String content) {
+        return new HashSet<>(TfIdfTagGenerator.terms(TextAnalysis.of(title, content)));
+    }
+
+    /**
+     * Load the snapshot; rebuild from the DB if it is missing or does not match the approved count
+     */
+    // Before the background builders (related posts) that read IDF
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        long approved = blogRepo.countByStatus(Status.APPROVED);
+        Path path = Paths.get(snapshotPath);
+        if (Files.exists(path)) {
+            try {
+                readSnapshot(path);
+                if (getDocumentCount() == approved) {
+                    log.info("Loaded document frequencies: {} blogs, {} terms", approved, getTermCount());
+                    return;
+                }
+                log.info("Document frequency snapshot is stale, rebuilding");
+            } catch (IOException e) {
+                log.warn("Failed to read document frequency snapshot, rebuilding", e);
+            }
+        }
+        rebuild();
+    }
+
+    /**
+     * Recount from all APPROVED blogs, a page at a time
+     */
+    public void rebuild() {
+        LongIntHashMap rebuilt = new LongIntHashMap(16384);
+        long count = 0;
+        PageRequest page = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+        Slice<Blog> slice;
+        do {
+            slice = blogRepo.findByStatus(Status.APPROVED, page);
+            for (Blog blog : slice) {
+                for (String term : distinctTerms(blog)) {
+                    rebuilt.addTo(hash(term), 1);
+                }
+                count++;
+            }
+            page = page.next();
+        } while (slice.hasNext());
+
+        lock.writeLock().lock();
+        try {
+            frequencies = rebuilt;
+            documents = count;
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        snapshot();
+        log.info("Rebuilt document frequencies: {} blogs, {} terms", count, getTermCount());
+    }
+
+    @Scheduled(fixedDelayString = "${tags.idf.snapshot-interval-ms:60000}")
+    public void snapshotIfDirty() {
+        if (dirty) {
+            snapshot();
+        }
+    }
+
+    @PreDestroy
+    public void snapshot() {
+        Path path = Paths.get(snapshotPath);
+        lock.readLock().lock();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(documents);
+                out.writeInt(frequencies.size());
+                IOException[] failure = new IOException[1];
+                frequencies.forEach((key, value) -> {
+                    try {
+                        out.writeLong(key);
+                        out.writeInt(value);
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                });
+                if (failure[0] != null) {
+                    throw failure[0];
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            log.warn("Failed to write document frequency snapshot", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void readSnapshot(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unrecognized snapshot format");
+            }
+            long docs = in.readLong();
+            int size = in.readInt();
+            LongIntHashMap loaded = new LongIntHashMap(size);
+            for (int i = 0; i < size; i++) {
+                loaded.put(in.readLong(), in.readInt());
+            }
+            lock.writeLock().lock();
+            try {
+                frequencies = loaded;
+                documents = docs;
+                dirty = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /** 64-bit FNV-1a; never returns the map's reserved key 0 */
+    static long hash(String term) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < term.length(); i++) {
+            h ^= term.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h == 0 ? 1 : h;
+    }
+}
@@ -1,57 +1,44 @@
 package com.bloggy.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import com.bloggy.model.Blog;
-import com.bloggy.repository.FollowRepository;
 
-import java.util.List;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
 
 @Service
 public class EmailService {
 
+    private static final Logger log = LoggerFactory.getLogger(EmailService.class);
+
+    // Every email metric is a plain Counter tagged with the kind of email, "welcome" or "follower"
+    private static final Map<String, String> DESCRIPTIONS = Map.of(
+        "bloggy.email.sent", "Emails accepted by the SMTP server",
+        "bloggy.email.retried", "Emails sent again after the SMTP server refused them",
+        "bloggy.email.failed", "Emails given up on");
+
     @Autowired
     private JavaMailSender mailSender;
 
     @Autowired
-    private FollowRepository followRepo;
+    private FollowerNotificationService followerNotifications;
 
-    @Async("workerExecutor")
-    public void sendNewBlogNotification(Blog blog) {
-        List<String> followerEmails = followRepo.findFollowerEmailsByAuthorName(blog.getAuthor());
-        
-        if (followerEmails.isEmpty()) {
-            System.out.println("No followers to notify for author: " + blog.getAuthor());
-            return;
-        }
+    @Autowired
+    private MeterRegistry registry;
 
-        for (String email : followerEmails) {
-            try {
-                SimpleMailMessage message = new SimpleMailMessage();
-                message.setFrom("cloudykumar2004@gmail.com");
-                message.setTo(email);
-                message.setSubject("🖊️ New Blog from " + blog.getAuthor() + " on Bloggy!");
-                message.setText(
-                    "Hi there!\n\n" +
-                    blog.getAuthor() + " just published a new blog post:\n\n" +
-                    "📝 " + blog.getTitle() + "\n\n" +
-                    blog.getContent().substring(0, Math.min(200, blog.getContent().length())) + "...\n\n" +
-                    "Read more at: http://localhost:3000/blog/" + blog.getId() + "\n\n" +
-                    "---\n" +
-                    "You're receiving this because you follow " + blog.getAuthor() + " on Bloggy.\n" +
-                    "Unfollow from your profile to stop receiving these emails."
-                );
-                
-                mailSender.send(message);
-                System.out.println("✉️ Email sent to: " + email);
-            } catch (Exception e) {
-                System.err.println("Failed to send email to " + email + ": " + e.getMessage());
-            }
-        }
+    /**
+     * Notify the author's followers; returns at once, sending happens on the email executor
+     */
+    public void sendNewBlogNotification(Blog blog) {
+        followerNotifications.notifyFollowers(blog);
     }
 
     public void sendWelcomeEmail(String toEmail, String name) {
@@ -74,10 +61,23 @@ public class EmailService {
             );
             
             mailSender.send(message);
-            System.out.println("✉️ Welcome email sent to: " + toEmail);
+            count("bloggy.email.sent");
+            log.info("Welcome email sent to {}", toEmail);
         } catch (Exception e) {
-            System.err.println("Failed to send welcome email: " + e.getMessage());
+            count("bloggy.email.failed");
+            log.warn("Failed to send welcome email to {}: {}", toEmail, e.getMessage());
         }
     }
+
+    private void count(String name) {
+        counter(registry, name, "welcome").increment();
+    }
+
+    static Counter counter(MeterRegistry registry, String name, String type) {
+        return Counter.builder(name)
+            .tag("type", type)
+            .description(DESCRIPTIONS.get(name))
+            .register(registry);
+    }
 }
 
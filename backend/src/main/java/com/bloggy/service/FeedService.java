@@ -0,0 +1,338 @@
+package com.bloggy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import com.bloggy.dto.BlogCursor;
+import com.bloggy.dto.BlogSummary;
+import com.bloggy.dto.CursorPage;
+import com.bloggy.dto.FollowerRef;
+import com.bloggy.event.BlogStatusChangedEvent;
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+import com.bloggy.repository.BlogRepository;
+import com.bloggy.repository.FollowRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Home timelines: the APPROVED posts of the authors a user follows, newest first.
+ *
+ * Each user's timeline is a Redis sorted set of blog IDs scored by creation time (microseconds),
+ * capped at {@code feed.timeline.max-size}. Publishing a post pushes it into the timelines of
+ * the author's followers (fan-out on write), except for authors with at least
+ * {@code feed.fanout.max-followers} followers: their posts go only to the author's own timeline,
+ * which readers merge in (fan-out on read). A read is therefore a couple of range queries plus
+ * one summary query, however many authors the user follows.
+ *
+ * Timelines are only written while they exist; a missing one (new user, expired, changed
+ * follows) is rebuilt from the database on its next read. Withdrawn posts and unfollowed
+ * authors are filtered out at read time. If Redis is unreachable, feeds are read from MySQL.
+ */
+@Service
+public class FeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedService.class);
+
+    private static final String PREFIX = "bloggy:feed:";
+    private static final String USER_KEY = PREFIX + "user:";
+    private static final String AUTHOR_KEY = PREFIX + "author:";
+    // Marks a rebuilt timeline that has no posts, so it is not rebuilt on every read
+    private static final String EMPTY_MARKER = "0";
+    private static final int FANOUT_BATCH = 500;
+    private static final int MAX_MERGED_AUTHORS = 100;
+    // Extra entries read past the cursor to step over posts with the same timestamp
+    private static final int TIE_SLACK = 16;
+    private static final long REDIS_RETRY_AFTER_MS = 10_000;
+
+    // Adds to timelines that exist and trims them to the newest ARGV[3] entries
+    private static final RedisScript<Long> PUSH_SCRIPT = new DefaultRedisScript<>(
+        "local n = 0\n"
+        + "for _, key in ipairs(KEYS) do\n"
+        + "  if redis.call('EXISTS', key) == 1 then\n"
+        + "    redis.call('ZADD', key, ARGV[1], ARGV[2])\n"
+        + "    redis.call('ZREMRANGEBYRANK', key, 0, -tonumber(ARGV[3]) - 1)\n"
+        + "    n = n + 1\n"
+        + "  end\n"
+        + "end\n"
+        + "return n", Long.class);
+
+    @Autowired
+    private StringRedisTemplate redis;
+
+    @Autowired
+    private BlogRepository blogRepo;
+
+    @Autowired
+    private FollowRepository followRepo;
+
+    @Autowired
+    private FollowService followService;
+
+    @Value("${feed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${feed.timeline.max-size:500}")
+    private int maxSize;
+
+    @Value("${feed.timeline.ttl-hours:168}")
+    private long ttlHours;
+
+    @Value("${feed.fanout.max-followers:10000}")
+    private long maxFanoutFollowers;
+
+    private final AtomicLong postsFannedOut = new AtomicLong();
+    private final AtomicLong timelinesWritten = new AtomicLong();
+    private final AtomicLong timelinesRebuilt = new AtomicLong();
+    private final AtomicLong databaseReads = new AtomicLong();
+
+    private volatile long redisRetryAt;
+
+    /**
+     * @param after Position of the last post already shown
+     * @param size Posts per page
+     */
+    public CursorPage<BlogSummary> getFeed(Long userId, BlogCursor after, int size) {
+        if (!redisAvailable()) {
+            return readFromDatabase(userId, after, size);
+        }
+        try {
+            String key = USER_KEY + userId;
+            if (Boolean.TRUE.equals(redis.hasKey(key))) {
+                redis.expire(key, Duration.ofHours(ttlHours));
+            } else {
+                rebuild(key, blogRepo.findFeed(userId, Status.APPROVED,
+                    BlogCursor.FIRST.getCreatedAt(), BlogCursor.FIRST.getId(), Limit.of(maxSize)));
+            }
+
+            List<Entry> candidates = range(key, after, size + 1);
+            // Past the end of a full timeline: older posts are only in the database
+            if (candidates.size() <= size && redis.opsForZSet().zCard(key) >= maxSize) {
+                return readFromDatabase(userId, after, size);
+            }
+            for (String author : followRepo.findFollowedAuthorsWithFollowers(userId, maxFanoutFollowers,
+                    Limit.of(MAX_MERGED_AUTHORS))) {
+                candidates.addAll(range(authorTimeline(author), after, size + 1));
+            }
+            return toPage(userId, candidates, size);
+        } catch (RuntimeException e) {
+            markRedisDown(e);
+            return readFromDatabase(userId, after, size);
+        }
+    }
+
+    /**
+     * Drop a user's timeline so it is rebuilt with their current follows; call after follow/unfollow
+     */
+    public void invalidate(Long userId) {
+        if (!redisAvailable()) {
+            return;
+        }
+        try {
+            redis.delete(USER_KEY + userId);
+        } catch (RuntimeException e) {
+            markRedisDown(e);
+        }
+    }
+
+    @Async("feedExecutor")
+    @EventListener
+    public void onStatusChanged(BlogStatusChangedEvent event) {
+        if (!redisAvailable() || !(event.isPublished() || event.isUnpublished())) {
+            return;
+        }
+        Blog blog = event.getBlog();
+        try {
+            if (event.isPublished()) {
+                fanOut(blog);
+            } else {
+                // Follower timelines drop it when read
+                redis.opsForZSet().remove(AUTHOR_KEY + blog.getAuthor(), blog.getId().toString());
+            }
+        } catch (RuntimeException e) {
+            markRedisDown(e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("postsFannedOut", postsFannedOut.get());
+        stats.put("timelinesWritten", timelinesWritten.get());
+        stats.put("timelinesRebuilt", timelinesRebuilt.get());
+        stats.put("databaseReads", databaseReads.get());
+        stats.put("maxFanoutFollowers", maxFanoutFollowers);
+        return stats;
+    }
+
+    private void fanOut(Blog blog) {
+        String score = String.valueOf(micros(blog.getCreatedAt()));
+        String member = blog.getId().toString();
+        String limit = String.valueOf(maxSize);
+        redis.execute(PUSH_SCRIPT, List.of(AUTHOR_KEY + blog.getAuthor()), score, member, limit);
+        postsFannedOut.incrementAndGet();
+
+        if (followService.getFollowerCount(blog.getAuthor()) >= maxFanoutFollowers) {
+            return; // Readers merge this author's timeline instead
+        }
+        long afterId = 0;
+        List<FollowerRef> page;
+        do {
+            page = followRepo.findFollowersAfter(blog.getAuthor(), afterId, Limit.of(FANOUT_BATCH));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<String> keys = page.stream().map(f -> USER_KEY + f.getUserId()).toList();
+            Long written = redis.execute(PUSH_SCRIPT, keys, score, member, limit);
+            timelinesWritten.addAndGet(written != null ? written : 0);
+            afterId = page.get(page.size() - 1).getFollowId();
+        } while (page.size() == FANOUT_BATCH);
+    }
+
+    /** Timeline of one author, loaded from the database if Redis lost it */
+    private String authorTimeline(String author) {
+        String key = AUTHOR_KEY + author;
+        if (!Boolean.TRUE.equals(redis.hasKey(key))) {
+            List<BlogSummary> rows = blogRepo.findSummariesByAuthor(author,
+                BlogCursor.FIRST.getCreatedAt(), BlogCursor.FIRST.getId(), Limit.of(maxSize)).stream()
+                .filter(b -> b.getStatus() == Status.APPROVED)
+                .toList();
+            rebuild(key, rows);
+        }
+        return key;
+    }
+
+    private void rebuild(String key, List<BlogSummary> rows) {
+        Set<TypedTuple<String>> tuples = new HashSet<>();
+        tuples.add(TypedTuple.of(EMPTY_MARKER, 0.0));
+        for (BlogSummary row : rows) {
+            tuples.add(TypedTuple.of(row.getId().toString(), (double) micros(row.getCreatedAt())));
+        }
+        redis.opsForZSet().add(key, tuples);
+        redis.expire(key, Duration.ofHours(ttlHours));
+        timelinesRebuilt.incrementAndGet();
+    }
+
+    /** Entries strictly after the cursor, newest first */
+    private List<Entry> range(String key, BlogCursor after, int count) {
+        long max = micros(after.getCreatedAt());
+        Set<TypedTuple<String>> tuples = redis.opsForZSet()
+            .reverseRangeByScoreWithScores(key, Double.NEGATIVE_INFINITY, max, 0, count + TIE_SLACK);
+        List<Entry> entries = new ArrayList<>();
+        if (tuples == null) {
+            return entries;
+        }
+        for (TypedTuple<String> tuple : tuples) {
+            if (EMPTY_MARKER.equals(tuple.getValue()) || tuple.getScore() == null) {
+                continue;
+            }
+            long id = Long.parseLong(tuple.getValue());
+            long score = tuple.getScore().longValue();
+            if (score == max && id >= after.getId()) {
+                continue;
+            }
+            entries.add(new Entry(id, score));
+        }
+        return entries;
+    }
+
+    private CursorPage<BlogSummary> toPage(Long userId, List<Entry> candidates, int size) {
+        candidates.sort(Comparator.comparingLong((Entry e) -> e.micros).thenComparingLong(e -> e.blogId).reversed());
+        List<Entry> window = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (Entry entry : candidates) {
+            if (window.size() > size) {
+                break;
+            }
+            // A popular author's post can also be in the user's own timeline
+            if (seen.add(entry.blogId)) {
+                window.add(entry);
+            }
+        }
+        List<Entry> shown = window.subList(0, Math.min(size, window.size()));
+
+        Map<Long, BlogSummary> found = shown.isEmpty() ? Map.of()
+            : blogRepo.findSummariesByIdIn(shown.stream().map(e -> e.blogId).toList()).stream()
+                .collect(Collectors.toMap(BlogSummary::getId, Function.identity()));
+        Set<String> followed = followService.findFollowed(userId,
+            found.values().stream().map(BlogSummary::getAuthor).collect(Collectors.toSet()));
+
+        List<BlogSummary> items = new ArrayList<>();
+        for (Entry entry : shown) {
+            BlogSummary summary = found.get(entry.blogId);
+            if (summary != null && summary.getStatus() == Status.APPROVED && followed.contains(summary.getAuthor())) {
+                items.add(summary);
+            }
+        }
+        String nextCursor = null;
+        if (window.size() > size) {
+            Entry last = shown.get(size - 1);
+            nextCursor = new BlogCursor(fromMicros(last.micros), last.blogId).encode();
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /** Fan-out on read straight from MySQL */
+    private CursorPage<BlogSummary> readFromDatabase(Long userId, BlogCursor after, int size) {
+        databaseReads.incrementAndGet();
+        List<BlogSummary> rows = blogRepo.findFeed(userId, Status.APPROVED,
+            after.getCreatedAt(), after.getId(), Limit.of(size + 1));
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            BlogSummary last = rows.get(size - 1);
+            nextCursor = new BlogCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    private static long micros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), time);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+            Math.floorMod(micros, 1_000_000) * 1000, ZoneOffset.UTC);
+    }
+
+    private boolean redisAvailable() {
+        return enabled && System.currentTimeMillis() >= redisRetryAt;
+    }
+
+    private void markRedisDown(RuntimeException e) {
+        redisRetryAt = System.currentTimeMillis() + REDIS_RETRY_AFTER_MS;
+        log.warn("Redis unavailable, serving feeds from the database: {}", e.getMessage());
+    }
+
+    private static final class Entry {
+        final long blogId;
+        final long micros;
+
+        Entry(long blogId, long micros) {
+            this.blogId = blogId;
+            this.micros = micros;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.bloggy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bloggy.model.Follow;
+import com.bloggy.model.FollowerCount;
+import com.bloggy.model.User;
+import com.bloggy.repository.FollowRepository;
+import com.bloggy.repository.FollowerCountRepository;
+import com.bloggy.repository.FollowingCountRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Follow/unfollow with denormalized follower and following counters.
+ *
+ * The follow row and both counters change in one transaction; the counters are bumped with
+ * an atomic upsert, so concurrent follows never lose an update. Counts are served from a
+ * small in-process cache with a TTL, evicted locally after commit (other instances catch up
+ * within the TTL). At startup the counter tables are rebuilt from follows if their totals
+ * disagree with it: on first deploy, or after drift such as a follow deleted behind our back.
+ */
+@Service
+public class FollowService {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowService.class);
+
+    @Autowired
+    private FollowRepository followRepo;
+
+    @Autowired
+    private FollowerCountRepository followerCountRepo;
+
+    @Autowired
+    private FollowingCountRepository followingCountRepo;
+
+    @Value("${follow.count-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${follow.count-cache.max-size:100000}")
+    private int maxSize;
+
+    // Rebuild even when the totals agree, to repair drift that cancels out across authors
+    @Value("${follow.counters.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    private final ConcurrentMap<String, CachedCount> followerCounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, CachedCount> followingCounts = new ConcurrentHashMap<>();
+
+    /**
+     * @return false if the user already follows the author
+     * @throws org.springframework.dao.DataIntegrityViolationException if a concurrent request won
+     */
+    @Transactional
+    public boolean follow(User user, String authorName) {
+        if (followRepo.existsByFollowerIdAndAuthorName(user.getId(), authorName)) {
+            return false;
+        }
+        Follow follow = new Follow();
+        follow.setFollower(user);
+        follow.setAuthorName(authorName);
+        // Flush now so a duplicate trips the unique key before the counters move
+        followRepo.saveAndFlush(follow);
+        adjustCounters(user.getId(), authorName, 1);
+        return true;
+    }
+
+    /**
+     * @return false if the user was not following the author
+     */
+    @Transactional
+    public boolean unfollow(Long userId, String authorName) {
+        if (followRepo.deleteFollow(userId, authorName) == 0) {
+            return false;
+        }
+        adjustCounters(userId, authorName, -1);
+        return true;
+    }
+
+    public long getFollowerCount(String authorName) {
+        return getFollowerCounts(List.of(authorName)).get(authorName);
+    }
+
+    /**
+     * @return Follower count per author, in the given order; misses are read in one query
+     */
+    public Map<String, Long> getFollowerCounts(Collection<String> authorNames) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (String name : authorNames) {
+            CachedCount cached = followerCounts.get(name);
+            if (cached != null && cached.expiresAt > now) {
+                counts.put(name, cached.value);
+            } else {
+                counts.put(name, 0L);
+                misses.add(name);
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<String, Long> loaded = new LinkedHashMap<>();
+            for (String name : misses) {
+                loaded.put(name, 0L); // No row yet: nobody follows them
+            }
+            for (FollowerCount row : followerCountRepo.findByAuthorNameIn(misses)) {
+                loaded.put(row.getAuthorName(), row.getFollowers());
+            }
+            trim(followerCounts);
+            loaded.forEach((name, value) -> {
+                counts.put(name, value);
+                followerCounts.put(name, new CachedCount(value, now + ttlMs));
+            });
+        }
+        return counts;
+    }
+
+    public long getFollowingCount(Long userId) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = followingCounts.get(userId);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.value;
+        }
+        long value = followingCountRepo.findById(userId).map(c -> c.getFollowing()).orElse(0L);
+        trim(followingCounts);
+        followingCounts.put(userId, new CachedCount(value, now + ttlMs));
+        return value;
+    }
+
+    public boolean isFollowing(Long userId, String authorName) {
+        return followRepo.existsByFollowerIdAndAuthorName(userId, authorName);
+    }
+
+    /**
+     * @return The subset of authorNames the user follows
+     */
+    public Set<String> findFollowed(Long userId, Collection<String> authorNames) {
+        if (authorNames.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(followRepo.findFollowedAuthorNames(userId, authorNames));
+    }
+
+    /**
+     * Rebuild the counter tables from follows when they are out of step with it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillCounters() {
+        if (!countersNeedRebuild()) {
+            return;
+        }
+        followerCountRepo.deleteAllInBatch();
+        followingCountRepo.deleteAllInBatch();
+        int authors = followerCountRepo.rebuild();
+        int users = followingCountRepo.rebuild();
+        followerCounts.clear();
+        followingCounts.clear();
+        log.info("Backfilled follow counters: {} authors, {} users", authors, users);
+    }
+
+    /**
+     * Every follow adds one to each table, so both must sum to the number of follows;
+     * empty tables next to existing follows are the first-deploy case of the same check
+     */
+    boolean countersNeedRebuild() {
+        if (rebuildOnStartup) {
+            return true;
+        }
+        long follows = followRepo.count();
+        return followerCountRepo.sumFollowers() != follows || followingCountRepo.sumFollowing() != follows;
+    }
+
+    private void adjustCounters(Long userId, String authorName, long delta) {
+        followerCountRepo.increment(authorName, delta);
+        followingCountRepo.increment(userId, delta);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                followerCounts.remove(authorName);
+                followingCounts.remove(userId);
+            }
+        });
+    }
+
+    // Bounded without an eviction policy: start over when full
+    private void trim(Map<?, CachedCount> cache) {
+        if (cache.size() >= maxSize) {
+            cache.clear();
+        }
+    }
+
+    private static final class CachedCount {
+        final long value;
+        final long expiresAt;
+
+        CachedCount(long value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.bloggy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import com.bloggy.dto.FollowerEmail;
+import com.bloggy.model.Blog;
+import com.bloggy.repository.FollowRepository;
+import com.bloggy.util.RateLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emails an author's followers about a new blog.
+ *
+ * Followers are read a page at a time, the message text is rendered once per blog, and each
+ * page goes out as one {@code send(MimeMessage...)} call so a single SMTP connection carries
+ * the whole batch. Sending is rate limited, and recipients the server refused are retried
+ * with backoff a few times before being given up on. Runs on its own emailExecutor so a big
+ * audience never holds up moderation.
+ */
+@Service
+public class FollowerNotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowerNotificationService.class);
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private FollowRepository followRepo;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${email.from:${spring.mail.username:}}")
+    private String from;
+
+    @Value("${email.fanout.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.fanout.rate-per-second:20}")
+    private double ratePerSecond;
+
+    @Value("${email.fanout.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${email.fanout.retry-delay-ms:2000}")
+    private long retryDelayMs;
+
+    @Value("${email.link-base-url:http://localhost:3000}")
+    private String linkBaseUrl;
+
+    private RateLimiter rateLimiter;
+
+    private Counter sent;
+    private Counter retried;
+    private Counter failed;
+
+    @PostConstruct
+    public void init() {
+        rateLimiter = new RateLimiter(ratePerSecond);
+        sent = EmailService.counter(registry, "bloggy.email.sent", "follower");
+        retried = EmailService.counter(registry, "bloggy.email.retried", "follower");
+        failed = EmailService.counter(registry, "bloggy.email.failed", "follower");
+    }
+
+    @Async("emailExecutor")
+    public void notifyFollowers(Blog blog) {
+        deliver(blog);
+    }
+
+    /**
+     * Send the notification to every follower of the blog's author, on the calling thread
+     * @return Recipients reached and recipients given up on
+     */
+    public Result deliver(Blog blog) {
+        Template template = Template.render(blog, linkBaseUrl);
+        Result result = new Result();
+        Map<String, Integer> retries = new LinkedHashMap<>();
+
+        long afterId = 0;
+        List<FollowerEmail> page;
+        do {
+            page = followRepo.findFollowerEmailsAfter(blog.getAuthor(), afterId, Limit.of(batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<String> recipients = new ArrayList<>(page.size());
+            for (FollowerEmail follower : page) {
+                recipients.add(follower.getEmail());
+            }
+            for (String email : sendBatch(template, recipients, result)) {
+                retries.put(email, 1);
+            }
+            afterId = page.get(page.size() - 1).getFollowId();
+        } while (page.size() == batchSize);
+
+        // Retry rounds for recipients the server refused, with doubling delay
+        long delay = retryDelayMs;
+        while (!retries.isEmpty() && !Thread.currentThread().isInterrupted()) {
+            sleep(delay);
+            delay *= 2;
+            List<String> due = new ArrayList<>(retries.keySet());
+            retried.increment(due.size());
+            List<String> stillFailing = new ArrayList<>();
+            for (int i = 0; i < due.size(); i += batchSize) {
+                stillFailing.addAll(sendBatch(template, due.subList(i, Math.min(due.size(), i + batchSize)), result));
+            }
+            Map<String, Integer> next = new LinkedHashMap<>();
+            for (String email : stillFailing) {
+                int attempts = retries.get(email) + 1;
+                if (attempts < maxAttempts) {
+                    next.put(email, attempts);
+                } else {
+                    result.failedRecipients.add(email);
+                }
+            }
+            retries = next;
+        }
+        result.failedRecipients.addAll(retries.keySet()); // Interrupted mid-retry
+
+        sent.increment(result.sent);
+        failed.increment(result.failedRecipients.size());
+        log.info("Notified {} followers of {} about blog {}, {} failed", result.sent, blog.getAuthor(), blog.getId(),
+            result.failedRecipients.size());
+        return result;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sent", (long) sent.count());
+        stats.put("retried", (long) retried.count());
+        stats.put("failed", (long) failed.count());
+        return stats;
+    }
+
+    /**
+     * Counts accepted messages into result
+     * @return Recipients whose message was not accepted and may be retried
+     */
+    private List<String> sendBatch(Template template, List<String> recipients, Result result) {
+        Map<MimeMessage, String> batch = new IdentityHashMap<>();
+        List<String> rejected = new ArrayList<>();
+        for (String email : recipients) {
+            try {
+                batch.put(template.toMessage(mailSender.createMimeMessage(), from, email), email);
+            } catch (MessagingException e) {
+                // Malformed address; retrying won't help
+                log.warn("Skipping follower email {}: {}", email, e.getMessage());
+                result.failedRecipients.add(email);
+            }
+        }
+        if (batch.isEmpty()) {
+            return rejected;
+        }
+
+        try {
+            rateLimiter.acquire(batch.size());
+            mailSender.send(batch.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // Partial failure: only the listed messages were not delivered
+            for (Object message : e.getFailedMessages().keySet()) {
+                String email = batch.get(message);
+                if (email != null) {
+                    rejected.add(email);
+                }
+            }
+            if (rejected.isEmpty()) {
+                rejected.addAll(batch.values());
+            }
+        } catch (MailException e) {
+            // Could not connect or authenticate: the whole batch is undelivered
+            log.warn("Failed to send follower emails: {}", e.getMessage());
+            rejected.addAll(batch.values());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.addAll(batch.values());
+        }
+        result.sent += batch.size() - rejected.size();
+        return rejected;
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class Result {
+        private long sent;
+        private final List<String> failedRecipients = new ArrayList<>();
+
+        public long getSent() { return sent; }
+        public List<String> getFailedRecipients() { return failedRecipients; }
+    }
+
+    /** Subject and body rendered once per blog; only the recipient changes per message */
+    static final class Template {
+        final String subject;
+        final String body;
+
+        private Template(String subject, String body) {
+            this.subject = subject;
+            this.body = body;
+        }
+
+        static Template render(Blog blog, String linkBaseUrl) {
+            String snippet = blog.getSnippet() != null ? blog.getSnippet() : "";
+            String subject = "🖊️ New Blog from " + blog.getAuthor() + " on Bloggy!";
+            String body =
+                "Hi there!\n\n" +
+                blog.getAuthor() + " just published a new blog post:\n\n" +
+                "📝 " + blog.getTitle() + "\n\n" +
+                snippet + "...\n\n" +
+                "Read more at: " + linkBaseUrl + "/blog/" + blog.getId() + "\n\n" +
+                "---\n" +
+                "You're receiving this because you follow " + blog.getAuthor() + " on Bloggy.\n" +
+                "Unfollow from your profile to stop receiving these emails.";
+            return new Template(subject, body);
+        }
+
+        MimeMessage toMessage(MimeMessage message, String from, String to) throws MessagingException {
+            MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+            if (from != null && !from.isEmpty()) {
+                helper.setFrom(from);
+            }
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(body);
+            return message;
+        }
+    }
+}
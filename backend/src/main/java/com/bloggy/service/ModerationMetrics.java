@@ -0,0 +1,61 @@
+package com.bloggy.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.bloggy.event.BlogStatusChangedEvent;
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Submit-to-decision latency, from a blog's createdAt to the status that settles it:
+ * APPROVED or REVIEW from the pipeline, APPROVED or REJECTED from a moderator.
+ * Recorded as {@code bloggy.moderation.latency} tagged with outcome and decided_by.
+ */
+@Component
+public class ModerationMetrics {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @EventListener
+    public void onStatusChanged(BlogStatusChangedEvent event) {
+        Blog blog = event.getBlog();
+        Status previous = event.getPreviousStatus();
+        Status status = event.getStatus();
+        if (previous == null || previous == status || blog.getCreatedAt() == null) {
+            return;
+        }
+        String decidedBy;
+        if (previous == Status.PENDING || previous == Status.PROCESSING) {
+            if (status != Status.APPROVED && status != Status.REVIEW) {
+                return;
+            }
+            decidedBy = "pipeline";
+        } else if (previous == Status.REVIEW) {
+            if (status != Status.APPROVED && status != Status.REJECTED) {
+                return;
+            }
+            decidedBy = "moderator";
+        } else {
+            return;
+        }
+        Duration latency = Duration.between(blog.getCreatedAt(), LocalDateTime.now());
+        if (latency.isNegative()) {
+            return;
+        }
+        Timer.builder("bloggy.moderation.latency")
+            .tag("outcome", status.name().toLowerCase())
+            .tag("decided_by", decidedBy)
+            .description("Time from submission to a moderation decision")
+            .register(registry)
+            .record(latency);
+    }
+}
@@ -0,0 +1,226 @@
+package com.bloggy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bloggy.event.BlogStatusChangedEvent;
+import com.bloggy.model.Blog;
+import com.bloggy.model.JobStatus;
+import com.bloggy.model.ModerationJob;
+import com.bloggy.model.Status;
+import com.bloggy.repository.BlogRepository;
+import com.bloggy.repository.ModerationJobRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable moderation queue backed by the moderation_jobs table (outbox style).
+ *
+ * A job row is written in the same transaction as its blog, so an accepted submission is
+ * never lost. Workers on any instance claim due jobs with SELECT ... FOR UPDATE SKIP LOCKED,
+ * failed jobs are retried with exponential backoff, and jobs whose worker died are put back
+ * after a visibility timeout. Live workers renew the lease on the jobs they are running well
+ * within that timeout, so a slow moderation is never handed to a second worker.
+ */
+@Service
+public class ModerationQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(ModerationQueue.class);
+
+    @Autowired
+    private ModerationJobRepository jobRepo;
+
+    @Autowired
+    private BlogRepository blogRepo;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${moderation.queue.max-depth:10000}")
+    private long maxDepth;
+
+    @Value("${moderation.queue.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${moderation.queue.backoff-base-ms:5000}")
+    private long backoffBaseMs;
+
+    @Value("${moderation.queue.backoff-max-ms:600000}")
+    private long backoffMaxMs;
+
+    @Value("${moderation.queue.visibility-timeout-ms:300000}")
+    private long visibilityTimeoutMs;
+
+    // Queued jobs as of the last refresh; cheap to read on every submission
+    private final AtomicLong depth = new AtomicLong();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("bloggy.moderation.queue.depth", depth, AtomicLong::get)
+            .description("Queued moderation jobs as of the last refresh")
+            .register(registry);
+    }
+
+    /**
+     * Save a new blog as PENDING together with its moderation job
+     */
+    @Transactional
+    public Blog submit(Blog blog) {
+        blog.setStatus(Status.PENDING);
+        Blog saved = blogRepo.save(blog);
+        jobRepo.save(new ModerationJob(saved.getId()));
+        depth.incrementAndGet();
+        // Pushed to subscribers only once this commits; the worker can't claim the job before then
+        events.publishEvent(new BlogStatusChangedEvent(saved, null));
+        return saved;
+    }
+
+    /** True when submissions should be turned away until workers catch up */
+    public boolean isSaturated() {
+        return depth.get() >= maxDepth;
+    }
+
+    public void refreshDepth() {
+        depth.set(jobRepo.countByStatus(JobStatus.QUEUED));
+    }
+
+    /**
+     * Claim up to limit due jobs for this worker; concurrent claimers never get the same job
+     */
+    @Transactional
+    public List<ModerationJob> claim(String workerId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ModerationJob> jobs = jobRepo.lockNextDue(now, limit);
+        for (ModerationJob job : jobs) {
+            job.setStatus(JobStatus.RUNNING);
+            job.setLockedBy(workerId);
+            job.setLockedAt(now);
+            job.setAttempts(job.getAttempts() + 1);
+        }
+        depth.addAndGet(-jobs.size());
+        return jobs;
+    }
+
+    /**
+     * Renew the lease on jobs the worker is still running
+     */
+    @Transactional
+    public void renew(String workerId, Collection<Long> jobIds) {
+        jobRepo.renewClaims(jobIds, workerId, LocalDateTime.now());
+    }
+
+    @Transactional
+    public void complete(ModerationJob job) {
+        jobRepo.deleteClaimed(job.getId(), job.getLockedBy());
+    }
+
+    /**
+     * Schedule a retry, or give up after max attempts
+     * @return true if the job failed permanently
+     */
+    @Transactional
+    public boolean fail(ModerationJob claimed, Exception error) {
+        ModerationJob job = jobRepo.findById(claimed.getId()).orElse(null);
+        if (job == null || job.getStatus() != JobStatus.RUNNING || !claimed.getLockedBy().equals(job.getLockedBy())) {
+            return false; // Reclaimed by the reaper meanwhile; the new owner decides
+        }
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        job.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+        job.setLockedBy(null);
+        job.setLockedAt(null);
+        if (job.getAttempts() >= maxAttempts) {
+            job.setStatus(JobStatus.FAILED);
+            return true;
+        }
+        job.setStatus(JobStatus.QUEUED);
+        job.setAvailableAt(LocalDateTime.now().plusNanos(backoffMs(job.getAttempts()) * 1_000_000));
+        return false;
+    }
+
+    /**
+     * Hand a claimed job back untouched (e.g. the executor was full)
+     */
+    @Transactional
+    public void release(ModerationJob claimed) {
+        jobRepo.findById(claimed.getId()).ifPresent(job -> {
+            job.setStatus(JobStatus.QUEUED);
+            job.setLockedBy(null);
+            job.setLockedAt(null);
+            job.setAttempts(Math.max(0, job.getAttempts() - 1));
+        });
+    }
+
+    /**
+     * Put back jobs whose worker crashed, or stopped renewing their lease, past the visibility timeout
+     */
+    @Scheduled(fixedDelayString = "${moderation.queue.reaper-interval-ms:60000}")
+    @Transactional
+    public void recoverStuckJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(visibilityTimeoutMs * 1_000_000);
+        List<ModerationJob> stuck = jobRepo.findByStatusAndLockedAtBefore(JobStatus.RUNNING, cutoff);
+        for (ModerationJob job : stuck) {
+            job.setStatus(JobStatus.QUEUED);
+            job.setLockedBy(null);
+            job.setLockedAt(null);
+            job.setAvailableAt(LocalDateTime.now());
+            job.setLastError("Recovered after visibility timeout");
+        }
+        if (!stuck.isEmpty()) {
+            log.warn("Recovered {} stuck moderation jobs", stuck.size());
+        }
+    }
+
+    /**
+     * Give blogs stranded in PENDING/PROCESSING (e.g. by the old in-memory executor) a job
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void enqueueOrphans() {
+        List<Long> orphans = jobRepo.findOrphanedBlogIds();
+        for (Long blogId : orphans) {
+            jobRepo.save(new ModerationJob(blogId));
+        }
+        if (!orphans.isEmpty()) {
+            log.info("Queued {} blogs stuck in PENDING/PROCESSING", orphans.size());
+        }
+        refreshDepth();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", jobRepo.countByStatus(JobStatus.QUEUED));
+        stats.put("running", jobRepo.countByStatus(JobStatus.RUNNING));
+        stats.put("failed", jobRepo.countByStatus(JobStatus.FAILED));
+        stats.put("maxDepth", maxDepth);
+        stats.put("saturated", isSaturated());
+        return stats;
+    }
+
+    /** Exponential backoff with +/-20% jitter so retries don't arrive in waves */
+    private long backoffMs(int attempts) {
+        long base = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempts - 1, 20));
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (base * jitter);
+    }
+}
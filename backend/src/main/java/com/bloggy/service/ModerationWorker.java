@@ -0,0 +1,147 @@
+package com.bloggy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.bloggy.model.Blog;
+import com.bloggy.model.ModerationJob;
+import com.bloggy.repository.BlogRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Pulls moderation jobs from the queue and runs them on the worker executor.
+ * A job is only claimed when one of {@code moderation.worker.concurrency} permits is free,
+ * so work waits in the durable table rather than in memory, whether the executor is a
+ * platform pool or one virtual thread per task. Raise the permits or add instances to scale.
+ * While a job runs its lease is renewed on a heartbeat, which must stay well below the queue's
+ * visibility timeout.
+ */
+@Component
+public class ModerationWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(ModerationWorker.class);
+
+    @Autowired
+    private ModerationQueue queue;
+
+    @Autowired
+    private BlogRepository blogRepo;
+
+    @Autowired
+    private BlogProcessingService processingService;
+
+    @Autowired
+    @Qualifier("workerExecutor")
+    private TaskExecutor executor;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${moderation.worker.batch-size:10}")
+    private int batchSize;
+
+    @Value("${moderation.worker.concurrency:${worker.thread-pool.size:8}}")
+    private int concurrency;
+
+    private Semaphore permits;
+
+    // Claimed jobs this instance is running, by ID
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    private final String workerId = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(concurrency);
+        // Jobs claimed and running or waiting on the executor; works for virtual threads too
+        Gauge.builder("bloggy.moderation.worker.busy", permits, p -> concurrency - p.availablePermits())
+            .description("Moderation jobs in flight on this instance")
+            .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${moderation.worker.poll-interval-ms:500}")
+    public void poll() {
+        queue.refreshDepth();
+        int free;
+        while ((free = permits.availablePermits()) > 0) {
+            // Only this (scheduler) thread acquires, so the permits seen are there to take
+            int wanted = Math.min(free, batchSize);
+            permits.acquireUninterruptibly(wanted);
+            List<ModerationJob> jobs;
+            try {
+                jobs = queue.claim(workerId, wanted);
+            } catch (RuntimeException e) {
+                permits.release(wanted);
+                throw e;
+            }
+            permits.release(wanted - jobs.size());
+            for (ModerationJob job : jobs) {
+                try {
+                    executor.execute(() -> {
+                        try {
+                            run(job);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (TaskRejectedException e) {
+                    permits.release();
+                    queue.release(job);
+                }
+            }
+            if (jobs.size() < wanted) {
+                return; // Drained everything that is due
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${moderation.worker.heartbeat-interval-ms:60000}")
+    public void heartbeat() {
+        if (!running.isEmpty()) {
+            queue.renew(workerId, List.copyOf(running));
+        }
+    }
+
+    private void run(ModerationJob job) {
+        running.add(job.getId());
+        try {
+            Blog blog = blogRepo.findWithBodyById(job.getBlogId()).orElse(null);
+            if (blog != null) {
+                processingService.processBlog(blog);
+            }
+            queue.complete(job);
+        } catch (Exception e) {
+            log.warn("Moderation of blog {} failed (attempt {})", job.getBlogId(), job.getAttempts(), e);
+            if (queue.fail(job, e)) {
+                processingService.sendToReview(job.getBlogId());
+            }
+        } finally {
+            running.remove(job.getId());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "worker";
+        }
+    }
+}
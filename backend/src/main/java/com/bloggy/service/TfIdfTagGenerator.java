@@ -1,13 +1,21 @@
 package com.bloggy.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.bloggy.service.analysis.BlogText;
+import com.bloggy.service.analysis.TextAnalysis;
+import com.bloggy.service.analysis.Token;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 public class TfIdfTagGenerator {
 
+    @Autowired
+    private DocumentFrequencyService documentFrequencies;
+
     // Common English stop words to filter out
     private static final Set<String> STOP_WORDS = Set.of(
         "a", "an", "the", "and", "or", "but", "in", "on", "at", "to", "for",
@@ -35,59 +43,134 @@ public class TfIdfTagGenerator {
      * @return Comma-separated tags
      */
     public String generateTags(String title, String content, int maxTags) {
-        String fullText = (title + " " + title + " " + content).toLowerCase(); // Title weighted 2x
-        
-        // Tokenize and clean
-        List<String> words = tokenize(fullText);
-        
-        if (words.isEmpty()) {
-            return "";
+        return generateTags(TextAnalysis.of(title, content), maxTags);
+    }
+
+    /**
+     * Generate tags from an already scanned blog
+     * @param text Shared analysis of title and content
+     * @param maxTags Maximum number of tags to return
+     * @return Comma-separated tags
+     */
+    public String generateTags(TextAnalysis text, int maxTags) {
+        return String.join(", ", scoreTerms(text, maxTags).keySet());
+    }
+
+    /**
+     * Generate tags from a blog's (possibly cached) paragraph statistics
+     * @param text Title and joined content stats
+     * @param maxTags Maximum number of tags to return
+     * @return Comma-separated tags, the same as from a full scan of the text
+     */
+    public String generateTags(BlogText text, int maxTags) {
+        return String.join(", ", scoreTerms(text, maxTags).keySet());
+    }
+
+    /**
+     * Highest TF-IDF terms of a blog, the same scores tags are picked by
+     * @param text Shared analysis of title and content
+     * @param maxTerms Maximum number of terms to return
+     * @return Term to TF-IDF score, highest first
+     */
+    public Map<String, Double> scoreTerms(TextAnalysis text, int maxTerms) {
+        // Title weighted 2x
+        Map<String, Integer> counts = new HashMap<>();
+        addTerms(text.getTitleTokens(), 2, counts);
+        addTerms(text.getContentTokens(), 1, counts);
+        return score(counts, maxTerms);
+    }
+
+    /**
+     * As {@link #scoreTerms(TextAnalysis, int)}, from the token counts of the content's paragraphs
+     */
+    public Map<String, Double> scoreTerms(BlogText text, int maxTerms) {
+        // Title weighted 2x
+        Map<String, Integer> counts = new HashMap<>();
+        addTerms(text.getTitleTokens(), 2, counts);
+        text.getContent().getTerms().forEach((token, count) -> {
+            String word = normalize(token, 4);
+            if (word != null) {
+                counts.merge(word, count, Integer::sum);
+            }
+        });
+        return score(counts, maxTerms);
+    }
+
+    private Map<String, Double> score(Map<String, Integer> counts, int maxTerms) {
+        if (counts.isEmpty()) {
+            return Collections.emptyMap();
         }
         
         // Calculate TF for each word
-        Map<String, Double> tfScores = calculateTF(words);
+        Map<String, Double> tfScores = calculateTF(counts);
         
-        // Calculate IDF (using word frequency in document as proxy for rarity)
-        Map<String, Double> idfScores = calculateIDF(words);
+        // Look up IDF from corpus-wide document frequencies
+        List<String> terms = new ArrayList<>(tfScores.keySet());
+        double[] idf = documentFrequencies.idf(terms);
         
         // Calculate TF-IDF scores
         Map<String, Double> tfidfScores = new HashMap<>();
-        for (String word : tfScores.keySet()) {
-            double tfidf = tfScores.get(word) * idfScores.getOrDefault(word, 1.0);
-            tfidfScores.put(word, tfidf);
+        for (int i = 0; i < terms.size(); i++) {
+            String word = terms.get(i);
+            tfidfScores.put(word, tfScores.get(word) * idf[i]);
         }
         
-        // Sort by TF-IDF score and get top tags
-        List<String> tags = tfidfScores.entrySet().stream()
-            .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-            .limit(maxTags)
-            .map(Map.Entry::getKey)
-            .collect(Collectors.toList());
-        
-        return String.join(", ", tags);
+        // Sort by TF-IDF score and keep the top terms; ties by term, so the result never
+        // depends on map iteration order
+        return tfidfScores.entrySet().stream()
+            .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()))
+            .limit(maxTerms)
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
     }
 
     /**
-     * Tokenize text into words
+     * Stemmed, stop-word-filtered terms of title and content (title not weighted)
      */
-    private List<String> tokenize(String text) {
-        // Remove special characters, keep only letters and spaces
-        String cleaned = text.replaceAll("[^a-zA-Z\\s]", " ");
-        
-        // Split into words and filter
-        return Arrays.stream(cleaned.split("\\s+"))
-            .map(String::toLowerCase)
-            .map(this::simpleStem) // Simple stemming
-            .filter(word -> word.length() > 3) // Min length 4
-            .filter(word -> !STOP_WORDS.contains(word))
-            .filter(word -> !word.matches(".*\\d.*")) // No numbers
-            .collect(Collectors.toList());
+    public static List<String> terms(TextAnalysis text) {
+        List<String> words = new ArrayList<>();
+        addTerms(text.getTitleTokens(), words);
+        addTerms(text.getContentTokens(), words);
+        return words;
+    }
+
+    /**
+     * Stem scanner tokens and keep the ones worth tagging
+     */
+    private static void addTerms(List<Token> tokens, List<String> out) {
+        for (Token token : tokens) {
+            String word = normalize(token.getTerm(), 4);
+            if (word != null) {
+                out.add(word);
+            }
+        }
+    }
+
+    /**
+     * Stem scanner tokens and count the ones worth tagging, weight times each
+     */
+    private static void addTerms(List<Token> tokens, int weight, Map<String, Integer> counts) {
+        for (Token token : tokens) {
+            String word = normalize(token.getTerm(), 4);
+            if (word != null) {
+                counts.merge(word, weight, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Stemmed form of a scanner token; shared with search so both see the same terms
+     * @return null for stop words and stems shorter than minLength
+     */
+    public static String normalize(String token, int minLength) {
+        String word = simpleStem(token);
+        return word.length() >= minLength && !STOP_WORDS.contains(word) ? word : null;
     }
 
     /**
      * Simple stemming - remove common suffixes
      */
-    private String simpleStem(String word) {
+    static String simpleStem(String word) {
         if (word.endsWith("ing") && word.length() > 5) {
             return word.substring(0, word.length() - 3);
         }
@@ -113,40 +196,17 @@ public class TfIdfTagGenerator {
      * Calculate Term Frequency (TF)
      * TF = (count of term in document) / (total terms in document)
      */
-    private Map<String, Double> calculateTF(List<String> words) {
-        Map<String, Long> wordCounts = words.stream()
-            .collect(Collectors.groupingBy(w -> w, Collectors.counting()));
-        
-        int totalWords = words.size();
+    private Map<String, Double> calculateTF(Map<String, Integer> wordCounts) {
+        int totalWords = 0;
+        for (int count : wordCounts.values()) {
+            totalWords += count;
+        }
         Map<String, Double> tf = new HashMap<>();
         
-        for (Map.Entry<String, Long> entry : wordCounts.entrySet()) {
+        for (Map.Entry<String, Integer> entry : wordCounts.entrySet()) {
             tf.put(entry.getKey(), (double) entry.getValue() / totalWords);
         }
         
         return tf;
     }
-
-    /**
-     * Calculate Inverse Document Frequency (IDF)
-     * For single document: use inverse frequency as weight
-     * Words appearing less frequently get higher scores
-     */
-    private Map<String, Double> calculateIDF(List<String> words) {
-        Map<String, Long> wordCounts = words.stream()
-            .collect(Collectors.groupingBy(w -> w, Collectors.counting()));
-        
-        int totalUniqueWords = wordCounts.size();
-        Map<String, Double> idf = new HashMap<>();
-        
-        for (Map.Entry<String, Long> entry : wordCounts.entrySet()) {
-            // IDF approximation: log(total unique / frequency)
-            // Words appearing more times get lower IDF (they're common)
-            double idfScore = Math.log((double) totalUniqueWords / entry.getValue()) + 1;
-            idf.put(entry.getKey(), idfScore);
-        }
-        
-        return idf;
-    }
 }
-
@@ -0,0 +1,68 @@
+package com.bloggy.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.bloggy.model.User;
+import com.bloggy.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * In-process near cache of users by ID for the comment and follow hot paths.
+ *
+ * Bounded by size and TTL. Entries are detached and shared between requests, so treat them as
+ * read-only: load from the repository to change a user, then {@link #invalidate}. Other
+ * instances see a change once their entry expires. Unknown IDs are not cached. Hit and miss
+ * counts are exported as {@code cache.gets{cache="users"}}.
+ */
+@Service
+public class UserCacheService {
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${user.cache.max-size:50000}")
+    private long maxSize;
+
+    @Value("${user.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<Long, User> users;
+
+    @PostConstruct
+    public void init() {
+        users = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .<Long, User>build(), "users");
+    }
+
+    public Optional<User> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(users.get(id, key -> userRepo.findById(key).orElse(null)));
+    }
+
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    /** Call after a user is changed or deleted */
+    public void invalidate(Long id) {
+        users.invalidate(id);
+    }
+}
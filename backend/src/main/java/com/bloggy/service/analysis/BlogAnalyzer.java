@@ -0,0 +1,20 @@
+package com.bloggy.service.analysis;
+
+import com.bloggy.model.Blog;
+
+/**
+ * One stage of the moderation pipeline.
+ * Implementations read the shared {@link BlogText} and write their result onto the blog.
+ * The BlogText may be cached and shared between blogs with the same text, so never keep
+ * per-blog state from it; lookups against the corpus belong in analyze itself.
+ * Register a new stage as a Spring bean; use {@code @Order} to place it.
+ */
+public interface BlogAnalyzer {
+
+    void analyze(BlogText text, Blog blog);
+
+    /** Name of the stage in metrics and traces, e.g. "profanity" for ProfanityAnalyzer */
+    default String stage() {
+        return getClass().getSimpleName().replace("Analyzer", "").toLowerCase();
+    }
+}
@@ -0,0 +1,50 @@
+package com.bloggy.service.analysis;
+
+import com.bloggy.service.profanity.ProfanityMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * What the moderation analyzers read about a blog: the scanned title, the joined stats of the
+ * content's paragraphs and whether the profanity dictionary matched.
+ * Immutable and holds no reference to the content, so it can be cached per text.
+ */
+public final class BlogText {
+
+    private final TextAnalysis title;
+    private final ContentStats content;
+    private final boolean profanity;
+
+    private BlogText(TextAnalysis title, ContentStats content, boolean profanity) {
+        this.title = title;
+        this.content = content;
+        this.profanity = profanity;
+    }
+
+    public static BlogText of(String title, String content, ProfanityMatcher matcher) {
+        return of(title, content, matcher, ContentStats::of);
+    }
+
+    /**
+     * @param paragraphs Stats of one paragraph; may come from a cache
+     */
+    public static BlogText of(String title, String content, ProfanityMatcher matcher,
+                              Function<String, ContentStats> paragraphs) {
+        String t = title != null ? title : "";
+        String c = content != null ? content : "";
+        List<ContentStats> parts = new ArrayList<>();
+        for (String paragraph : ContentStats.paragraphs(c)) {
+            parts.add(paragraphs.apply(paragraph));
+        }
+        // Obfuscated terms (s h i t) may straddle a paragraph break, so match the whole text
+        boolean profanity = matcher.matches(t) || matcher.matches(c);
+        return new BlogText(TextAnalysis.of(t, null), ContentStats.join(parts), profanity);
+    }
+
+    public String getTitle() { return title.getTitle(); }
+    public List<Token> getTitleTokens() { return title.getTitleTokens(); }
+    public ContentStats getContent() { return content; }
+    public boolean hasProfanity() { return profanity; }
+}
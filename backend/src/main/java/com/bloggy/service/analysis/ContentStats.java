@@ -0,0 +1,248 @@
+package com.bloggy.service.analysis;
+
+import com.bloggy.service.similarity.MinHash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the analyzers read from a piece of blog content, in a form that adds up:
+ * counts, markers, word frequencies and the MinHash signature of its shingles.
+ *
+ * Content is split into paragraphs at blank lines. Stats of the paragraphs, {@link #join}ed,
+ * equal the stats of the whole text, so an edit only rescans the paragraphs it changed.
+ */
+public final class ContentStats {
+
+    /** Bump whenever scanning or shingling changes, so stats cached under the old rules are not reused */
+    public static final int VERSION = 1;
+
+    public static final String PARAGRAPH_BREAK = "\n\n";
+
+    // Terms kept from each end of a piece, for the shingles that straddle a paragraph break
+    private static final int EDGE = MinHash.SHINGLE_WORDS - 1;
+
+    private final int length;
+    private final int wordCount;
+    private final int sentenceCount;
+    private final int newlines;
+    private final int markers;
+    private final boolean blank;
+    private final boolean opensSentence;
+    private final boolean endsInSentence;
+    private final Map<String, Integer> terms;
+    private final int tokenCount;
+    private final List<String> head;
+    private final List<String> tail;
+    private final int[] shingles;
+
+    private ContentStats(int length, int wordCount, int sentenceCount, int newlines, int markers,
+                         boolean blank, boolean opensSentence, boolean endsInSentence,
+                         Map<String, Integer> terms, int tokenCount, List<String> head, List<String> tail,
+                         int[] shingles) {
+        this.length = length;
+        this.wordCount = wordCount;
+        this.sentenceCount = sentenceCount;
+        this.newlines = newlines;
+        this.markers = markers;
+        this.blank = blank;
+        this.opensSentence = opensSentence;
+        this.endsInSentence = endsInSentence;
+        this.terms = Collections.unmodifiableMap(terms);
+        this.tokenCount = tokenCount;
+        this.head = head;
+        this.tail = tail;
+        this.shingles = shingles;
+    }
+
+    /**
+     * Scan one piece of content
+     */
+    public static ContentStats of(String text) {
+        TextAnalysis scan = TextAnalysis.of(null, text);
+        List<Token> tokens = scan.getContentTokens();
+        List<String> words = new ArrayList<>(tokens.size());
+        Map<String, Integer> terms = new HashMap<>();
+        for (Token token : tokens) {
+            words.add(token.getTerm());
+            terms.merge(token.getTerm(), 1, Integer::sum);
+        }
+        int markers = 0;
+        for (Marker marker : scan.getMarkers()) {
+            markers |= bit(marker.getType());
+        }
+
+        // Whether the sentence count needs correcting when this follows another piece
+        int first = 0;
+        while (first < text.length() && Character.isWhitespace(text.charAt(first))) {
+            first++;
+        }
+        int last = text.length() - 1;
+        while (last >= first && Character.isWhitespace(text.charAt(last))) {
+            last--;
+        }
+        boolean blank = first > last;
+
+        int n = words.size();
+        List<String> head = List.copyOf(words.subList(0, Math.min(EDGE, n)));
+        List<String> tail = List.copyOf(words.subList(Math.max(head.size(), n - EDGE), n));
+        return new ContentStats(text.length(), scan.getWordCount(), scan.getSentenceCount(),
+            scan.getParagraphCount() - 1, markers, blank,
+            !blank && !isSentenceEnd(text.charAt(first)), !blank && !isSentenceEnd(text.charAt(last)),
+            terms, n, head, tail, MinHash.shingles(words));
+    }
+
+    /**
+     * Split content into the pieces whose stats {@link #join} puts back together
+     */
+    public static String[] paragraphs(String content) {
+        return content.split(PARAGRAPH_BREAK, -1);
+    }
+
+    /**
+     * Stats of the given pieces joined by {@link #PARAGRAPH_BREAK}, as if scanned in one go
+     */
+    public static ContentStats join(List<ContentStats> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        int length = 0;
+        int words = 0;
+        int sentences = 0;
+        int newlines = 0;
+        int markers = 0;
+        boolean blank = true;
+        boolean opens = false;
+        boolean inSentence = false;
+        Map<String, Integer> terms = new HashMap<>();
+        int tokens = 0;
+        int[] shingles = null;
+
+        // Each piece's edge terms in order, null where the piece's middle terms are left out
+        List<String> edges = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+
+        for (int i = 0; i < parts.size(); i++) {
+            ContentStats part = parts.get(i);
+            if (i > 0) {
+                length += PARAGRAPH_BREAK.length();
+                newlines += PARAGRAPH_BREAK.length();
+            }
+            length += part.length;
+            words += part.wordCount;
+            sentences += part.sentenceCount;
+            newlines += part.newlines;
+            markers |= part.markers;
+            if (!part.blank) {
+                if (blank) {
+                    opens = part.opensSentence;
+                    blank = false;
+                } else if (inSentence && part.opensSentence) {
+                    sentences--; // The previous sentence runs on across the break
+                }
+                inSentence = part.endsInSentence;
+            }
+            part.terms.forEach((term, count) -> terms.merge(term, count, Integer::sum));
+            tokens += part.tokenCount;
+            if (part.shingles != null) {
+                if (shingles == null) {
+                    shingles = part.shingles.clone();
+                } else {
+                    MinHash.union(shingles, part.shingles);
+                }
+            }
+
+            for (String term : part.head) {
+                edges.add(term);
+                owners.add(i);
+            }
+            if (part.tokenCount > part.head.size() + part.tail.size()) {
+                edges.add(null);
+                owners.add(i);
+            }
+            for (String term : part.tail) {
+                edges.add(term);
+                owners.add(i);
+            }
+        }
+
+        // Add the shingles that straddle a break; the rest are in the pieces' own signatures
+        int width = MinHash.SHINGLE_WORDS;
+        for (int s = 0; s + width <= edges.size(); s++) {
+            if (owners.get(s).equals(owners.get(s + width - 1)) || edges.subList(s, s + width).contains(null)) {
+                continue;
+            }
+            if (shingles == null) {
+                shingles = MinHash.empty();
+            }
+            MinHash.addShingle(shingles, edges, s, s + width);
+        }
+
+        // No gap falls among the first or last EDGE entries, so these are the real end terms
+        List<String> head = List.copyOf(edges.subList(0, Math.min(EDGE, tokens)));
+        int tailSize = Math.min(EDGE, tokens - head.size());
+        List<String> tail = List.copyOf(edges.subList(edges.size() - tailSize, edges.size()));
+        return new ContentStats(length, words, sentences, newlines, markers, blank, opens, inSentence,
+            terms, tokens, head, tail, shingles);
+    }
+
+    /** Characters of content */
+    public int getLength() { return length; }
+
+    /** Whitespace-separated words */
+    public int getWordCount() { return wordCount; }
+
+    /** Non-empty segments between '.', '!' and '?' */
+    public int getSentenceCount() { return sentenceCount; }
+
+    /** Lines (newlines + 1) */
+    public int getParagraphCount() { return newlines + 1; }
+
+    /** Count of each lowercased letter-run token */
+    public Map<String, Integer> getTerms() { return terms; }
+
+    public boolean hasMarker(Marker.Type type) {
+        return (markers & bit(type)) != 0;
+    }
+
+    /**
+     * Same as searching the lowercased content for the word
+     * @param word Lowercase ASCII letters only, e.g. a title token
+     */
+    public boolean contains(String word) {
+        // A run of letters can only occur inside one token
+        for (String term : terms.keySet()) {
+            if (term.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return MinHash signature of the content, as {@link MinHash#signature(TextAnalysis)}; null if it has no words
+     */
+    public int[] getSignature() {
+        if (tokenCount == 0) {
+            return null;
+        }
+        if (tokenCount < MinHash.SHINGLE_WORDS) {
+            List<String> all = new ArrayList<>(head);
+            all.addAll(tail);
+            return MinHash.signature(all);
+        }
+        return Arrays.copyOf(shingles, shingles.length);
+    }
+
+    private static int bit(Marker.Type type) {
+        return 1 << type.ordinal();
+    }
+
+    private static boolean isSentenceEnd(char c) {
+        return c == '.' || c == '!' || c == '?';
+    }
+}
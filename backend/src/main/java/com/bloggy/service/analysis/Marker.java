@@ -0,0 +1,20 @@
+package com.bloggy.service.analysis;
+
+/**
+ * Structural element spotted in blog content (heading, link or image).
+ */
+public final class Marker {
+
+    public enum Type { HEADING, LINK, IMAGE }
+
+    private final Type type;
+    private final int offset;
+
+    Marker(Type type, int offset) {
+        this.type = type;
+        this.offset = offset;
+    }
+
+    public Type getType() { return type; }
+    public int getOffset() { return offset; }
+}
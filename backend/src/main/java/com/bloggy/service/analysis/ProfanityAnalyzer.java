@@ -0,0 +1,29 @@
+package com.bloggy.service.analysis;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.bloggy.model.Blog;
+import com.bloggy.service.profanity.ProfanityDictionary;
+import com.bloggy.service.profanity.ProfanityMatcher;
+
+@Component
+@Order(1)
+public class ProfanityAnalyzer implements BlogAnalyzer {
+
+    @Autowired
+    private ProfanityDictionary dictionary;
+
+    @Override
+    public void analyze(BlogText text, Blog blog) {
+        // Matched once per distinct text, with the dictionary version the text was cached under
+        blog.setProfanityFound(text.hasProfanity());
+    }
+
+    public boolean hasProfanity(TextAnalysis text) {
+        // Obfuscation handling needs the raw characters, so this reads the text, not the tokens
+        ProfanityMatcher matcher = dictionary.getMatcher();
+        return matcher.matches(text.getTitle()) || matcher.matches(text.getContent());
+    }
+}
@@ -0,0 +1,99 @@
+package com.bloggy.service.analysis;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.bloggy.model.Blog;
+
+@Component
+@Order(2)
+public class SeoAnalyzer implements BlogAnalyzer {
+
+    @Override
+    public void analyze(BlogText text, Blog blog) {
+        blog.setSeoScore(score(text));
+    }
+
+    public double score(BlogText text) {
+        ContentStats content = text.getContent();
+        double score = 0;
+
+        // Title length (10%) - ideal 50-70 chars
+        int titleLen = text.getTitle().length();
+        if (titleLen >= 50 && titleLen <= 70) {
+            score += 10;
+        } else if (titleLen >= 30 && titleLen <= 90) {
+            score += 6;
+        } else if (titleLen > 0) {
+            score += 3;
+        }
+
+        // Content length (20%) - ideal 600-2000 words
+        int wordCount = content.getWordCount();
+        if (wordCount >= 600 && wordCount <= 2000) {
+            score += 20;
+        } else if (wordCount >= 300 && wordCount <= 3000) {
+            score += 12;
+        } else if (wordCount >= 100) {
+            score += 6;
+        } else if (wordCount > 0) {
+            score += 2;
+        }
+
+        // Headings presence (10%) - markdown or html headings
+        if (content.hasMarker(Marker.Type.HEADING)) {
+            score += 10;
+        } else if (content.getLength() > 500) {
+            score += 3; // Longer content without headings gets partial credit
+        }
+
+        // Paragraph structure (10%)
+        int paragraphs = content.getParagraphCount();
+        if (paragraphs >= 3) {
+            score += 10;
+        } else if (paragraphs >= 2) {
+            score += 5;
+        }
+
+        // Readability - sentence variety (15%)
+        int sentences = content.getSentenceCount();
+        if (sentences >= 5) {
+            double avgSentenceLen = (double) wordCount / sentences;
+            if (avgSentenceLen >= 10 && avgSentenceLen <= 20) {
+                score += 15;
+            } else if (avgSentenceLen >= 5 && avgSentenceLen <= 30) {
+                score += 10;
+            } else {
+                score += 5;
+            }
+        } else if (sentences >= 2) {
+            score += 7;
+        }
+
+        // Has links (10%)
+        if (content.hasMarker(Marker.Type.LINK)) {
+            score += 10;
+        }
+
+        // Has images (10%)
+        if (content.hasMarker(Marker.Type.IMAGE)) {
+            score += 10;
+        }
+
+        // Keyword in title and content (15%)
+        int keywordMatches = 0;
+        for (Token token : text.getTitleTokens()) {
+            String word = token.getTerm();
+            if (word.length() > 3 && content.contains(word)) {
+                keywordMatches++;
+            }
+        }
+        if (keywordMatches >= 3) {
+            score += 15;
+        } else if (keywordMatches >= 1) {
+            score += 8;
+        }
+
+        return Math.min(score, 100); // Cap at 100
+    }
+}
@@ -0,0 +1,40 @@
+package com.bloggy.service.analysis;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.bloggy.model.Blog;
+import com.bloggy.service.similarity.LshIndex;
+import com.bloggy.service.similarity.SimilarityService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Scores how much of a blog is copied from existing ones: the estimated shingle overlap with
+ * the closest moderated blog, whose IDs are recorded alongside. Only looks up: the blog's own
+ * signature is recorded by the caller once the moderation result is saved.
+ */
+@Component
+@Order(4)
+public class SimilarityAnalyzer implements BlogAnalyzer {
+
+    @Autowired
+    private SimilarityService similarityService;
+
+    @Override
+    public void analyze(BlogText text, Blog blog) {
+        int[] signature = text.getContent().getSignature();
+        if (signature == null) {
+            blog.setAiSimilarityScore(0.0);
+            blog.setSimilarBlogIds(null);
+            return;
+        }
+        List<LshIndex.Match> matches = similarityService.findSimilar(signature, blog.getId());
+        blog.setAiSimilarityScore(matches.isEmpty() ? 0.0 : matches.get(0).getSimilarity());
+        blog.setSimilarBlogIds(matches.isEmpty() ? null : matches.stream()
+            .map(m -> String.valueOf(m.getBlogId()))
+            .collect(Collectors.joining(",")));
+    }
+}
@@ -0,0 +1,23 @@
+package com.bloggy.service.analysis;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.bloggy.model.Blog;
+import com.bloggy.service.TfIdfTagGenerator;
+
+@Component
+@Order(3)
+public class TagAnalyzer implements BlogAnalyzer {
+
+    private static final int MAX_TAGS = 5;
+
+    @Autowired
+    private TfIdfTagGenerator tagGenerator;
+
+    @Override
+    public void analyze(BlogText text, Blog blog) {
+        blog.setTags(tagGenerator.generateTags(text, MAX_TAGS));
+    }
+}
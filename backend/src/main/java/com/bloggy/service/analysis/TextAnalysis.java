@@ -0,0 +1,181 @@
+package com.bloggy.service.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of walking a blog's title and content exactly once.
+ * All moderation analyzers read from this instead of re-scanning the text.
+ */
+public final class TextAnalysis {
+
+    private final String title;
+    private final String content;
+    private final String lowerContent;
+    private final List<Token> titleTokens;
+    private final List<Token> contentTokens;
+    private final List<Marker> markers;
+    private final int wordCount;
+    private final int sentenceCount;
+    private final int paragraphCount;
+
+    private TextAnalysis(String title, String content, String lowerContent,
+                         List<Token> titleTokens, List<Token> contentTokens, List<Marker> markers,
+                         int wordCount, int sentenceCount, int paragraphCount) {
+        this.title = title;
+        this.content = content;
+        this.lowerContent = lowerContent;
+        this.titleTokens = Collections.unmodifiableList(titleTokens);
+        this.contentTokens = Collections.unmodifiableList(contentTokens);
+        this.markers = Collections.unmodifiableList(markers);
+        this.wordCount = wordCount;
+        this.sentenceCount = sentenceCount;
+        this.paragraphCount = paragraphCount;
+    }
+
+    /**
+     * Scan title and content in a single pass each
+     * @param title Blog title (may be null)
+     * @param content Blog content (may be null)
+     * @return Shared analysis result
+     */
+    public static TextAnalysis of(String title, String content) {
+        String t = title != null ? title : "";
+        String c = content != null ? content : "";
+
+        Scanner titleScan = new Scanner(t, false);
+        titleScan.run();
+        Scanner contentScan = new Scanner(c, true);
+        contentScan.run();
+
+        return new TextAnalysis(t, c, contentScan.lower.toString(),
+            titleScan.tokens, contentScan.tokens, contentScan.markers,
+            contentScan.words, contentScan.sentences, contentScan.newlines + 1);
+    }
+
+    public String getTitle() { return title; }
+    public String getContent() { return content; }
+
+    /** Lowercased copy of the content, built during the scan */
+    public String getLowerContent() { return lowerContent; }
+
+    public List<Token> getTitleTokens() { return titleTokens; }
+    public List<Token> getContentTokens() { return contentTokens; }
+    public List<Marker> getMarkers() { return markers; }
+
+    /** Whitespace-separated words in the content */
+    public int getWordCount() { return wordCount; }
+
+    /** Non-empty segments of content between '.', '!' and '?' */
+    public int getSentenceCount() { return sentenceCount; }
+
+    /** Lines in the content (newlines + 1) */
+    public int getParagraphCount() { return paragraphCount; }
+
+    public boolean hasMarker(Marker.Type type) {
+        for (Marker marker : markers) {
+            if (marker.getType() == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Single forward walk over one piece of text.
+     * Lowercasing is char-for-char so offsets in the lowered copy match the original.
+     */
+    private static final class Scanner {
+        private final String text;
+        private final boolean structure;
+        private final StringBuilder lower;
+        private final List<Token> tokens = new ArrayList<>();
+        private final List<Marker> markers = new ArrayList<>();
+        private int words;
+        private int sentences;
+        private int newlines;
+
+        Scanner(String text, boolean structure) {
+            this.text = text;
+            this.structure = structure;
+            this.lower = new StringBuilder(text.length());
+        }
+
+        void run() {
+            int len = text.length();
+            int tokenStart = -1;
+            boolean inWord = false;
+            boolean inSentence = false;
+            boolean lineStart = true;
+
+            for (int i = 0; i < len; i++) {
+                char c = text.charAt(i);
+                char lc = (c >= 'A' && c <= 'Z') ? (char) (c + 32) : Character.toLowerCase(c);
+                lower.append(lc);
+
+                // Letter-run tokens
+                if (lc >= 'a' && lc <= 'z') {
+                    if (tokenStart < 0) {
+                        tokenStart = i;
+                    }
+                } else if (tokenStart >= 0) {
+                    emit(tokenStart, i);
+                    tokenStart = -1;
+                }
+
+                if (!structure) {
+                    continue;
+                }
+
+                boolean whitespace = Character.isWhitespace(c);
+                if (!whitespace && !inWord) {
+                    words++;
+                }
+                inWord = !whitespace;
+
+                if (c == '.' || c == '!' || c == '?') {
+                    inSentence = false;
+                } else if (!whitespace && !inSentence) {
+                    inSentence = true;
+                    sentences++;
+                }
+
+                if (c == '\n') {
+                    newlines++;
+                    lineStart = true;
+                    continue;
+                }
+
+                if (c == '#' && lineStart) {
+                    markers.add(new Marker(Marker.Type.HEADING, i));
+                } else if (c == '<') {
+                    if (i + 2 < len && (text.charAt(i + 1) | 0x20) == 'h'
+                            && text.charAt(i + 2) >= '1' && text.charAt(i + 2) <= '6') {
+                        markers.add(new Marker(Marker.Type.HEADING, i));
+                    } else if (text.regionMatches(true, i, "<img", 0, 4)) {
+                        markers.add(new Marker(Marker.Type.IMAGE, i));
+                    }
+                } else if (c == '!' && i + 1 < len && text.charAt(i + 1) == '[') {
+                    markers.add(new Marker(Marker.Type.IMAGE, i));
+                } else if ((lc == 'h') && (text.regionMatches(true, i, "http", 0, 4)
+                        || text.regionMatches(true, i, "href", 0, 4))) {
+                    markers.add(new Marker(Marker.Type.LINK, i));
+                }
+
+                if (c != ' ' && c != '\t') {
+                    lineStart = false;
+                }
+            }
+
+            if (tokenStart >= 0) {
+                emit(tokenStart, len);
+            }
+        }
+
+        private void emit(int start, int end) {
+            int sentence = structure ? Math.max(sentences - 1, 0) : 0;
+            tokens.add(new Token(lower.substring(start, end), start, end, sentence, newlines));
+        }
+    }
+}
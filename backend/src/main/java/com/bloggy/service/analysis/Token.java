@@ -0,0 +1,33 @@
+package com.bloggy.service.analysis;
+
+/**
+ * A run of ASCII letters found while scanning a blog, lowercased.
+ * Offsets point into the original (un-lowercased) text.
+ */
+public final class Token {
+
+    private final String term;
+    private final int start;
+    private final int end;
+    private final int sentence;
+    private final int paragraph;
+
+    Token(String term, int start, int end, int sentence, int paragraph) {
+        this.term = term;
+        this.start = start;
+        this.end = end;
+        this.sentence = sentence;
+        this.paragraph = paragraph;
+    }
+
+    public String getTerm() { return term; }
+    public int getStart() { return start; }
+    public int getEnd() { return end; }
+    public int getSentence() { return sentence; }
+    public int getParagraph() { return paragraph; }
+
+    @Override
+    public String toString() {
+        return term + "@" + start;
+    }
+}
@@ -0,0 +1,189 @@
+package com.bloggy.service.profanity;
+
+import java.text.Normalizer;
+
+/**
+ * Canonical form of a text for profanity matching, with a map back to original offsets.
+ *
+ * Normalization is a single linear pass:
+ * - lowercase, strip Latin accents (é -> e)
+ * - leetspeak inside words (sh1t, @ss, a$$hole, sh!t -> shit, ass, asshole, shit)
+ * - '*' kept as a mask character inside words (f*ck, sh**); a run of '*' opening a word,
+ *   and the one closing it, are emphasis (**bold**, *shit*) and dropped
+ * - punctuation, digits and whitespace collapse to a single space between words
+ * - runs of single letters one separator apart are joined (s h i t, s.h.i.t -> shit),
+ *   as long as the separator stays the same ("Plan A, s, s" is left alone)
+ */
+final class NormalizedText {
+
+    static final char MASK = '*';
+
+    // Folded form for U+00C0..U+017F, built once
+    private static final char LATIN_BASE = '\u00C0';
+    private static final char[] LATIN_FOLD = new char['\u017F' - LATIN_BASE + 1];
+
+    static {
+        for (int i = 0; i < LATIN_FOLD.length; i++) {
+            char c = (char) (LATIN_BASE + i);
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            LATIN_FOLD[i] = Character.toLowerCase(decomposed.charAt(0));
+        }
+    }
+
+    private final char[] chars;
+    private final int[] offsets;
+    private final int length;
+
+    private NormalizedText(char[] chars, int[] offsets, int length) {
+        this.chars = chars;
+        this.offsets = offsets;
+        this.length = length;
+    }
+
+    int length() { return length; }
+    char charAt(int i) { return chars[i]; }
+
+    /** Offset in the original text of normalized char i */
+    int originalOffset(int i) { return offsets[i]; }
+
+    boolean isWordStart(int i) { return i == 0 || chars[i - 1] == ' '; }
+    boolean isWordEnd(int i) { return i == length || chars[i] == ' '; }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+    static NormalizedText of(String text) {
+        Builder builder = new Builder(text.length());
+        int runStart = -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (classify(text.charAt(i)) == SEPARATOR) {
+                if (runStart >= 0) {
+                    builder.word(text, runStart, i);
+                    runStart = -1;
+                }
+            } else if (runStart < 0) {
+                runStart = i;
+            }
+        }
+        if (runStart >= 0) {
+            builder.word(text, runStart, text.length());
+        }
+        return new NormalizedText(builder.chars, builder.offsets, builder.length);
+    }
+
+    private static final int SEPARATOR = 0;
+    private static final int LETTER = 1;
+    private static final int LEET_DIGIT = 2;
+    private static final int LEET_SYMBOL = 3;
+    private static final int MASKED = 4;
+
+    private static int classify(char c) {
+        if (Character.isLetter(c)) return LETTER;
+        switch (c) {
+            case '0': case '1': case '3': case '4': case '5': case '7':
+                return LEET_DIGIT;
+            case '@': case '$': case '!':
+                return LEET_SYMBOL;
+            case MASK:
+                return MASKED;
+            default:
+                return SEPARATOR;
+        }
+    }
+
+    static char fold(char c) {
+        if (c < 128) {
+            return (c >= 'A' && c <= 'Z') ? (char) (c + 32) : c;
+        }
+        if (c >= LATIN_BASE && c - LATIN_BASE < LATIN_FOLD.length) {
+            return LATIN_FOLD[c - LATIN_BASE];
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static char unleet(char c) {
+        switch (c) {
+            case '0': return 'o';
+            case '1': case '!': return 'i';
+            case '3': return 'e';
+            case '4': case '@': return 'a';
+            case '5': case '$': return 's';
+            case '7': return 't';
+            default: return c;
+        }
+    }
+
+    private static final class Builder {
+        private final char[] chars;
+        private final int[] offsets;
+        private int length;
+        private int lastWordLength = -1;
+        private int lastWordEnd = -1;
+        // Separator of the spaced-letter run in progress, or 0
+        private char runSeparator;
+
+        Builder(int capacity) {
+            this.chars = new char[capacity];
+            this.offsets = new int[capacity];
+        }
+
+        /** Emit the non-separator run text[start, end) as one word */
+        void word(String text, int start, int end) {
+            // A run with no real letter (a year, "$$$", "***") is not a word,
+            // unless it is one leet char in a row of spaced letters (s.h.1.t)
+            boolean hasLetter = false;
+            for (int i = start; i < end; i++) {
+                if (classify(text.charAt(i)) == LETTER) {
+                    hasLetter = true;
+                    break;
+                }
+            }
+            if (!hasLetter && !(end - start == 1 && continuesSpacedLetters(text, start))) {
+                return;
+            }
+            // A trailing '!' is punctuation, not an 'i' ("hell!")
+            while (end > start && text.charAt(end - 1) == '!') {
+                end--;
+            }
+            // Emphasis: masks never cover a first letter, so leading '*'s are markup,
+            // and so are trailing ones that close them
+            if (text.charAt(start) == MASK) {
+                while (start < end && text.charAt(start) == MASK) {
+                    start++;
+                }
+                while (end > start && text.charAt(end - 1) == MASK) {
+                    end--;
+                }
+                if (start == end) {
+                    return;
+                }
+            }
+
+            int wordLength = end - start;
+            boolean joined = wordLength == 1 && continuesSpacedLetters(text, start);
+            if (length > 0 && !joined) {
+                chars[length] = ' ';
+                offsets[length] = start - 1;
+                length++;
+            }
+            runSeparator = joined ? text.charAt(start - 1) : 0;
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                chars[length] = classify(c) == LETTER ? fold(c) : (c == MASK ? MASK : unleet(c));
+                offsets[length] = i;
+                length++;
+            }
+            lastWordLength = wordLength;
+            lastWordEnd = end;
+        }
+
+        private boolean continuesSpacedLetters(String text, int start) {
+            if (lastWordLength != 1 || start - lastWordEnd != 1) {
+                return false;
+            }
+            return runSeparator == 0 || text.charAt(start - 1) == runSeparator;
+        }
+    }
+}
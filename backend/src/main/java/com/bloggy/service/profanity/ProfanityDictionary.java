@@ -0,0 +1,145 @@
+package com.bloggy.service.profanity;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the live profanity automaton.
+ *
+ * Dictionaries are {@code <language>.txt} files matched by {@code profanity.dictionary.location}.
+ * A reload builds a complete new {@link ProfanityMatcher} on the side and publishes it with a
+ * single volatile write, so in-flight moderation keeps scanning with the old one undisturbed.
+ */
+@Service
+public class ProfanityDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfanityDictionary.class);
+
+    @Value("${profanity.dictionary.location:classpath*:profanity/*.txt}")
+    private String location;
+
+    private final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+    private volatile ProfanityMatcher matcher = ProfanityMatcher.empty();
+    private volatile long version;
+    private volatile LocalDateTime loadedAt;
+    private volatile long fingerprint;
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    public ProfanityMatcher getMatcher() {
+        return matcher;
+    }
+
+    /** Incremented on every reload; results cached under an older version are stale */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Re-read all dictionary files and swap the automaton in atomically
+     * @return Stats of the dictionary now in use
+     */
+    public synchronized Map<String, Object> reload() {
+        try {
+            Resource[] resources = resolver.getResources(location);
+            List<ProfanityTerm> terms = new ArrayList<>();
+            for (Resource resource : resources) {
+                terms.addAll(read(resource));
+            }
+            ProfanityMatcher next = ProfanityMatcher.build(terms);
+            matcher = next;
+            fingerprint = fingerprint(resources);
+            version++;
+            loadedAt = LocalDateTime.now();
+            log.info("Profanity dictionary v{} loaded: {} terms, languages {}", version, next.getTermCount(),
+                next.getLanguages());
+        } catch (IOException e) {
+            // Keep serving the previous dictionary
+            log.warn("Failed to load profanity dictionary from {}", location, e);
+        }
+        return stats();
+    }
+
+    /**
+     * Pick up edited dictionary files without a redeploy
+     */
+    @Scheduled(fixedDelayString = "${profanity.dictionary.poll-interval-ms:30000}",
+               initialDelayString = "${profanity.dictionary.poll-interval-ms:30000}")
+    public void reloadIfChanged() {
+        try {
+            if (fingerprint(resolver.getResources(location)) != fingerprint) {
+                reload();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to check profanity dictionary: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        ProfanityMatcher current = matcher;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", version);
+        stats.put("terms", current.getTermCount());
+        stats.put("states", current.getStateCount());
+        stats.put("languages", current.getLanguages());
+        stats.put("loadedAt", loadedAt);
+        return stats;
+    }
+
+    private List<ProfanityTerm> read(Resource resource) throws IOException {
+        String filename = resource.getFilename() != null ? resource.getFilename() : "unknown";
+        String language = filename.contains(".") ? filename.substring(0, filename.lastIndexOf('.')) : filename;
+
+        List<ProfanityTerm> terms = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                boolean anywhere = line.startsWith("~");
+                String term = anywhere ? line.substring(1).trim() : line;
+                if (!term.isEmpty()) {
+                    terms.add(new ProfanityTerm(term, language, !anywhere));
+                }
+            }
+        }
+        return terms;
+    }
+
+    private long fingerprint(Resource[] resources) {
+        long hash = resources.length;
+        for (Resource resource : resources) {
+            try {
+                hash = 31 * hash + resource.lastModified();
+                hash = 31 * hash + resource.contentLength();
+            } catch (IOException e) {
+                hash = 31 * hash + resource.hashCode();
+            }
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,24 @@
+package com.bloggy.service.profanity;
+
+/**
+ * A dictionary hit; start/end are offsets into the original, un-normalized text.
+ */
+public final class ProfanityMatch {
+
+    private final String term;
+    private final String language;
+    private final int start;
+    private final int end;
+
+    ProfanityMatch(String term, String language, int start, int end) {
+        this.term = term;
+        this.language = language;
+        this.start = start;
+        this.end = end;
+    }
+
+    public String getTerm() { return term; }
+    public String getLanguage() { return language; }
+    public int getStart() { return start; }
+    public int getEnd() { return end; }
+}
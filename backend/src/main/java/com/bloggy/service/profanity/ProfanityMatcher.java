@@ -0,0 +1,245 @@
+package com.bloggy.service.profanity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable Aho-Corasick automaton over a profanity dictionary.
+ *
+ * Text is normalized once and then fed through the automaton one char at a time,
+ * so a scan is linear in the text length no matter how many terms are loaded.
+ * Each term is also compiled with one or two of its inner letters masked
+ * ("f*ck", "sh**") so censored spellings are caught without wildcards at scan time.
+ * Masked spellings only match whole words, whatever the term's own rule, since a
+ * mask next to other letters is as likely to be Markdown emphasis as censoring.
+ */
+public final class ProfanityMatcher {
+
+    private static final int MAX_MASKED_RUN = 2;
+
+    // Goto function: sorted child chars and their target states, per state
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    // Pattern ending at this state, or -1
+    private final int[] output;
+    // Nearest state on the fail chain that has an output, or 0
+    private final int[] outputLink;
+
+    private final int[] patternLength;
+    private final ProfanityTerm[] patternTerm;
+    private final boolean[] patternWholeWord;
+
+    private final int termCount;
+    private final Set<String> languages;
+
+    private ProfanityMatcher(Builder b) {
+        int states = b.children.size();
+        this.keys = new char[states][];
+        this.targets = new int[states][];
+        for (int s = 0; s < states; s++) {
+            TreeMap<Character, Integer> children = b.children.get(s);
+            keys[s] = new char[children.size()];
+            targets[s] = new int[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> e : children.entrySet()) {
+                keys[s][i] = e.getKey();
+                targets[s][i] = e.getValue();
+                i++;
+            }
+        }
+        this.output = b.output.stream().mapToInt(Integer::intValue).toArray();
+        this.fail = new int[states];
+        this.outputLink = new int[states];
+        this.patternLength = b.patternLength.stream().mapToInt(Integer::intValue).toArray();
+        this.patternTerm = b.patternTerm.toArray(new ProfanityTerm[0]);
+        this.patternWholeWord = new boolean[patternTerm.length];
+        for (int p = 0; p < patternTerm.length; p++) {
+            patternWholeWord[p] = b.patternWholeWord.get(p);
+        }
+        this.termCount = b.termCount;
+        this.languages = new LinkedHashSet<>(b.languages);
+        linkFailures();
+    }
+
+    /**
+     * Compile a dictionary into an automaton
+     * @param terms Dictionary entries (duplicates are merged)
+     * @return Ready-to-scan matcher
+     */
+    public static ProfanityMatcher build(Collection<ProfanityTerm> terms) {
+        Builder builder = new Builder();
+        for (ProfanityTerm term : terms) {
+            builder.add(term);
+        }
+        return new ProfanityMatcher(builder);
+    }
+
+    public static ProfanityMatcher empty() {
+        return build(List.of());
+    }
+
+    public int getTermCount() { return termCount; }
+    public int getStateCount() { return keys.length; }
+    public Set<String> getLanguages() { return languages; }
+
+    /**
+     * @return true as soon as any term matches
+     */
+    public boolean matches(String text) {
+        return scan(text, true, null);
+    }
+
+    /**
+     * @return Every match with offsets into the original text
+     */
+    public List<ProfanityMatch> findAll(String text) {
+        List<ProfanityMatch> matches = new ArrayList<>();
+        scan(text, false, matches);
+        return matches;
+    }
+
+    private boolean scan(String text, boolean stopAtFirst, List<ProfanityMatch> out) {
+        if (text == null || text.isEmpty() || termCount == 0) {
+            return false;
+        }
+        NormalizedText norm = NormalizedText.of(text);
+        int state = 0;
+        boolean found = false;
+        for (int i = 0; i < norm.length(); i++) {
+            char c = norm.charAt(i);
+            int next;
+            while ((next = step(state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = next < 0 ? 0 : next;
+
+            for (int s = output[state] >= 0 ? state : outputLink[state]; s > 0; s = outputLink[s]) {
+                int pattern = output[s];
+                int start = i - patternLength[pattern] + 1;
+                if (patternWholeWord[pattern] && !(norm.isWordStart(start) && norm.isWordEnd(i + 1))) {
+                    continue;
+                }
+                found = true;
+                if (stopAtFirst) {
+                    return true;
+                }
+                ProfanityTerm term = patternTerm[pattern];
+                out.add(new ProfanityMatch(term.getTerm(), term.getLanguage(),
+                    norm.originalOffset(start), norm.originalOffset(i) + 1));
+            }
+        }
+        return found;
+    }
+
+    private int step(int state, char c) {
+        int i = Arrays.binarySearch(keys[state], c);
+        return i >= 0 ? targets[state][i] : -1;
+    }
+
+    /** Breadth-first pass computing fail and output links */
+    private void linkFailures() {
+        int[] queue = new int[keys.length];
+        int head = 0;
+        int tail = 0;
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int s = queue[head++];
+            for (int k = 0; k < keys[s].length; k++) {
+                char c = keys[s][k];
+                int child = targets[s][k];
+                int f = fail[s];
+                int next;
+                while ((next = step(f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = (next >= 0 && next != child) ? next : 0;
+                outputLink[child] = output[fail[child]] >= 0 ? fail[child] : outputLink[fail[child]];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    private static final class Builder {
+        private final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        private final List<Integer> output = new ArrayList<>();
+        private final List<Integer> patternLength = new ArrayList<>();
+        private final List<ProfanityTerm> patternTerm = new ArrayList<>();
+        private final List<Boolean> patternWholeWord = new ArrayList<>();
+        private final Map<String, Integer> patterns = new HashMap<>();
+        private final Set<String> languages = new LinkedHashSet<>();
+        private int termCount;
+
+        Builder() {
+            newState();
+        }
+
+        void add(ProfanityTerm term) {
+            String normalized = NormalizedText.of(term.getTerm()).toString();
+            if (normalized.isEmpty()) {
+                return;
+            }
+            termCount++;
+            languages.add(term.getLanguage());
+            addPattern(normalized, term, term.isWholeWord());
+
+            // Censored spellings: mask runs of 1..2 letters after the first one
+            char[] chars = normalized.toCharArray();
+            for (int start = 1; start < chars.length; start++) {
+                for (int len = 1; len <= MAX_MASKED_RUN && start + len <= chars.length; len++) {
+                    char[] masked = chars.clone();
+                    boolean valid = true;
+                    for (int i = start; i < start + len; i++) {
+                        valid &= masked[i] != ' ';
+                        masked[i] = NormalizedText.MASK;
+                    }
+                    if (valid) {
+                        addPattern(new String(masked), term, true);
+                    }
+                }
+            }
+        }
+
+        private void addPattern(String pattern, ProfanityTerm term, boolean wholeWord) {
+            Integer existing = patterns.get(pattern);
+            if (existing != null) {
+                // Same spelling twice: the broader (substring) rule wins
+                if (!wholeWord) {
+                    patternWholeWord.set(existing, false);
+                }
+                return;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = children.get(state).get(pattern.charAt(i));
+                if (next == null) {
+                    next = newState();
+                    children.get(state).put(pattern.charAt(i), next);
+                }
+                state = next;
+            }
+            int index = patternTerm.size();
+            patterns.put(pattern, index);
+            patternLength.add(pattern.length());
+            patternTerm.add(term);
+            patternWholeWord.add(wholeWord);
+            output.set(state, index);
+        }
+
+        private int newState() {
+            children.add(new TreeMap<>());
+            output.add(-1);
+            return children.size() - 1;
+        }
+    }
+}
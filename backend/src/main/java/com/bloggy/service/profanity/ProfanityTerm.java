@@ -0,0 +1,23 @@
+package com.bloggy.service.profanity;
+
+/**
+ * One dictionary entry.
+ * Whole-word terms only match a complete word ("ass" but not "class");
+ * the others also match inside compounds ("fuck" in "fuckface").
+ */
+public final class ProfanityTerm {
+
+    private final String term;
+    private final String language;
+    private final boolean wholeWord;
+
+    public ProfanityTerm(String term, String language, boolean wholeWord) {
+        this.term = term;
+        this.language = language;
+        this.wholeWord = wholeWord;
+    }
+
+    public String getTerm() { return term; }
+    public String getLanguage() { return language; }
+    public boolean isWholeWord() { return wholeWord; }
+}
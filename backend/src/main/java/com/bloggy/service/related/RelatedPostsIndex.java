@@ -0,0 +1,289 @@
+package com.bloggy.service.related;
+
+import com.bloggy.util.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sparse unit-length term vectors per blog, with each blog's k most cosine-similar blogs
+ * kept precomputed.
+ *
+ * Adding a blog scores it against every blog sharing a term (via a term -> blogs inverted
+ * list), takes its top k, and offers it to each of those blogs' lists. Removing a blog
+ * recomputes only the lists it appeared in. Reads are a single map lookup.
+ * Thread-safe: many readers, one writer.
+ */
+public final class RelatedPostsIndex {
+
+    private final int k;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<IntList> postings = new ArrayList<>();
+
+    // Per slot; slots of removed blogs are reused
+    private long[] blogIds = new long[1024];
+    private int[][] terms = new int[1024][];
+    private float[][] weights = new float[1024][];
+    private Neighbours[] neighbours = new Neighbours[1024];
+    private final IntList freeSlots = new IntList();
+    private int slotCount;
+
+    // blogId -> slot + 1
+    private final LongIntHashMap slots = new LongIntHashMap(1024);
+
+    // Scratch for scoring; used under the write lock only
+    private float[] scores = new float[1024];
+    private final IntList touched = new IntList();
+
+    public RelatedPostsIndex(int k) {
+        this.k = k;
+    }
+
+    /**
+     * Index (or re-index) a blog
+     * @param vector Term weights; normalized to unit length here
+     */
+    public void add(long blogId, Map<String, Double> vector) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(blogId);
+            if (vector.isEmpty()) {
+                return;
+            }
+            int slot = allocate(blogId);
+            int[] ids = new int[vector.size()];
+            float[] w = new float[vector.size()];
+            double norm = 0;
+            for (double v : vector.values()) {
+                norm += v * v;
+            }
+            norm = Math.sqrt(norm);
+            int i = 0;
+            for (Map.Entry<String, Double> e : vector.entrySet()) {
+                ids[i] = termId(e.getKey());
+                w[i] = norm > 0 ? (float) (e.getValue() / norm) : 0;
+                i++;
+            }
+            terms[slot] = ids;
+            weights[slot] = w;
+
+            Neighbours mine = new Neighbours(k);
+            score(slot);
+            for (int t = 0; t < touched.size; t++) {
+                int other = touched.values[t];
+                float score = scores[other];
+                scores[other] = 0;
+                mine.offer(blogIds[other], score);
+                neighbours[other].offer(blogId, score);
+            }
+            touched.size = 0;
+            neighbours[slot] = mine;
+            for (int id : ids) {
+                postings.get(id).add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return false if the blog was not indexed
+     */
+    public boolean remove(long blogId) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(blogId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Up to k related blog IDs, most similar first; empty if the blog is not indexed
+     */
+    public long[] related(long blogId) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(blogId) - 1;
+            return slot < 0 ? new long[0] : neighbours[slot].ids();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean removeLocked(long blogId) {
+        int slot = slots.get(blogId) - 1;
+        if (slot < 0) {
+            return false;
+        }
+        for (int id : terms[slot]) {
+            postings.get(id).remove(slot);
+        }
+        slots.remove(blogId);
+
+        // Blogs that listed this one get their lists recomputed from scratch
+        score(slot);
+        List<Integer> affected = new ArrayList<>();
+        for (int t = 0; t < touched.size; t++) {
+            int other = touched.values[t];
+            scores[other] = 0;
+            if (neighbours[other].contains(blogId)) {
+                affected.add(other);
+            }
+        }
+        touched.size = 0;
+
+        terms[slot] = null;
+        weights[slot] = null;
+        neighbours[slot] = null;
+        freeSlots.add(slot);
+
+        for (int other : affected) {
+            Neighbours rebuilt = new Neighbours(k);
+            score(other);
+            for (int t = 0; t < touched.size; t++) {
+                int candidate = touched.values[t];
+                rebuilt.offer(blogIds[candidate], scores[candidate]);
+                scores[candidate] = 0;
+            }
+            touched.size = 0;
+            neighbours[other] = rebuilt;
+        }
+        return true;
+    }
+
+    /** Dot products of slot's vector with every other indexed blog sharing a term, into scores/touched */
+    private void score(int slot) {
+        int[] ids = terms[slot];
+        float[] w = weights[slot];
+        for (int i = 0; i < ids.length; i++) {
+            IntList list = postings.get(ids[i]);
+            for (int p = 0; p < list.size; p++) {
+                int other = list.values[p];
+                if (other == slot) {
+                    continue;
+                }
+                if (scores[other] == 0) {
+                    touched.add(other);
+                }
+                scores[other] += w[i] * weightOf(other, ids[i]);
+            }
+        }
+    }
+
+    private float weightOf(int slot, int termId) {
+        int[] ids = terms[slot];
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == termId) {
+                return weights[slot][i];
+            }
+        }
+        return 0;
+    }
+
+    private int allocate(long blogId) {
+        int slot;
+        if (freeSlots.size > 0) {
+            slot = freeSlots.values[--freeSlots.size];
+        } else {
+            slot = slotCount++;
+            if (slot == blogIds.length) {
+                int capacity = slot * 2;
+                blogIds = Arrays.copyOf(blogIds, capacity);
+                terms = Arrays.copyOf(terms, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                neighbours = Arrays.copyOf(neighbours, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+            }
+        }
+        blogIds[slot] = blogId;
+        slots.put(blogId, slot + 1);
+        return slot;
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            id = postings.size();
+            termIds.put(term, id);
+            postings.add(new IntList());
+        }
+        return id;
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /** A blog's best k neighbours, kept sorted by score descending */
+    private static final class Neighbours {
+        final long[] ids;
+        final float[] scores;
+        int size;
+
+        Neighbours(int k) {
+            ids = new long[k];
+            scores = new float[k];
+        }
+
+        void offer(long blogId, float score) {
+            if (score <= 0 || (size == ids.length && score <= scores[size - 1])) {
+                return;
+            }
+            int i = size < ids.length ? size++ : size - 1;
+            while (i > 0 && scores[i - 1] < score) {
+                ids[i] = ids[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            ids[i] = blogId;
+            scores[i] = score;
+        }
+
+        boolean contains(long blogId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == blogId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long[] ids() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.bloggy.service.related;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bloggy.dto.BlogSummary;
+import com.bloggy.event.BlogStatusChangedEvent;
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+import com.bloggy.repository.BlogRepository;
+import com.bloggy.service.TfIdfTagGenerator;
+import com.bloggy.service.analysis.TextAnalysis;
+
+import jakarta.annotation.PostConstruct;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * "Related posts" for APPROVED blogs.
+ *
+ * Each blog's vector is its top TF-IDF terms as scored for tagging; neighbour lists are
+ * maintained as blogs are published or withdrawn and rebuilt in the background at startup,
+ * so a request only reads a precomputed list.
+ */
+@Service
+public class RelatedPostsService {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatedPostsService.class);
+
+    private static final int VECTOR_TERMS = 32;
+    private static final int REBUILD_BATCH = 500;
+
+    @Autowired
+    private BlogRepository blogRepo;
+
+    @Autowired
+    private TfIdfTagGenerator tagGenerator;
+
+    @Value("${related.max-posts:10}")
+    private int maxPosts;
+
+    private volatile RelatedPostsIndex index;
+
+    // Non-null while a rebuild runs; guarded by changeLock
+    private final Object changeLock = new Object();
+    private List<BlogStatusChangedEvent> pendingChanges;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() {
+        index = new RelatedPostsIndex(maxPosts);
+    }
+
+    // After commit, so neighbours never reflect a change that rolls back
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(BlogStatusChangedEvent event) {
+        if (event.isPublished() || event.isUnpublished() || event.isRevised()) {
+            synchronized (changeLock) {
+                if (pendingChanges != null) {
+                    pendingChanges.add(event);
+                }
+                apply(event, index);
+            }
+        }
+    }
+
+    /**
+     * @return Up to limit related APPROVED blogs, most similar first
+     */
+    public List<BlogSummary> getRelated(Long blogId, int limit) {
+        long[] ids = index.related(blogId);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> wanted = Arrays.stream(ids).limit(limit).boxed().toList();
+        Map<Long, BlogSummary> found = blogRepo.findSummariesByIdIn(wanted).stream()
+            .collect(Collectors.toMap(BlogSummary::getId, Function.identity()));
+        List<BlogSummary> related = new ArrayList<>();
+        for (Long id : wanted) {
+            BlogSummary summary = found.get(id);
+            if (summary != null && summary.getStatus() == Status.APPROVED) {
+                related.add(summary);
+            }
+        }
+        return related;
+    }
+
+    public int getMaxPosts() {
+        return maxPosts;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("blogs", index.size());
+        stats.put("neighbours", maxPosts);
+        return stats;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread thread = new Thread(this::rebuild, "related-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Recompute every vector and neighbour list from the APPROVED blogs and swap them in
+     */
+    public void rebuild() {
+        synchronized (changeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        long started = System.currentTimeMillis();
+        RelatedPostsIndex rebuilt = new RelatedPostsIndex(maxPosts);
+        long lastId = 0;
+        List<Blog> batch;
+        do {
+            batch = blogRepo.findByStatusAndIdGreaterThanOrderByIdAsc(Status.APPROVED, lastId, Limit.of(REBUILD_BATCH));
+            for (Blog blog : batch) {
+                rebuilt.add(blog.getId(), vector(blog));
+                lastId = blog.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH);
+
+        synchronized (changeLock) {
+            for (BlogStatusChangedEvent event : pendingChanges) {
+                apply(event, rebuilt);
+            }
+            pendingChanges = null;
+            index = rebuilt;
+        }
+        ready = true;
+        log.info("Related posts built for {} blogs in {} ms", rebuilt.size(), System.currentTimeMillis() - started);
+    }
+
+    private void apply(BlogStatusChangedEvent event, RelatedPostsIndex target) {
+        Blog blog = event.getBlog();
+        if (event.isPublished() || event.isRevised()) {
+            target.add(blog.getId(), vector(blog));
+        } else {
+            target.remove(blog.getId());
+        }
+    }
+
+    private Map<String, Double> vector(Blog blog) {
+        return tagGenerator.scoreTerms(TextAnalysis.of(blog.getTitle(), blog.getContent()), VECTOR_TERMS);
+    }
+}
@@ -0,0 +1,83 @@
+package com.bloggy.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only postings of one term: (doc, tf) pairs with doc numbers delta-encoded,
+ * both as variable-length ints. Typical entries take 2-3 bytes instead of 8.
+ */
+final class PostingList {
+
+    byte[] data = new byte[8];
+    int size;
+    int count;
+    private int lastDoc = -1;
+
+    /** Docs must be added in increasing order */
+    void add(int doc, int tf) {
+        ensure(10);
+        writeVInt(doc - lastDoc);
+        writeVInt(tf);
+        lastDoc = doc;
+        count++;
+    }
+
+    void trim() {
+        if (data.length > size + (size >> 3) + 8) {
+            data = Arrays.copyOf(data, size);
+        }
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+        }
+    }
+
+    private void writeVInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[size++] = (byte) value;
+    }
+
+    /** Sequential decoder; reuse one per thread via {@link #reset} */
+    static final class Reader {
+        private byte[] data;
+        private int end;
+        private int pos;
+        private int doc;
+        private int tf;
+
+        Reader reset(PostingList list) {
+            this.data = list.data;
+            this.end = list.size;
+            this.pos = 0;
+            this.doc = -1;
+            return this;
+        }
+
+        boolean next() {
+            if (pos >= end) {
+                return false;
+            }
+            doc += readVInt();
+            tf = readVInt();
+            return true;
+        }
+
+        int doc() { return doc; }
+        int tf() { return tf; }
+
+        private int readVInt() {
+            byte b = data[pos++];
+            int value = b & 0x7F;
+            for (int shift = 7; b < 0; shift += 7) {
+                b = data[pos++];
+                value |= (b & 0x7F) << shift;
+            }
+            return value;
+        }
+    }
+}
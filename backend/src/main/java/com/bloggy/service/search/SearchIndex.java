@@ -0,0 +1,470 @@
+package com.bloggy.service.search;
+
+import com.bloggy.util.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with BM25 ranking.
+ *
+ * Documents get internal numbers in insertion order, so postings are always appended and can
+ * be delta/varint compressed ({@link PostingList}). Removing a document only marks it deleted;
+ * like Lucene, document frequencies still count deleted docs until the postings are compacted,
+ * which happens once deletions pass a quarter of the index. Compaction also renumbers the live
+ * docs densely, in their original order, so per-doc arrays and dense scans stay proportional to
+ * the live index however often blogs are edited. Queries are OR with BM25 scores
+ * summed term at a time into a pooled accumulator. Thread-safe: many readers, one writer.
+ */
+public final class SearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double COMPACT_RATIO = 0.25;
+    private static final int COMPACT_MIN_DELETED = 1_000;
+    private static final int DENSE_DIVISOR = 16;
+    private static final int NORM_CACHE_SIZE = 2_048;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private PostingList[] postings = new PostingList[1024];
+    private int termCount;
+
+    // Per internal doc number
+    private long[] blogIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private final BitSet deleted = new BitSet();
+    private int docCount;
+
+    // blogId -> doc number + 1 (0 = not indexed)
+    private final LongIntHashMap docNos = new LongIntHashMap(1024);
+    private int liveDocs;
+    private int deletedInPostings;
+    private long totalLength;
+
+    private final ConcurrentLinkedQueue<Accumulator> accumulators = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Index (or re-index) a blog
+     * @param termFreqs Weighted frequency per term
+     */
+    public void add(long blogId, Map<String, Integer> termFreqs) {
+        lock.writeLock().lock();
+        try {
+            // Re-indexing leaves the old postings behind, as a remove does
+            if (removeLocked(blogId)) {
+                compactIfWasteful();
+            }
+            int doc = docCount++;
+            if (doc == blogIds.length) {
+                blogIds = Arrays.copyOf(blogIds, doc * 2);
+                lengths = Arrays.copyOf(lengths, doc * 2);
+            }
+            int length = 0;
+            for (Map.Entry<String, Integer> e : termFreqs.entrySet()) {
+                int tf = e.getValue();
+                if (tf <= 0) {
+                    continue;
+                }
+                postingsFor(e.getKey()).add(doc, tf);
+                length += tf;
+            }
+            blogIds[doc] = blogId;
+            lengths[doc] = length;
+            docNos.put(blogId, doc + 1);
+            liveDocs++;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return false if the blog was not indexed
+     */
+    public boolean remove(long blogId) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeLocked(blogId);
+            if (removed) {
+                compactIfWasteful();
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long blogId) {
+        lock.readLock().lock();
+        try {
+            return docNos.get(blogId) != 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return termCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Compressed size of all postings, in bytes */
+    public long getPostingBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (int t = 0; t < termCount; t++) {
+                bytes += postings[t].size;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank documents matching any of the terms
+     * @param terms Normalized query terms (duplicates count once)
+     * @param offset Hits to skip
+     * @param limit Hits to return
+     */
+    public Result search(Collection<String> terms, int offset, int limit) {
+        Accumulator acc = null;
+        lock.readLock().lock();
+        try {
+            acc = borrow();
+            int n = liveDocs + deletedInPostings;
+            double avgLength = liveDocs > 0 ? (double) totalLength / liveDocs : 1;
+            float[] norms = acc.norms(avgLength);
+
+            List<PostingList> lists = new ArrayList<>();
+            long matches = 0;
+            for (String term : new LinkedHashSet<>(terms)) {
+                Integer id = termIds.get(term);
+                if (id != null) {
+                    lists.add(postings[id]);
+                    matches += postings[id].count;
+                }
+            }
+            // Common terms touch much of the index: then skip the touched list and scan the scores
+            acc.dense = matches > docCount / DENSE_DIVISOR;
+
+            boolean anyDeleted = deletedInPostings > 0;
+            PostingList.Reader reader = acc.reader;
+            for (PostingList list : lists) {
+                float idf = (float) Math.log(1 + (n - list.count + 0.5) / (list.count + 0.5));
+                reader.reset(list);
+                while (reader.next()) {
+                    int doc = reader.doc();
+                    if (anyDeleted && deleted.get(doc)) {
+                        continue;
+                    }
+                    int tf = reader.tf();
+                    int length = lengths[doc];
+                    float norm = length < norms.length ? norms[length] : (float) (K1 * (1 - B + B * length / avgLength));
+                    acc.add(doc, idf * tf * (float) (K1 + 1) / (tf + norm));
+                }
+            }
+
+            TopDocs top = new TopDocs(offset + limit, acc.scores);
+            int total = 0;
+            if (acc.dense) {
+                float[] scores = acc.scores;
+                for (int doc = 0; doc < docCount; doc++) {
+                    if (scores[doc] != 0) {
+                        total++;
+                        top.offer(doc);
+                    }
+                }
+            } else {
+                total = acc.touchedCount;
+                for (int i = 0; i < acc.touchedCount; i++) {
+                    top.offer(acc.touched[i]);
+                }
+            }
+
+            int[] ranked = top.drain();
+            List<Hit> hits = new ArrayList<>(Math.max(0, ranked.length - offset));
+            for (int i = offset; i < ranked.length; i++) {
+                hits.add(new Hit(blogIds[ranked[i]], acc.scores[ranked[i]]));
+            }
+            return new Result(total, hits);
+        } finally {
+            if (acc != null) {
+                acc.clear(docCount);
+                accumulators.offer(acc);
+            }
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean removeLocked(long blogId) {
+        int docPlusOne = docNos.get(blogId);
+        if (docPlusOne == 0) {
+            return false;
+        }
+        int doc = docPlusOne - 1;
+        docNos.remove(blogId);
+        deleted.set(doc);
+        liveDocs--;
+        deletedInPostings++;
+        totalLength -= lengths[doc];
+        return true;
+    }
+
+    private PostingList postingsFor(String term) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            id = termCount++;
+            if (id == postings.length) {
+                postings = Arrays.copyOf(postings, id * 2);
+            }
+            postings[id] = new PostingList();
+            termIds.put(term, id);
+        }
+        return postings[id];
+    }
+
+    private void compactIfWasteful() {
+        if (deletedInPostings >= COMPACT_MIN_DELETED
+                && deletedInPostings > COMPACT_RATIO * (liveDocs + deletedInPostings)) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrite postings without deleted docs, renumbering the live ones densely; terms left with
+     * none are dropped
+     */
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            // next <= doc, so moving down in place never overwrites a doc still to be read
+            remap[doc] = next;
+            blogIds[next] = blogIds[doc];
+            lengths[next] = lengths[doc];
+            next++;
+        }
+
+        PostingList.Reader reader = new PostingList.Reader();
+        Map<String, Integer> live = new HashMap<>();
+        PostingList[] rewritten = new PostingList[Math.max(16, termCount)];
+        int kept = 0;
+        for (Map.Entry<String, Integer> e : termIds.entrySet()) {
+            PostingList compacted = new PostingList();
+            reader.reset(postings[e.getValue()]);
+            while (reader.next()) {
+                int doc = remap[reader.doc()];
+                if (doc >= 0) {
+                    compacted.add(doc, reader.tf());
+                }
+            }
+            if (compacted.count > 0) {
+                compacted.trim();
+                rewritten[kept] = compacted;
+                live.put(e.getKey(), kept++);
+            }
+        }
+        termIds.clear();
+        termIds.putAll(live);
+        postings = rewritten;
+        termCount = kept;
+
+        docNos.clear();
+        for (int doc = 0; doc < next; doc++) {
+            docNos.put(blogIds[doc], doc + 1);
+        }
+        int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, next)) * 2);
+        if (blogIds.length > capacity) {
+            blogIds = Arrays.copyOf(blogIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        deleted.clear();
+        docCount = next;
+        deletedInPostings = 0;
+        // Pooled score arrays were sized for the old numbering
+        accumulators.clear();
+    }
+
+    private Accumulator borrow() {
+        Accumulator acc = accumulators.poll();
+        if (acc == null) {
+            acc = new Accumulator();
+        }
+        acc.ensure(docCount);
+        return acc;
+    }
+
+    /**
+     * Per-query scratch space: a dense score array, the docs it touched (sparse queries only)
+     * and BM25 length norms for the common document lengths
+     */
+    private static final class Accumulator {
+        float[] scores = new float[0];
+        int[] touched = new int[64];
+        int touchedCount;
+        boolean dense;
+        final float[] normCache = new float[NORM_CACHE_SIZE];
+        final PostingList.Reader reader = new PostingList.Reader();
+
+        void ensure(int docs) {
+            if (scores.length < docs) {
+                scores = new float[Math.max(docs, scores.length * 2)];
+            }
+        }
+
+        float[] norms(double avgLength) {
+            for (int length = 0; length < normCache.length; length++) {
+                normCache[length] = (float) (K1 * (1 - B + B * length / avgLength));
+            }
+            return normCache;
+        }
+
+        void add(int doc, float score) {
+            if (!dense && scores[doc] == 0) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = doc;
+            }
+            scores[doc] += score;
+        }
+
+        void clear(int docs) {
+            if (dense) {
+                Arrays.fill(scores, 0, Math.min(docs, scores.length), 0);
+            } else {
+                for (int i = 0; i < touchedCount; i++) {
+                    scores[touched[i]] = 0;
+                }
+            }
+            touchedCount = 0;
+            dense = false;
+        }
+    }
+
+    /** Bounded min-heap of doc numbers by score; ties go to the newer doc */
+    private static final class TopDocs {
+        private final int[] heap;
+        private final float[] scores;
+        private int size;
+
+        TopDocs(int capacity, float[] scores) {
+            this.heap = new int[Math.max(0, capacity)];
+            this.scores = scores;
+        }
+
+        void offer(int doc) {
+            if (size < heap.length) {
+                heap[size] = doc;
+                up(size++);
+            } else if (size > 0 && less(heap[0], doc)) {
+                heap[0] = doc;
+                down(0);
+            }
+        }
+
+        /** @return Docs, best first */
+        int[] drain() {
+            int[] ranked = new int[size];
+            while (size > 0) {
+                ranked[size - 1] = heap[0];
+                heap[0] = heap[--size];
+                down(0);
+            }
+            return ranked;
+        }
+
+        private boolean less(int a, int b) {
+            return scores[a] != scores[b] ? scores[a] < scores[b] : a < b;
+        }
+
+        private void up(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(heap[i], heap[parent])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void down(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && less(heap[left], heap[smallest])) smallest = left;
+                if (right < size && less(heap[right], heap[smallest])) smallest = right;
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int t = heap[i];
+            heap[i] = heap[j];
+            heap[j] = t;
+        }
+    }
+
+    public static final class Hit {
+        private final long blogId;
+        private final float score;
+
+        Hit(long blogId, float score) {
+            this.blogId = blogId;
+            this.score = score;
+        }
+
+        public long getBlogId() { return blogId; }
+        public float getScore() { return score; }
+    }
+
+    public static final class Result {
+        private final int total;
+        private final List<Hit> hits;
+
+        Result(int total, List<Hit> hits) {
+            this.total = total;
+            this.hits = hits;
+        }
+
+        /** Documents matching at least one term */
+        public int getTotal() { return total; }
+        public List<Hit> getHits() { return hits; }
+    }
+}
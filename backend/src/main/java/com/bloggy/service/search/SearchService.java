@@ -0,0 +1,247 @@
+package com.bloggy.service.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bloggy.dto.BlogSummary;
+import com.bloggy.dto.SearchHit;
+import com.bloggy.event.BlogStatusChangedEvent;
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+import com.bloggy.repository.BlogRepository;
+import com.bloggy.service.TfIdfTagGenerator;
+import com.bloggy.service.analysis.TextAnalysis;
+import com.bloggy.service.analysis.Token;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over APPROVED blogs.
+ *
+ * Text goes through the same scanner and stemmer as tag generation (title words count twice).
+ * The index follows publish/unpublish events and is rebuilt from the database in the
+ * background at startup; changes that arrive mid-rebuild are replayed onto the new index
+ * before it replaces the old one.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int REBUILD_BATCH = 500;
+    private static final int MAX_HIGHLIGHTS = 20;
+    private static final int SNIPPET_LEAD = 60;
+
+    @Autowired
+    private BlogRepository blogRepo;
+
+    private volatile SearchIndex index = new SearchIndex();
+
+    // Non-null while a rebuild runs; guarded by itself
+    private final Object changeLock = new Object();
+    private List<Change> pendingChanges;
+    private volatile boolean ready;
+
+    // After commit, so the index never holds a change that rolls back
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(BlogStatusChangedEvent event) {
+        Blog blog = event.getBlog();
+        if (event.isPublished() || event.isRevised()) {
+            apply(new Change(blog.getId(), termFrequencies(blog)));
+        } else if (event.isUnpublished()) {
+            apply(new Change(blog.getId(), null));
+        }
+    }
+
+    /**
+     * @param page Zero-based page
+     * @return The page of hits plus the total number of matching blogs
+     */
+    public Map<String, Object> search(String query, int page, int size) {
+        Set<String> terms = queryTerms(query);
+        SearchIndex.Result result = index.search(terms, page * size, size);
+
+        List<Long> ids = result.getHits().stream().map(SearchIndex.Hit::getBlogId).toList();
+        Map<Long, Blog> blogs = blogRepo.findWithBodyByIdIn(ids).stream()
+            .collect(Collectors.toMap(Blog::getId, Function.identity()));
+
+        List<SearchHit> hits = new ArrayList<>();
+        for (SearchIndex.Hit hit : result.getHits()) {
+            Blog blog = blogs.get(hit.getBlogId());
+            if (blog != null && blog.getStatus() == Status.APPROVED) {
+                hits.add(toHit(blog, hit.getScore(), terms));
+            }
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("query", query);
+        response.put("page", page);
+        response.put("size", size);
+        response.put("total", result.getTotal());
+        response.put("hits", hits);
+        return response;
+    }
+
+    public Map<String, Object> stats() {
+        SearchIndex current = index;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("documents", current.size());
+        stats.put("terms", current.getTermCount());
+        stats.put("postingBytes", current.getPostingBytes());
+        return stats;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread thread = new Thread(this::rebuild, "search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Index every APPROVED blog into a fresh index and swap it in
+     */
+    public void rebuild() {
+        synchronized (changeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        long started = System.currentTimeMillis();
+        SearchIndex rebuilt = new SearchIndex();
+        long lastId = 0;
+        List<Blog> batch;
+        do {
+            batch = blogRepo.findByStatusAndIdGreaterThanOrderByIdAsc(Status.APPROVED, lastId, Limit.of(REBUILD_BATCH));
+            for (Blog blog : batch) {
+                rebuilt.add(blog.getId(), termFrequencies(blog));
+                lastId = blog.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH);
+
+        synchronized (changeLock) {
+            for (Change change : pendingChanges) {
+                change.applyTo(rebuilt);
+            }
+            pendingChanges = null;
+            index = rebuilt;
+        }
+        ready = true;
+        log.info("Search index built: {} blogs, {} terms, {} KB postings in {} ms", rebuilt.size(),
+            rebuilt.getTermCount(), rebuilt.getPostingBytes() / 1024, System.currentTimeMillis() - started);
+    }
+
+    private void apply(Change change) {
+        synchronized (changeLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            change.applyTo(index);
+        }
+    }
+
+    /** Weighted term counts of a blog: title words count TITLE_WEIGHT times */
+    public static Map<String, Integer> termFrequencies(Blog blog) {
+        TextAnalysis text = TextAnalysis.of(blog.getTitle(), blog.getContent());
+        Map<String, Integer> freqs = new HashMap<>();
+        addTerms(text.getTitleTokens(), TITLE_WEIGHT, freqs);
+        addTerms(text.getContentTokens(), 1, freqs);
+        return freqs;
+    }
+
+    /** Distinct normalized terms of a query, in query order */
+    public static Set<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (Token token : TextAnalysis.of(null, query).getContentTokens()) {
+            String term = TfIdfTagGenerator.normalize(token.getTerm(), MIN_TERM_LENGTH);
+            if (term != null) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerms(List<Token> tokens, int weight, Map<String, Integer> out) {
+        for (Token token : tokens) {
+            String term = TfIdfTagGenerator.normalize(token.getTerm(), MIN_TERM_LENGTH);
+            if (term != null) {
+                out.merge(term, weight, Integer::sum);
+            }
+        }
+    }
+
+    private static SearchHit toHit(Blog blog, float score, Set<String> terms) {
+        TextAnalysis text = TextAnalysis.of(blog.getTitle(), blog.getContent());
+        List<int[]> titleHighlights = highlights(text.getTitleTokens(), terms);
+
+        // Snippet starts a little before the first matched word of the content
+        String content = text.getContent();
+        List<int[]> contentMatches = highlights(text.getContentTokens(), terms);
+        int start = 0;
+        if (!contentMatches.isEmpty()) {
+            start = Math.max(0, contentMatches.get(0)[0] - SNIPPET_LEAD);
+            int space = content.lastIndexOf(' ', contentMatches.get(0)[0]);
+            if (space >= start) {
+                start = space + 1;
+            }
+        }
+        int end = Math.min(content.length(), start + BlogSummary.SNIPPET_LENGTH);
+        List<int[]> snippetHighlights = new ArrayList<>();
+        for (int[] m : contentMatches) {
+            if (m[0] >= start && m[1] <= end) {
+                snippetHighlights.add(new int[] {m[0] - start, m[1] - start});
+            }
+        }
+        return new SearchHit(blog.getId(), blog.getTitle(), blog.getAuthor(), blog.getCreatedAt(), score,
+            content.substring(start, end), titleHighlights, snippetHighlights);
+    }
+
+    private static List<int[]> highlights(List<Token> tokens, Set<String> terms) {
+        List<int[]> out = new ArrayList<>();
+        for (Token token : tokens) {
+            if (out.size() == MAX_HIGHLIGHTS) {
+                break;
+            }
+            String term = TfIdfTagGenerator.normalize(token.getTerm(), MIN_TERM_LENGTH);
+            if (term != null && terms.contains(term)) {
+                out.add(new int[] {token.getStart(), token.getEnd()});
+            }
+        }
+        return out;
+    }
+
+    /** An add (terms non-null) or a removal, replayable onto a rebuilt index */
+    private static final class Change {
+        final long blogId;
+        final Map<String, Integer> terms;
+
+        Change(long blogId, Map<String, Integer> terms) {
+            this.blogId = blogId;
+            this.terms = terms;
+        }
+
+        void applyTo(SearchIndex target) {
+            if (terms != null) {
+                target.add(blogId, terms);
+            } else {
+                target.remove(blogId);
+            }
+        }
+    }
+}
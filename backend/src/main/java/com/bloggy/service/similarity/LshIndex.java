@@ -0,0 +1,194 @@
+package com.bloggy.service.similarity;
+
+import com.bloggy.util.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hash index of MinHash signatures.
+ *
+ * A signature is cut into {@link #BANDS} bands of {@link #ROWS} slots; two blogs become
+ * candidates when any band matches exactly, which happens with probability 1 - (1 - s^ROWS)^BANDS
+ * for Jaccard similarity s (about 50% at s = 0.5, 99% at s = 0.75). Only candidates are compared,
+ * so a lookup costs a few bucket walks rather than a pass over the corpus.
+ *
+ * Buckets are intrusive doubly linked chains over int arrays: one map slot per bucket and two
+ * ints per (blog, band), with no boxing. A re-indexed blog is unlinked from its old buckets and
+ * keeps its doc number, so replaced signatures take no space and never count as candidates.
+ * Thread-safe: many readers, one writer.
+ */
+public final class LshIndex {
+
+    static final int BANDS = 16;
+    static final int ROWS = MinHash.SIZE / BANDS;
+
+    // Bounds the work on a degenerate bucket (boilerplate posts all hashing alike)
+    private static final int MAX_CANDIDATES_PER_BAND = 1_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // band key -> first entry + 1; entry = doc * BANDS + band; next/prev hold entry + 1, 0 at the ends
+    private final LongIntHashMap heads = new LongIntHashMap(16384);
+    private int[] next = new int[1024 * BANDS];
+    private int[] prev = new int[1024 * BANDS];
+
+    // Per internal doc number
+    private long[] blogIds = new long[1024];
+    private int[] signatures = new int[1024 * MinHash.SIZE];
+    private int docCount;
+
+    // blogId -> doc number + 1
+    private final LongIntHashMap docNos = new LongIntHashMap(1024);
+
+    /**
+     * Index a blog's signature, replacing any earlier one
+     */
+    public void add(long blogId, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            int doc = docNos.get(blogId) - 1;
+            if (doc >= 0) {
+                unlink(doc);
+            } else {
+                doc = docCount++;
+                if (doc == blogIds.length) {
+                    blogIds = Arrays.copyOf(blogIds, doc * 2);
+                    signatures = Arrays.copyOf(signatures, doc * 2 * MinHash.SIZE);
+                    next = Arrays.copyOf(next, doc * 2 * BANDS);
+                    prev = Arrays.copyOf(prev, doc * 2 * BANDS);
+                }
+                blogIds[doc] = blogId;
+                docNos.put(blogId, doc + 1);
+            }
+            System.arraycopy(signature, 0, signatures, doc * MinHash.SIZE, MinHash.SIZE);
+            for (int band = 0; band < BANDS; band++) {
+                long key = bandKey(signature, 0, band);
+                int entry = doc * BANDS + band;
+                int head = heads.get(key);
+                next[entry] = head;
+                prev[entry] = 0;
+                if (head != 0) {
+                    prev[head - 1] = entry + 1;
+                }
+                heads.put(key, entry + 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long blogId) {
+        lock.readLock().lock();
+        try {
+            return docNos.get(blogId) != 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docNos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param excludeBlogId Blog to leave out (the one being checked), or null
+     * @param minSimilarity Matches below this estimated similarity are dropped
+     * @param limit Most matches to return
+     * @return Closest blogs, most similar first
+     */
+    public List<Match> query(int[] signature, Long excludeBlogId, double minSimilarity, int limit) {
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Integer> seen = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                int examined = 0;
+                for (int e = heads.get(bandKey(signature, 0, band)); e != 0 && examined < MAX_CANDIDATES_PER_BAND; e = next[e - 1]) {
+                    int doc = (e - 1) / BANDS;
+                    examined++;
+                    if (!seen.add(doc)) {
+                        continue;
+                    }
+                    long blogId = blogIds[doc];
+                    if (excludeBlogId != null && blogId == excludeBlogId) {
+                        continue;
+                    }
+                    double similarity = similarity(signature, doc);
+                    if (similarity >= minSimilarity) {
+                        matches.add(new Match(blogId, similarity));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort((a, b) -> Double.compare(b.getSimilarity(), a.getSimilarity()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /** Take a doc's entries out of the buckets of its stored signature */
+    private void unlink(int doc) {
+        for (int band = 0; band < BANDS; band++) {
+            int entry = doc * BANDS + band;
+            int before = prev[entry];
+            int after = next[entry];
+            if (before == 0) {
+                long key = bandKey(signatures, doc * MinHash.SIZE, band);
+                if (after == 0) {
+                    heads.remove(key);
+                } else {
+                    heads.put(key, after);
+                }
+            } else {
+                next[before - 1] = after;
+            }
+            if (after != 0) {
+                prev[after - 1] = before;
+            }
+        }
+    }
+
+    private double similarity(int[] signature, int doc) {
+        int base = doc * MinHash.SIZE;
+        int equal = 0;
+        for (int i = 0; i < MinHash.SIZE; i++) {
+            if (signature[i] == signatures[base + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / MinHash.SIZE;
+    }
+
+    /** @param offset Where the signature starts in the array */
+    private static long bandKey(int[] signature, int offset, int band) {
+        long h = band + 1;
+        for (int i = offset + band * ROWS; i < offset + (band + 1) * ROWS; i++) {
+            h = MinHash.mix(h * 31 + signature[i]);
+        }
+        return h == 0 ? 1 : h;
+    }
+
+    public static final class Match {
+        private final long blogId;
+        private final double similarity;
+
+        Match(long blogId, double similarity) {
+            this.blogId = blogId;
+            this.similarity = similarity;
+        }
+
+        public long getBlogId() { return blogId; }
+        public double getSimilarity() { return similarity; }
+    }
+}
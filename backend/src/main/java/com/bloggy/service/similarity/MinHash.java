@@ -0,0 +1,158 @@
+package com.bloggy.service.similarity;
+
+import com.bloggy.service.analysis.TextAnalysis;
+import com.bloggy.service.analysis.Token;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MinHash signatures over word shingles of a blog's content.
+ *
+ * Each shingle is three consecutive words, hashed once to 64 bits; slot i of the signature is
+ * the minimum of that hash re-mixed with seed i. The share of equal slots between two
+ * signatures estimates the Jaccard similarity of their shingle sets.
+ */
+public final class MinHash {
+
+    public static final int SIZE = 64;
+    public static final int SHINGLE_WORDS = 3;
+
+    private static final long[] SEEDS = new long[SIZE];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SIZE; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private MinHash() {}
+
+    /**
+     * @return Signature of the content, or null if it has no words
+     */
+    public static int[] signature(TextAnalysis text) {
+        List<Token> tokens = text.getContentTokens();
+        return signature(new AbstractList<String>() {
+            @Override
+            public String get(int index) { return tokens.get(index).getTerm(); }
+
+            @Override
+            public int size() { return tokens.size(); }
+        });
+    }
+
+    /**
+     * @param terms Words of the content, in order
+     * @return Signature of the content, or null if it has no words
+     */
+    public static int[] signature(List<String> terms) {
+        if (terms.isEmpty()) {
+            return null;
+        }
+        if (terms.size() < SHINGLE_WORDS) {
+            // Texts shorter than one shingle are a single shingle of all their words
+            int[] signature = empty();
+            addShingle(signature, terms, 0, terms.size());
+            return signature;
+        }
+        return shingles(terms);
+    }
+
+    /**
+     * Signature over every whole shingle of the terms; unlike {@link #signature(List)} a text
+     * shorter than one shingle contributes nothing. Signatures of pieces of a text combine
+     * with {@link #union} and {@link #addShingle} into the signature of the whole.
+     * @return null if there are fewer than SHINGLE_WORDS terms
+     */
+    public static int[] shingles(List<String> terms) {
+        if (terms.size() < SHINGLE_WORDS) {
+            return null;
+        }
+        int[] signature = empty();
+        for (int s = 0; s + SHINGLE_WORDS <= terms.size(); s++) {
+            addShingle(signature, terms, s, s + SHINGLE_WORDS);
+        }
+        return signature;
+    }
+
+    /** Signature of no shingles: every slot at its maximum */
+    public static int[] empty() {
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        return signature;
+    }
+
+    /** Lower the signature's slots with the shingle of terms [from, to) */
+    public static void addShingle(int[] signature, List<String> terms, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int w = from; w < to; w++) {
+            String term = terms.get(w);
+            for (int c = 0; c < term.length(); c++) {
+                h = (h ^ term.charAt(c)) * 0x100000001b3L;
+            }
+            h = (h ^ ' ') * 0x100000001b3L;
+        }
+        for (int i = 0; i < SIZE; i++) {
+            int v = (int) (mix(h ^ SEEDS[i]) >>> 33);
+            if (v < signature[i]) {
+                signature[i] = v;
+            }
+        }
+    }
+
+    /** Slot-wise minimum, i.e. the signature of both shingle sets together, written into target */
+    public static void union(int[] target, int[] other) {
+        for (int i = 0; i < SIZE; i++) {
+            if (other[i] < target[i]) {
+                target[i] = other[i];
+            }
+        }
+    }
+
+    /** Estimated Jaccard similarity of the shingle sets, 0..1 */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIZE;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        byte[] bytes = new byte[SIZE * 4];
+        for (int i = 0; i < SIZE; i++) {
+            int v = signature[i];
+            bytes[4 * i] = (byte) (v >>> 24);
+            bytes[4 * i + 1] = (byte) (v >>> 16);
+            bytes[4 * i + 2] = (byte) (v >>> 8);
+            bytes[4 * i + 3] = (byte) v;
+        }
+        return bytes;
+    }
+
+    /** @return null if the bytes are not a signature of this size */
+    public static int[] fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != SIZE * 4) {
+            return null;
+        }
+        int[] signature = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            signature[i] = (bytes[4 * i] & 0xFF) << 24 | (bytes[4 * i + 1] & 0xFF) << 16
+                | (bytes[4 * i + 2] & 0xFF) << 8 | (bytes[4 * i + 3] & 0xFF);
+        }
+        return signature;
+    }
+
+    /** SplitMix64 finalizer */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
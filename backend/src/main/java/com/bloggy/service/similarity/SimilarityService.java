@@ -0,0 +1,138 @@
+package com.bloggy.service.similarity;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.bloggy.model.Blog;
+import com.bloggy.model.BlogFingerprint;
+import com.bloggy.model.Status;
+import com.bloggy.repository.BlogFingerprintRepository;
+import com.bloggy.service.analysis.TextAnalysis;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Near-duplicate lookup against every moderated blog.
+ *
+ * Signatures are persisted as each blog is moderated. At startup the LSH index is filled from
+ * the stored fingerprints in the background (no text is re-read), then blogs moderated before
+ * fingerprinting existed are shingled once and stored.
+ */
+@Service
+public class SimilarityService {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarityService.class);
+
+    private static final int LOAD_BATCH = 1_000;
+    private static final int BACKFILL_BATCH = 200;
+    private static final Set<Status> MODERATED = EnumSet.of(Status.APPROVED, Status.REVIEW, Status.REJECTED);
+
+    @Autowired
+    private BlogFingerprintRepository fingerprintRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Value("${similarity.min-score:0.3}")
+    private double minScore;
+
+    @Value("${similarity.max-matches:5}")
+    private int maxMatches;
+
+    private final LshIndex index = new LshIndex();
+    private volatile boolean ready;
+
+    /**
+     * @param excludeBlogId The blog being checked, so it never matches itself
+     * @return Closest indexed blogs, most similar first
+     */
+    public List<LshIndex.Match> findSimilar(int[] signature, Long excludeBlogId) {
+        return index.query(signature, excludeBlogId, minScore, maxMatches);
+    }
+
+    /**
+     * Store and index a blog's signature
+     */
+    public void record(Long blogId, int[] signature) {
+        fingerprintRepo.save(new BlogFingerprint(blogId, MinHash.toBytes(signature)));
+        index.add(blogId, signature);
+    }
+
+    /**
+     * Store and index many signatures at once; one JDBC batch instead of a merge per blog
+     * @param signatures By blog ID, for blogs that have no fingerprint yet
+     */
+    public void recordAll(Map<Long, int[]> signatures) {
+        List<Object[]> rows = new ArrayList<>(signatures.size());
+        signatures.forEach((blogId, signature) -> rows.add(new Object[] { blogId, MinHash.toBytes(signature) }));
+        jdbc.batchUpdate("INSERT INTO blog_fingerprints (blog_id, signature) VALUES (?, ?)", rows);
+        signatures.forEach(index::add);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("blogs", index.size());
+        stats.put("bands", LshIndex.BANDS);
+        stats.put("rows", LshIndex.ROWS);
+        stats.put("minScore", minScore);
+        return stats;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread thread = new Thread(this::load, "similarity-load");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void load() {
+        long started = System.currentTimeMillis();
+        int loaded = 0;
+        long lastId = 0;
+        List<BlogFingerprint> batch;
+        do {
+            batch = fingerprintRepo.findByBlogIdGreaterThanOrderByBlogIdAsc(lastId, Limit.of(LOAD_BATCH));
+            for (BlogFingerprint fingerprint : batch) {
+                int[] signature = MinHash.fromBytes(fingerprint.getSignature());
+                // Blogs moderated meanwhile were indexed by record() with a fresher signature
+                if (signature != null && !index.contains(fingerprint.getBlogId())) {
+                    index.add(fingerprint.getBlogId(), signature);
+                    loaded++;
+                }
+                lastId = fingerprint.getBlogId();
+            }
+        } while (batch.size() == LOAD_BATCH);
+
+        int backfilled = 0;
+        lastId = 0;
+        List<Blog> blogs;
+        do {
+            blogs = fingerprintRepo.findBlogsWithoutFingerprint(lastId, MODERATED, Limit.of(BACKFILL_BATCH));
+            for (Blog blog : blogs) {
+                int[] signature = MinHash.signature(TextAnalysis.of(blog.getTitle(), blog.getContent()));
+                if (signature != null) {
+                    record(blog.getId(), signature);
+                    backfilled++;
+                }
+                lastId = blog.getId();
+            }
+        } while (blogs.size() == BACKFILL_BATCH);
+
+        ready = true;
+        log.info("Similarity index loaded: {} fingerprints, {} backfilled in {} ms", loaded, backfilled,
+            System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,64 @@
+package com.bloggy.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Blocking token bucket: permits refill continuously at a fixed rate up to a one-second burst.
+ * Thread-safe. Each caller reserves its permits under a short lock, going into debt if need be,
+ * and sleeps off its share of the debt outside it, so later callers wait behind earlier ones
+ * and a waiting virtual thread never pins its carrier.
+ */
+public final class RateLimiter {
+
+    private final double permitsPerNano;
+    private final double maxPermits;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double permits;
+    private long refilledAt;
+
+    public RateLimiter(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + permitsPerSecond);
+        }
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.maxPermits = Math.max(1, permitsPerSecond);
+        this.permits = maxPermits;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Wait until n permits are available and take them. Requests larger than the burst
+     * size are allowed and simply wait longer.
+     */
+    public void acquire(int n) throws InterruptedException {
+        long waitNanos;
+        lock.lock();
+        try {
+            refill();
+            permits -= n;
+            waitNanos = permits < 0 ? (long) (-permits / permitsPerNano) : 0;
+        } finally {
+            lock.unlock();
+        }
+        if (waitNanos > 0) {
+            try {
+                Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                // Hand the reservation back so callers behind this one don't wait for it
+                lock.lock();
+                try {
+                    permits += n;
+                } finally {
+                    lock.unlock();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        permits = Math.min(maxPermits, permits + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bloggy.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class BlogBodyTest {
+
+	@Test
+	void compressesRepetitiveText() {
+		String content = "Tomatoes go in after the last frost. ".repeat(200);
+
+		byte[] data = BlogBody.encode(content);
+
+		assertThat(data.length).isLessThan(content.length() / 10);
+		assertThat(BlogBody.decode(data)).isEqualTo(content);
+	}
+
+	@Test
+	void storesShortAndIncompressibleTextAsIs() {
+		Random random = new Random(3);
+		StringBuilder noise = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			noise.appendCodePoint(0x4E00 + random.nextInt(20000));
+		}
+
+		for (String content : new String[] { "", "Short post", "emoji 🍅 and ü", noise.toString() }) {
+			byte[] data = BlogBody.encode(content);
+			assertThat(data.length).isLessThanOrEqualTo(content.getBytes(StandardCharsets.UTF_8).length + 1);
+			assertThat(BlogBody.decode(data)).isEqualTo(content);
+		}
+	}
+
+	@Test
+	void settingContentKeepsTheSnippetInStep() {
+		Blog blog = new Blog();
+		blog.setContent("x".repeat(Blog.SNIPPET_LENGTH + 50));
+
+		assertThat(blog.getSnippet()).hasSize(Blog.SNIPPET_LENGTH);
+
+		blog.setContent("edited");
+
+		assertThat(blog.getSnippet()).isEqualTo("edited");
+		assertThat(blog.getContent()).isEqualTo("edited");
+	}
+}
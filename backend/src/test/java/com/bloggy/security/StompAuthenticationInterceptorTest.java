@@ -0,0 +1,111 @@
+package com.bloggy.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bloggy.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class StompAuthenticationInterceptorTest {
+
+	private final TokenService tokens = new TokenService();
+	private StompAuthenticationInterceptor interceptor;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(tokens, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(tokens, "secret", "test-secret-that-is-at-least-32-bytes-long");
+		ReflectionTestUtils.setField(tokens, "expirationMs", 60_000L);
+		tokens.init();
+		interceptor = new StompAuthenticationInterceptor(tokens, List.of("/topic/moderation"), "/topic");
+	}
+
+	@Test
+	void connectWithTokenSetsTheSessionUser() {
+		StompHeaderAccessor connect = frame(StompCommand.CONNECT, null, null);
+		connect.setNativeHeader("Authorization", "Bearer " + tokens.issue(user("ADMIN")));
+
+		interceptor.preSend(message(connect), null);
+
+		assertThat(connect.getUser()).isInstanceOfSatisfying(Authentication.class, authentication -> {
+			assertThat(((AuthenticatedUser) authentication.getPrincipal()).getId()).isEqualTo(7L);
+			assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+		});
+	}
+
+	@Test
+	void connectWithBadTokenIsRefused() {
+		StompHeaderAccessor connect = frame(StompCommand.CONNECT, null, null);
+		connect.setNativeHeader("Authorization", "Bearer not-a-token");
+
+		assertThatThrownBy(() -> interceptor.preSend(message(connect), null))
+			.isInstanceOf(MessageDeliveryException.class)
+			.hasMessageContaining("Malformed token");
+	}
+
+	@Test
+	void onlyAdminsSubscribeToModeration() {
+		Principal admin = session("ADMIN");
+		Principal user = session("USER");
+
+		interceptor.preSend(message(frame(StompCommand.SUBSCRIBE, "/topic/moderation", admin)), null);
+		interceptor.preSend(message(frame(StompCommand.SUBSCRIBE, "/topic/blogs/1", user)), null);
+		interceptor.preSend(message(frame(StompCommand.SUBSCRIBE, "/topic/authors/Ann", null)), null);
+
+		assertThatThrownBy(() -> interceptor.preSend(message(frame(StompCommand.SUBSCRIBE, "/topic/moderation", user)), null))
+			.isInstanceOf(MessageDeliveryException.class);
+		assertThatThrownBy(() -> interceptor.preSend(message(frame(StompCommand.SUBSCRIBE, "/topic/moderation", null)), null))
+			.isInstanceOf(MessageDeliveryException.class);
+		// A pattern that covers the topic is the same subscription
+		assertThatThrownBy(() -> interceptor.preSend(message(frame(StompCommand.SUBSCRIBE, "/topic/*", user)), null))
+			.isInstanceOf(MessageDeliveryException.class);
+	}
+
+	@Test
+	void clientsCannotSendToBrokerTopics() {
+		assertThatThrownBy(() -> interceptor.preSend(message(frame(StompCommand.SEND, "/topic/moderation", session("ADMIN"))), null))
+			.isInstanceOf(MessageDeliveryException.class);
+		interceptor.preSend(message(frame(StompCommand.SEND, "/app/ping", null)), null);
+	}
+
+	private Principal session(String role) {
+		StompHeaderAccessor connect = frame(StompCommand.CONNECT, null, null);
+		connect.setNativeHeader("Authorization", "Bearer " + tokens.issue(user(role)));
+		interceptor.preSend(message(connect), null);
+		return connect.getUser();
+	}
+
+	private static StompHeaderAccessor frame(StompCommand command, String destination, Principal user) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+		accessor.setDestination(destination);
+		accessor.setUser(user);
+		accessor.setLeaveMutable(true);
+		return accessor;
+	}
+
+	private static Message<byte[]> message(StompHeaderAccessor accessor) {
+		return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+	}
+
+	private static User user(String role) {
+		User user = new User();
+		user.setId(7L);
+		user.setName("Ann");
+		user.setEmail("ann@example.com");
+		user.setRole(role);
+		return user;
+	}
+}
@@ -0,0 +1,86 @@
+package com.bloggy.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bloggy.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TokenServiceTest {
+
+	private final TokenService tokens = new TokenService();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(tokens, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(tokens, "secret", "test-secret-that-is-at-least-32-bytes-long");
+		ReflectionTestUtils.setField(tokens, "expirationMs", 60_000L);
+		tokens.init();
+	}
+
+	@Test
+	void verifiesIssuedToken() {
+		AuthenticatedUser principal = tokens.verify(tokens.issue(user("ADMIN")));
+
+		assertThat(principal.getId()).isEqualTo(7L);
+		assertThat(principal.getName()).isEqualTo("Ann");
+		assertThat(principal.getEmail()).isEqualTo("ann@example.com");
+		assertThat(principal.isAdmin()).isTrue();
+	}
+
+	@Test
+	void rejectsTamperedClaims() {
+		String token = tokens.issue(user("USER"));
+		String[] parts = token.split("\\.");
+		String forged = tokens.issue(user("ADMIN")).split("\\.")[1];
+
+		assertThatThrownBy(() -> tokens.verify(parts[0] + "." + forged + "." + parts[2]))
+			.hasMessage("Bad token signature");
+	}
+
+	@Test
+	void rejectsExpiredAndMalformedTokens() {
+		ReflectionTestUtils.setField(tokens, "expirationMs", -1_000L);
+		String expired = tokens.issue(user("USER"));
+
+		assertThatThrownBy(() -> tokens.verify(expired)).hasMessage("Token expired");
+		assertThatThrownBy(() -> tokens.verify("not-a-token")).hasMessage("Malformed token");
+	}
+
+	@Test
+	void verifiesConcurrentlyOnVirtualThreadsWithPooledMacs() throws Exception {
+		String token = tokens.issue(user("USER"));
+		AtomicInteger verified = new AtomicInteger();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < 1_000; i++) {
+				executor.submit(() -> {
+					if (tokens.verify(token).getId() == 7L) {
+						verified.incrementAndGet();
+					}
+				});
+			}
+		}
+
+		assertThat(verified).hasValue(1_000);
+		// Bounded by the pool, not by the number of threads that ever verified
+		assertThat((Collection<?>) ReflectionTestUtils.getField(tokens, "macs")).hasSizeLessThanOrEqualTo(64);
+	}
+
+	private static User user(String role) {
+		User user = new User();
+		user.setId(7L);
+		user.setName("Ann");
+		user.setEmail("ann@example.com");
+		user.setRole(role);
+		return user;
+	}
+}
@@ -0,0 +1,91 @@
+package com.bloggy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+import com.bloggy.repository.BlogRepository;
+import com.bloggy.service.analysis.BlogText;
+import com.bloggy.service.profanity.ProfanityMatcher;
+import com.bloggy.service.similarity.SimilarityService;
+
+import io.micrometer.observation.ObservationRegistry;
+
+class BlogProcessingServiceTest {
+
+	private final BlogRepository blogRepo = mock(BlogRepository.class);
+	private final EmailService emailService = mock(EmailService.class);
+	private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+	private final AnalysisCacheService analysisCache = mock(AnalysisCacheService.class);
+	private final BlogProcessingService service = new BlogProcessingService();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "blogRepo", blogRepo);
+		ReflectionTestUtils.setField(service, "emailService", emailService);
+		ReflectionTestUtils.setField(service, "events", events);
+		ReflectionTestUtils.setField(service, "observations", ObservationRegistry.create());
+		ReflectionTestUtils.setField(service, "analysisCache", analysisCache);
+		ReflectionTestUtils.setField(service, "similarityService", mock(SimilarityService.class));
+		ReflectionTestUtils.setField(service, "analyzers", List.of());
+		when(analysisCache.analyze(any(), any()))
+			.thenAnswer(invocation -> BlogText.of(invocation.getArgument(0), invocation.getArgument(1), ProfanityMatcher.empty()));
+		when(blogRepo.save(any(Blog.class))).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@Test
+	void followersAreEmailedOnlyAfterTheApprovalIsSaved() {
+		Blog blog = blog();
+
+		service.processBlog(blog);
+
+		assertThat(blog.getStatus()).isEqualTo(Status.APPROVED);
+		InOrder order = inOrder(blogRepo, emailService);
+		// PROCESSING, then the decision
+		order.verify(blogRepo, times(2)).save(blog);
+		order.verify(emailService).sendNewBlogNotification(blog);
+	}
+
+	@Test
+	void failedSaveSendsNothingAndTheRetrySendsOnce() {
+		Blog blog = blog();
+		when(blogRepo.save(any(Blog.class)))
+			.thenAnswer(invocation -> invocation.getArgument(0))
+			.thenThrow(new IllegalStateException("database down"));
+
+		assertThatThrownBy(() -> service.processBlog(blog)).hasMessageContaining("database down");
+		verify(emailService, never()).sendNewBlogNotification(any());
+
+		// The retry saves the approval; a further retry finds the blog decided
+		when(blogRepo.save(any(Blog.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		Blog retried = blog();
+		service.processBlog(retried);
+		service.processBlog(retried);
+		verify(emailService).sendNewBlogNotification(retried);
+	}
+
+	private static Blog blog() {
+		Blog blog = new Blog();
+		blog.setId(1L);
+		blog.setTitle("Title");
+		blog.setAuthor("ann");
+		blog.setContent("Clean content");
+		return blog;
+	}
+}
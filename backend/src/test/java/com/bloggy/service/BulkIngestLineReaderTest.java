@@ -0,0 +1,34 @@
+package com.bloggy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+class BulkIngestLineReaderTest {
+
+	@Test
+	void splitsOnNewlinesAndCountsEveryLine() throws IOException {
+		BulkIngestService.LineReader lines = new BulkIngestService.LineReader(new StringReader("a\r\n\nb"), 100);
+
+		assertThat(lines.next()).isEqualTo("a");
+		assertThat(lines.next()).isEmpty();
+		assertThat(lines.next()).isEqualTo("b");
+		assertThat(lines.getNumber()).isEqualTo(3);
+		assertThat(lines.next()).isNull();
+	}
+
+	@Test
+	void overlongLineIsCappedAndTheNextOneIsIntact() throws IOException {
+		String longLine = "x".repeat(20_000);
+		BulkIngestService.LineReader lines = new BulkIngestService.LineReader(new StringReader(longLine + "\nok\n"), 10);
+
+		assertThat(lines.next()).hasSize(10);
+		assertThat(lines.wasTruncated()).isTrue();
+		assertThat(lines.next()).isEqualTo("ok");
+		assertThat(lines.wasTruncated()).isFalse();
+		assertThat(lines.next()).isNull();
+	}
+}
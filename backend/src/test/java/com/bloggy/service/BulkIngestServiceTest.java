@@ -0,0 +1,170 @@
+package com.bloggy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bloggy.event.BlogStatusChangedEvent;
+import com.bloggy.model.Blog;
+import com.bloggy.model.BlogBody;
+import com.bloggy.model.Status;
+import com.bloggy.service.analysis.BlogText;
+import com.bloggy.service.profanity.ProfanityMatcher;
+import com.bloggy.service.similarity.SimilarityService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+class BulkIngestServiceTest {
+
+	private final ObjectMapper objectMapper = JsonMapper.builder()
+		.findAndAddModules()
+		.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+		.build();
+	private final BlogProcessingService processingService = mock(BlogProcessingService.class);
+	private final SimilarityService similarityService = mock(SimilarityService.class);
+	private final EmailService emailService = mock(EmailService.class);
+	private final List<BlogStatusChangedEvent> events = new ArrayList<>();
+	private final BulkIngestService service = new BulkIngestService();
+	private JdbcTemplate jdbc;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:ingest;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+		jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE blog_bodies (id BIGINT AUTO_INCREMENT PRIMARY KEY, data VARBINARY(100000) NOT NULL)");
+		jdbc.execute("CREATE TABLE blogs (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255), author VARCHAR(255),"
+			+ " body_id BIGINT, snippet VARCHAR(300), status VARCHAR(20), tags VARCHAR(255), seo_score DOUBLE,"
+			+ " ai_similarity_score DOUBLE, similar_blog_ids VARCHAR(255), profanity_found BOOLEAN,"
+			+ " created_at TIMESTAMP(6), updated_at TIMESTAMP(6))");
+		// Keys that differ from line numbers and between the tables, so a mix-up shows
+		jdbc.execute("ALTER TABLE blog_bodies ALTER COLUMN id RESTART WITH 500");
+		jdbc.execute("ALTER TABLE blogs ALTER COLUMN id RESTART WITH 100");
+
+		ApplicationEventPublisher publisher = event -> events.add((BlogStatusChangedEvent) event);
+		ReflectionTestUtils.setField(service, "processingService", processingService);
+		ReflectionTestUtils.setField(service, "similarityService", similarityService);
+		ReflectionTestUtils.setField(service, "emailService", emailService);
+		ReflectionTestUtils.setField(service, "events", publisher);
+		ReflectionTestUtils.setField(service, "jdbc", jdbc);
+		ReflectionTestUtils.setField(service, "transactions", new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+		ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(service, "executor", new SyncTaskExecutor());
+		ReflectionTestUtils.setField(service, "chunkSize", 3);
+		ReflectionTestUtils.setField(service, "parallelism", 2);
+		ReflectionTestUtils.setField(service, "maxLineLength", 10_000);
+		service.init();
+
+		// Approve everything except titles that ask for review
+		when(processingService.analyze(any(Blog.class))).thenAnswer(invocation -> {
+			Blog blog = invocation.getArgument(0);
+			blog.setStatus(blog.getTitle().startsWith("Review") ? Status.REVIEW : Status.APPROVED);
+			return BlogText.of(blog.getTitle(), blog.getContent(), ProfanityMatcher.empty());
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbc.execute("DROP ALL OBJECTS");
+	}
+
+	@Test
+	void insertsChunksInBatchesAndMapsKeysBackToLines() throws IOException {
+		String input = String.join("\n",
+			blog("First", "ann"),
+			"{not json",
+			blog("Review me", "bob"),
+			"",
+			"{\"title\":\"No content\",\"author\":\"ann\"}",
+			blog("Fourth", "cy"),
+			blog("Fifth", "dee"));
+
+		List<Map<String, Object>> results = ingest(input, true);
+
+		assertThat(results).hasSize(7);
+		Map<Object, Map<String, Object>> byLine = results.stream()
+			.filter(r -> r.containsKey("line"))
+			.collect(Collectors.toMap(r -> r.get("line"), r -> r));
+		assertThat(byLine.keySet()).containsExactlyInAnyOrder(1, 2, 3, 5, 6, 7);
+		assertThat((String) byLine.get(2).get("error")).startsWith("Malformed JSON");
+		assertThat(byLine.get(5)).containsEntry("error", "title, author and content are required");
+		assertThat(byLine.get(3)).containsEntry("status", "REVIEW");
+		assertThat(results.get(6)).containsEntry("done", true).containsEntry("imported", 4).containsEntry("failed", 2);
+
+		// Each line's id is the row holding that line's blog, with that line's body
+		for (Object line : List.of(1, 3, 6, 7)) {
+			Number id = (Number) byLine.get(line).get("id");
+			Map<String, Object> row = jdbc.queryForMap("SELECT b.title, b.status, d.data FROM blogs b"
+				+ " JOIN blog_bodies d ON d.id = b.body_id WHERE b.id = ?", id.longValue());
+			assertThat(BlogBody.decode((byte[]) row.get("DATA"))).isEqualTo("Body of " + row.get("TITLE"));
+			assertThat(row.get("STATUS")).isEqualTo(byLine.get(line).get("status"));
+		}
+		assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM blogs", Integer.class)).isEqualTo(4);
+
+		// Announced after insert with their ids, and only approved posts notify followers
+		assertThat(events).extracting(e -> e.getBlog().getTitle()).containsExactly("First", "Review me", "Fourth", "Fifth");
+		assertThat(events).allSatisfy(e -> assertThat(e.getBlog().getId()).isNotNull());
+		verify(similarityService, times(2)).recordAll(anyMap());
+		verify(emailService, times(3)).sendNewBlogNotification(any(Blog.class));
+	}
+
+	@Test
+	void failedChunkIsReportedPerLineAndLaterChunksStillImport() throws IOException {
+		doAnswer(invocation -> { throw new IllegalStateException("analyzer down"); })
+			.when(processingService).analyze(argThat(b -> b != null && b.getTitle().equals("Broken")));
+		String input = String.join("\n",
+			blog("One", "ann"), blog("Broken", "ann"), blog("Three", "ann"),
+			blog("Four", "ann"));
+
+		List<Map<String, Object>> results = ingest(input, false);
+
+		assertThat(results.subList(0, 3)).allSatisfy(r -> assertThat((String) r.get("error")).contains("analyzer down"));
+		assertThat(results.get(3)).containsKey("id").containsEntry("status", "APPROVED");
+		assertThat(results.get(4)).containsEntry("imported", 1).containsEntry("failed", 3);
+		assertThat(jdbc.queryForList("SELECT title FROM blogs", String.class)).containsExactly("Four");
+		assertThat(events).extracting(e -> e.getBlog().getTitle()).containsExactly("Four");
+		verify(emailService, never()).sendNewBlogNotification(any());
+	}
+
+	private List<Map<String, Object>> ingest(String input, boolean notify) throws IOException {
+		StringWriter out = new StringWriter();
+		service.ingest(new StringReader(input), out, notify);
+		List<Map<String, Object>> results = new ArrayList<>();
+		for (String line : out.toString().split("\n")) {
+			@SuppressWarnings("unchecked")
+			Map<String, Object> result = objectMapper.readValue(line, Map.class);
+			results.add(result);
+		}
+		return results;
+	}
+
+	private String blog(String title, String author) throws IOException {
+		return objectMapper.writeValueAsString(Map.of("title", title, "author", author, "content", "Body of " + title));
+	}
+}
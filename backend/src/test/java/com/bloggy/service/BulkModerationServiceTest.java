@@ -0,0 +1,125 @@
+package com.bloggy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bloggy.dto.BlogStatusRef;
+import com.bloggy.event.BlogStatusChangedEvent;
+import com.bloggy.model.Blog;
+import com.bloggy.model.Status;
+import com.bloggy.repository.BlogRepository;
+
+class BulkModerationServiceTest {
+
+	private final BlogRepository blogRepo = mock(BlogRepository.class);
+	private final EmailService emailService = mock(EmailService.class);
+	private final List<BlogStatusChangedEvent> events = new ArrayList<>();
+	private final BulkModerationService service = new BulkModerationService();
+
+	@BeforeEach
+	void setUp() {
+		ApplicationEventPublisher publisher = event -> events.add((BlogStatusChangedEvent) event);
+		ReflectionTestUtils.setField(service, "blogRepo", blogRepo);
+		ReflectionTestUtils.setField(service, "emailService", emailService);
+		ReflectionTestUtils.setField(service, "events", publisher);
+		ReflectionTestUtils.setField(service, "transactions", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+	}
+
+	@Test
+	void approvingReportsEachOutcomeAndAnnouncesOnlyTheChangedBlogs() {
+		when(blogRepo.lockStatuses(List.of(1L, 2L, 3L, 4L, 5L))).thenReturn(List.of(
+			new BlogStatusRef(1L, Status.REVIEW), new BlogStatusRef(2L, Status.APPROVED),
+			new BlogStatusRef(3L, Status.PENDING), new BlogStatusRef(4L, Status.REJECTED)));
+		when(blogRepo.findWithBodyByIdIn(List.of(1L, 4L))).thenReturn(List.of(
+			blog(1L, Status.APPROVED), blog(4L, Status.APPROVED)));
+
+		Map<String, Object> result = service.changeStatus(List.of(1L, 2L, 3L, 4L, 5L, 1L), Status.APPROVED);
+
+		assertThat(result).containsEntry("updated", 2).containsEntry("unchanged", 1)
+			.containsEntry("skipped", 1).containsEntry("notFound", 1);
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> items = (List<Map<String, Object>>) result.get("items");
+		assertThat(items).extracting(item -> item.get("outcome"))
+			.containsExactly("updated", "unchanged", "skipped", "updated", "notFound");
+		verify(blogRepo).updateStatus(eq(List.of(1L)), eq(Status.REVIEW), eq(Status.APPROVED), any());
+		verify(blogRepo).updateStatus(eq(List.of(4L)), eq(Status.REJECTED), eq(Status.APPROVED), any());
+
+		// Announced with the status each blog left, and each newly published blog notifies
+		assertThat(events).extracting(e -> e.getBlog().getId(), BlogStatusChangedEvent::getPreviousStatus)
+			.containsExactlyInAnyOrder(tuple(1L, Status.REVIEW), tuple(4L, Status.REJECTED));
+		assertThat(events).allMatch(BlogStatusChangedEvent::isPublished);
+		verify(emailService).sendNewBlogNotification(events.get(0).getBlog());
+		verify(emailService).sendNewBlogNotification(events.get(1).getBlog());
+		verify(blogRepo, never()).findAllById(any());
+	}
+
+	@Test
+	void rejectingLoadsContentOnlyForBlogsThatWerePublic() {
+		when(blogRepo.lockStatuses(List.of(1L, 2L))).thenReturn(List.of(
+			new BlogStatusRef(1L, Status.REVIEW), new BlogStatusRef(2L, Status.APPROVED)));
+		when(blogRepo.findWithBodyByIdIn(List.of(2L))).thenReturn(List.of(blog(2L, Status.REJECTED)));
+		when(blogRepo.findAllById(List.of(1L))).thenReturn(List.of(blog(1L, Status.REJECTED)));
+
+		Map<String, Object> result = service.changeStatus(List.of(1L, 2L), Status.REJECTED);
+
+		assertThat(result).containsEntry("updated", 2);
+		assertThat(events).extracting(e -> e.getBlog().getId()).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(events).filteredOn(e -> e.getBlog().getId() == 2L).allMatch(BlogStatusChangedEvent::isUnpublished);
+		verify(emailService, never()).sendNewBlogNotification(any());
+	}
+
+	@Test
+	void nothingChangedReadsNoBlogs() {
+		when(blogRepo.lockStatuses(List.of(1L))).thenReturn(List.of(new BlogStatusRef(1L, Status.PROCESSING)));
+
+		Map<String, Object> result = service.changeStatus(List.of(1L), Status.REVIEW);
+
+		assertThat(result).containsEntry("skipped", 1).containsEntry("updated", 0);
+		assertThat(events).isEmpty();
+		verify(blogRepo, never()).findWithBodyByIdIn(anyCollection());
+		verify(blogRepo, never()).findAllById(any());
+	}
+
+	@Test
+	void rejectsOversizedBatchesAndDisallowedMoves() {
+		List<Long> ids = new ArrayList<>();
+		for (long id = 0; id <= BulkModerationService.MAX_BATCH; id++) {
+			ids.add(id);
+		}
+		assertThatThrownBy(() -> service.changeStatus(ids, Status.APPROVED))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.changeStatus(List.of(1L), Status.PENDING))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.changeStatus(Status.PENDING, null, Status.APPROVED, 10))
+			.isInstanceOf(IllegalArgumentException.class);
+		verify(blogRepo, never()).lockStatuses(anyCollection());
+	}
+
+	private static Blog blog(Long id, Status status) {
+		Blog blog = new Blog();
+		blog.setId(id);
+		blog.setTitle("Blog " + id);
+		blog.setAuthor("ann");
+		blog.setStatus(status);
+		return blog;
+	}
+}
@@ -0,0 +1,146 @@
+package com.bloggy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bloggy.model.Follow;
+import com.bloggy.model.FollowerCount;
+import com.bloggy.model.User;
+import com.bloggy.repository.FollowRepository;
+import com.bloggy.repository.FollowerCountRepository;
+import com.bloggy.repository.FollowingCountRepository;
+
+class FollowServiceTest {
+
+	private final FollowRepository followRepo = mock(FollowRepository.class);
+	private final FollowerCountRepository followerCountRepo = mock(FollowerCountRepository.class);
+	private final FollowingCountRepository followingCountRepo = mock(FollowingCountRepository.class);
+	private final FollowService service = new FollowService();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "followRepo", followRepo);
+		ReflectionTestUtils.setField(service, "followerCountRepo", followerCountRepo);
+		ReflectionTestUtils.setField(service, "followingCountRepo", followingCountRepo);
+		ReflectionTestUtils.setField(service, "ttlMs", 60_000L);
+		ReflectionTestUtils.setField(service, "maxSize", 100);
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	@Test
+	void followBumpsBothCountersAndEvictsCachedCountsAfterCommit() {
+		when(followerCountRepo.findByAuthorNameIn(List.of("alice"))).thenReturn(List.of(count("alice", 4)));
+		assertThat(service.getFollowerCount("alice")).isEqualTo(4);
+
+		assertThat(service.follow(user(7L), "alice")).isTrue();
+
+		verify(followRepo).saveAndFlush(any(Follow.class));
+		verify(followerCountRepo).increment("alice", 1);
+		verify(followingCountRepo).increment(7L, 1);
+		// Still cached until the transaction commits
+		when(followerCountRepo.findByAuthorNameIn(List.of("alice"))).thenReturn(List.of(count("alice", 5)));
+		assertThat(service.getFollowerCount("alice")).isEqualTo(4);
+
+		commit();
+		assertThat(service.getFollowerCount("alice")).isEqualTo(5);
+	}
+
+	@Test
+	void repeatedFollowLeavesCountersAlone() {
+		when(followRepo.existsByFollowerIdAndAuthorName(7L, "alice")).thenReturn(true);
+
+		assertThat(service.follow(user(7L), "alice")).isFalse();
+
+		verify(followRepo, never()).saveAndFlush(any());
+		verify(followerCountRepo, never()).increment(anyString(), anyLong());
+		verify(followingCountRepo, never()).increment(any(), anyLong());
+	}
+
+	@Test
+	void unfollowDecrementsOnlyWhenAFollowWasDeleted() {
+		when(followRepo.deleteFollow(7L, "alice")).thenReturn(1);
+
+		assertThat(service.unfollow(7L, "alice")).isTrue();
+		assertThat(service.unfollow(7L, "bob")).isFalse();
+
+		verify(followerCountRepo).increment("alice", -1);
+		verify(followingCountRepo).increment(7L, -1);
+		verify(followerCountRepo, never()).increment("bob", -1);
+	}
+
+	@Test
+	void backfillRebuildsEmptyCountersOnFirstDeploy() {
+		when(followRepo.count()).thenReturn(3L);
+
+		service.backfillCounters();
+
+		verify(followerCountRepo).deleteAllInBatch();
+		verify(followerCountRepo).rebuild();
+		verify(followingCountRepo).rebuild();
+	}
+
+	@Test
+	void backfillRepairsDriftedCounters() {
+		when(followRepo.count()).thenReturn(3L);
+		when(followerCountRepo.sumFollowers()).thenReturn(4L);
+		when(followingCountRepo.sumFollowing()).thenReturn(3L);
+
+		service.backfillCounters();
+
+		verify(followerCountRepo).rebuild();
+		verify(followingCountRepo).rebuild();
+	}
+
+	@Test
+	void backfillSkipsConsistentCountersUnlessForced() {
+		when(followRepo.count()).thenReturn(3L);
+		when(followerCountRepo.sumFollowers()).thenReturn(3L);
+		when(followingCountRepo.sumFollowing()).thenReturn(3L);
+
+		service.backfillCounters();
+		verify(followerCountRepo, never()).rebuild();
+
+		ReflectionTestUtils.setField(service, "rebuildOnStartup", true);
+		service.backfillCounters();
+		verify(followerCountRepo).rebuild();
+		verify(followingCountRepo).rebuild();
+	}
+
+	private static void commit() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+	}
+
+	private static User user(Long id) {
+		User user = new User();
+		user.setId(id);
+		return user;
+	}
+
+	private static FollowerCount count(String authorName, long followers) {
+		FollowerCount count = new FollowerCount();
+		count.setAuthorName(authorName);
+		count.setFollowers(followers);
+		return count;
+	}
+}
@@ -0,0 +1,153 @@
+package com.bloggy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bloggy.dto.FollowerEmail;
+import com.bloggy.model.Blog;
+import com.bloggy.repository.FollowRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+class FollowerNotificationServiceTest {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	private final FollowRepository followRepo = mock(FollowRepository.class);
+	private final FollowerNotificationService service = new FollowerNotificationService();
+
+	private final RefusingMailSender mailSender = new RefusingMailSender();
+
+	@BeforeEach
+	void setUp() {
+		mailSender.setHost("localhost");
+		mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+		ReflectionTestUtils.setField(service, "mailSender", mailSender);
+		ReflectionTestUtils.setField(service, "followRepo", followRepo);
+		ReflectionTestUtils.setField(service, "registry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(service, "from", "noreply@bloggy.test");
+		ReflectionTestUtils.setField(service, "batchSize", 3);
+		ReflectionTestUtils.setField(service, "ratePerSecond", 1000d);
+		ReflectionTestUtils.setField(service, "maxAttempts", 3);
+		ReflectionTestUtils.setField(service, "retryDelayMs", 10L);
+		ReflectionTestUtils.setField(service, "linkBaseUrl", "http://localhost:3000");
+		service.init();
+	}
+
+	@Test
+	void pagesThroughEveryFollower() throws Exception {
+		List<FollowerEmail> followers = new ArrayList<>();
+		for (long i = 1; i <= 7; i++) {
+			followers.add(new FollowerEmail(i, "reader" + i + "@bloggy.test"));
+		}
+		// Serve the follower list in keyset pages, as the repository would
+		when(followRepo.findFollowerEmailsAfter(eq("alice"), anyLong(), any(Limit.class))).thenAnswer(call -> {
+			long afterId = call.getArgument(1);
+			int limit = call.<Limit>getArgument(2).max();
+			return followers.stream().filter(f -> f.getFollowId() > afterId).limit(limit).toList();
+		});
+
+		FollowerNotificationService.Result result = service.deliver(blog());
+
+		assertThat(result.getSent()).isEqualTo(7);
+		assertThat(result.getFailedRecipients()).isEmpty();
+		MimeMessage[] received = greenMail.getReceivedMessages();
+		assertThat(received).hasSize(7);
+		assertThat(received[0].getSubject()).contains("alice");
+		assertThat(received[0].getContent().toString()).contains("http://localhost:3000/blog/42");
+	}
+
+	@Test
+	void malformedAddressesAreReportedNotRetried() {
+		when(followRepo.findFollowerEmailsAfter(eq("alice"), anyLong(), any(Limit.class))).thenReturn(
+			List.of(new FollowerEmail(1L, "ok@bloggy.test"), new FollowerEmail(2L, "not an address")));
+
+		FollowerNotificationService.Result result = service.deliver(blog());
+
+		assertThat(result.getSent()).isEqualTo(1);
+		assertThat(result.getFailedRecipients()).containsExactly("not an address");
+		assertThat(greenMail.getReceivedMessages()).hasSize(1);
+	}
+
+	@Test
+	void retriesRecipientsTheServerRefused() throws Exception {
+		when(followRepo.findFollowerEmailsAfter(eq("alice"), eq(0L), any(Limit.class))).thenReturn(List.of(
+			new FollowerEmail(1L, "ok@bloggy.test"),
+			new FollowerEmail(2L, "busy@bloggy.test")));
+		mailSender.refusals.put("busy@bloggy.test", 1);
+		mailSender.refusals.put("ok@bloggy.test", Integer.MAX_VALUE);
+
+		FollowerNotificationService.Result result = service.deliver(blog());
+
+		// busy is accepted on the first retry; ok is refused on all 3 attempts
+		assertThat(result.getSent()).isEqualTo(1);
+		assertThat(result.getFailedRecipients()).containsExactly("ok@bloggy.test");
+		assertThat(greenMail.getReceivedMessages()).hasSize(1);
+		assertThat(greenMail.getReceivedMessages()[0].getAllRecipients()[0].toString()).isEqualTo("busy@bloggy.test");
+		assertThat(service.stats()).containsEntry("retried", 3L).containsEntry("failed", 1L);
+	}
+
+	private static Blog blog() {
+		Blog blog = new Blog();
+		blog.setId(42L);
+		blog.setAuthor("alice");
+		blog.setTitle("Spring planting");
+		blog.setContent("Tomatoes go in after the last frost.");
+		return blog;
+	}
+
+	/** Delivers to GreenMail, except that listed recipients are refused a number of times */
+	static class RefusingMailSender extends JavaMailSenderImpl {
+		final Map<String, Integer> refusals = new HashMap<>();
+
+		@Override
+		public void send(MimeMessage... messages) {
+			List<MimeMessage> accepted = new ArrayList<>();
+			Map<Object, Exception> refused = new LinkedHashMap<>();
+			for (MimeMessage message : messages) {
+				String to;
+				try {
+					to = message.getAllRecipients()[0].toString();
+				} catch (MessagingException e) {
+					throw new IllegalStateException(e);
+				}
+				if (refusals.getOrDefault(to, 0) > 0) {
+					refusals.merge(to, -1, Integer::sum);
+					refused.put(message, new MessagingException("450 Mailbox busy"));
+				} else {
+					accepted.add(message);
+				}
+			}
+			if (!accepted.isEmpty()) {
+				super.send(accepted.toArray(new MimeMessage[0]));
+			}
+			if (!refused.isEmpty()) {
+				throw new MailSendException(refused);
+			}
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.bloggy.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bloggy.model.Blog;
+import com.bloggy.model.ModerationJob;
+import com.bloggy.repository.BlogRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ModerationWorkerTest {
+
+	private final ModerationQueue queue = mock(ModerationQueue.class);
+	private final BlogRepository blogRepo = mock(BlogRepository.class);
+	private final BlogProcessingService processingService = mock(BlogProcessingService.class);
+	private final ModerationWorker worker = new ModerationWorker();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(worker, "queue", queue);
+		ReflectionTestUtils.setField(worker, "blogRepo", blogRepo);
+		ReflectionTestUtils.setField(worker, "processingService", processingService);
+		ReflectionTestUtils.setField(worker, "executor", new SyncTaskExecutor());
+		ReflectionTestUtils.setField(worker, "registry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(worker, "batchSize", 10);
+		ReflectionTestUtils.setField(worker, "concurrency", 2);
+		worker.init();
+	}
+
+	@Test
+	void heartbeatRenewsOnlyJobsStillRunning() {
+		ModerationJob job = new ModerationJob(5L);
+		job.setId(40L);
+		when(queue.claim(anyString(), anyInt())).thenReturn(List.of(job), List.of());
+		when(blogRepo.findWithBodyById(5L)).thenReturn(Optional.of(new Blog()));
+		// A heartbeat that fires while the (slow) moderation is in progress
+		doAnswer(invocation -> {
+			worker.heartbeat();
+			return null;
+		}).when(processingService).processBlog(any());
+
+		worker.poll();
+		worker.heartbeat();
+
+		verify(queue).renew(anyString(), eq(List.of(40L)));
+		verify(queue, times(1)).renew(anyString(), any());
+		verify(queue).complete(job);
+	}
+}
@@ -0,0 +1,103 @@
+package com.bloggy.service.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.bloggy.service.similarity.MinHash;
+
+class ContentStatsTest {
+
+	@Test
+	void joinedParagraphsMatchAFullScan() {
+		Random random = new Random(7);
+		String[] pieces = {
+			"# Heading", "run on sentence", "ends here.", "! starts with a bang", "one", "two words",
+			"a b", "", "   ", "see http://x and ![img](y)", "\nindented\nlines", "<h2>Part</h2> More text?"
+		};
+		for (int round = 0; round < 200; round++) {
+			StringBuilder content = new StringBuilder();
+			int n = 1 + random.nextInt(6);
+			for (int i = 0; i < n; i++) {
+				if (i > 0) {
+					content.append(ContentStats.PARAGRAPH_BREAK);
+				}
+				content.append(pieces[random.nextInt(pieces.length)]);
+			}
+			assertSameAsFullScan(content.toString());
+		}
+	}
+
+	@Test
+	void sentenceRunsOnAcrossABreak() {
+		ContentStats stats = join("First part\n\nstill the same sentence. New one");
+
+		assertThat(stats.getSentenceCount()).isEqualTo(2);
+		assertThat(stats.getParagraphCount()).isEqualTo(3);
+	}
+
+	@Test
+	void containsMatchesInsideLongerWords() {
+		ContentStats stats = join("Caching\n\nis hard");
+
+		assertThat(stats.contains("cach")).isTrue();
+		assertThat(stats.contains("ishard")).isFalse();
+	}
+
+	@Test
+	void reusesUnchangedParagraphs() {
+		Map<String, ContentStats> cache = new HashMap<>();
+		List<String> scanned = new ArrayList<>();
+		String original = "Intro paragraph here.\n\nMiddle with a typo teh.\n\nClosing words.";
+		String edited = original.replace("teh", "the");
+
+		analyze(original, cache, scanned);
+		scanned.clear();
+		ContentStats stats = analyze(edited, cache, scanned);
+
+		assertThat(scanned).containsExactly("Middle with a typo the.");
+		assertThat(stats.getSignature()).isEqualTo(MinHash.signature(TextAnalysis.of(null, edited)));
+	}
+
+	private static void assertSameAsFullScan(String content) {
+		TextAnalysis full = TextAnalysis.of(null, content);
+		ContentStats stats = join(content);
+
+		assertThat(stats.getLength()).as(content).isEqualTo(content.length());
+		assertThat(stats.getWordCount()).as(content).isEqualTo(full.getWordCount());
+		assertThat(stats.getSentenceCount()).as(content).isEqualTo(full.getSentenceCount());
+		assertThat(stats.getParagraphCount()).as(content).isEqualTo(full.getParagraphCount());
+		for (Marker.Type type : Marker.Type.values()) {
+			assertThat(stats.hasMarker(type)).as(content).isEqualTo(full.hasMarker(type));
+		}
+		Map<String, Integer> terms = new HashMap<>();
+		full.getContentTokens().forEach(t -> terms.merge(t.getTerm(), 1, Integer::sum));
+		assertThat(stats.getTerms()).as(content).isEqualTo(terms);
+		assertThat(stats.getSignature()).as(content).isEqualTo(MinHash.signature(full));
+	}
+
+	private static ContentStats join(String content) {
+		List<ContentStats> parts = new ArrayList<>();
+		for (String paragraph : ContentStats.paragraphs(content)) {
+			parts.add(ContentStats.of(paragraph));
+		}
+		return ContentStats.join(parts);
+	}
+
+	private static ContentStats analyze(String content, Map<String, ContentStats> cache, List<String> scanned) {
+		List<ContentStats> parts = new ArrayList<>();
+		for (String paragraph : ContentStats.paragraphs(content)) {
+			parts.add(cache.computeIfAbsent(paragraph, p -> {
+				scanned.add(p);
+				return ContentStats.of(p);
+			}));
+		}
+		return ContentStats.join(parts);
+	}
+}
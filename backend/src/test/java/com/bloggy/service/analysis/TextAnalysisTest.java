@@ -0,0 +1,49 @@
+package com.bloggy.service.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class TextAnalysisTest {
+
+	@Test
+	void tokenizesLetterRunsWithOffsets() {
+		TextAnalysis text = TextAnalysis.of("Hello World", "Java 21, rocks!");
+
+		assertThat(text.getTitleTokens()).extracting(Token::getTerm).containsExactly("hello", "world");
+		assertThat(text.getContentTokens()).extracting(Token::getTerm).containsExactly("java", "rocks");
+		Token rocks = text.getContentTokens().get(1);
+		assertThat(text.getContent().substring(rocks.getStart(), rocks.getEnd())).isEqualTo("rocks");
+	}
+
+	@Test
+	void countsStructure() {
+		TextAnalysis text = TextAnalysis.of("t", "# Intro\nFirst one. Second!\n\nThird?");
+
+		assertThat(text.getWordCount()).isEqualTo(6);
+		assertThat(text.getSentenceCount()).isEqualTo(3);
+		assertThat(text.getParagraphCount()).isEqualTo(4);
+		assertThat(text.getContentTokens().stream().map(Token::getParagraph).collect(Collectors.toList()))
+			.containsExactly(0, 1, 1, 1, 3);
+	}
+
+	@Test
+	void findsMarkers() {
+		TextAnalysis text = TextAnalysis.of("t", "See <a href=\"x\">x</a> and ![img](y)\n  ## Part <H2>");
+
+		assertThat(text.hasMarker(Marker.Type.LINK)).isTrue();
+		assertThat(text.hasMarker(Marker.Type.IMAGE)).isTrue();
+		assertThat(text.getMarkers()).filteredOn(m -> m.getType() == Marker.Type.HEADING).hasSize(2);
+	}
+
+	@Test
+	void handlesNullText() {
+		TextAnalysis text = TextAnalysis.of(null, null);
+
+		assertThat(text.getContentTokens()).isEmpty();
+		assertThat(text.getWordCount()).isZero();
+		assertThat(text.getParagraphCount()).isEqualTo(1);
+	}
+}
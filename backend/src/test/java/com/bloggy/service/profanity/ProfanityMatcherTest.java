@@ -0,0 +1,74 @@
+package com.bloggy.service.profanity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ProfanityMatcherTest {
+
+	private final ProfanityMatcher matcher = ProfanityMatcher.build(List.of(
+		new ProfanityTerm("fuck", "en", false),
+		new ProfanityTerm("shit", "en", false),
+		new ProfanityTerm("ass", "en", true),
+		new ProfanityTerm("hell", "en", true),
+		new ProfanityTerm("whore", "en", false),
+		new ProfanityTerm("bitch", "en", false),
+		new ProfanityTerm("cabrón", "es", true)));
+
+	@Test
+	void matchesWholeWordsOnly() {
+		assertThat(matcher.matches("What the hell")).isTrue();
+		assertThat(matcher.matches("Hello shell, classic assets")).isFalse();
+	}
+
+	@Test
+	void matchesCompoundsForSubstringTerms() {
+		assertThat(matcher.matches("total fuckface")).isTrue();
+	}
+
+	@Test
+	void seesThroughObfuscation() {
+		assertThat(matcher.matches("f*ck this")).isTrue();
+		assertThat(matcher.matches("sh**")).isTrue();
+		assertThat(matcher.matches("s h i t happens")).isTrue();
+		assertThat(matcher.matches("s.h.1.t")).isTrue();
+		assertThat(matcher.matches("kiss my @ss")).isTrue();
+		assertThat(matcher.matches("what the hell!")).isTrue();
+		assertThat(matcher.matches("eres un CABRON")).isTrue();
+	}
+
+	@Test
+	void ignoresMarkdownEmphasis() {
+		assertThat(matcher.matches("**Push** the button")).isFalse();
+		assertThat(matcher.matches("**Who** wrote this?")).isFalse();
+		assertThat(matcher.matches("Into **orbit**, *finally*")).isFalse();
+		assertThat(matcher.matches("well, *shit*")).isTrue();
+		assertThat(matcher.matches("**f*ck**")).isTrue();
+	}
+
+	@Test
+	void joinsOnlyEvenlySpacedLetters() {
+		assertThat(matcher.matches("Plan A, s, s and b")).isFalse();
+		assertThat(matcher.matches("a.s s")).isFalse();
+		assertThat(matcher.matches("S-H-I-T")).isTrue();
+	}
+
+	@Test
+	void reportsOriginalOffsets() {
+		String text = "Oh, S-H-I-T. Really.";
+		List<ProfanityMatch> matches = matcher.findAll(text);
+
+		assertThat(matches).hasSize(1);
+		ProfanityMatch match = matches.get(0);
+		assertThat(match.getTerm()).isEqualTo("shit");
+		assertThat(text.substring(match.getStart(), match.getEnd())).isEqualTo("S-H-I-T");
+	}
+
+	@Test
+	void ignoresNumbersAndCleanText() {
+		assertThat(matcher.matches("Released in 2024 at $5, version 1.0!")).isFalse();
+		assertThat(ProfanityMatcher.empty().matches("shit")).isFalse();
+	}
+}
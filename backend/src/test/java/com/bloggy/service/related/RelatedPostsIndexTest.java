@@ -0,0 +1,48 @@
+package com.bloggy.service.related;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class RelatedPostsIndexTest {
+
+	@Test
+	void ranksByCosineSimilarity() {
+		RelatedPostsIndex index = new RelatedPostsIndex(3);
+		index.add(1, Map.of("java", 1.0, "thread", 1.0));
+		index.add(2, Map.of("java", 1.0, "thread", 0.8, "virtual", 0.5));
+		index.add(3, Map.of("java", 1.0, "garden", 2.0));
+		index.add(4, Map.of("garden", 1.0, "tomato", 1.0));
+
+		assertThat(index.related(1)).containsExactly(2L, 3L);
+		assertThat(index.related(4)).containsExactly(3L);
+	}
+
+	@Test
+	void keepsOnlyTheBestK() {
+		RelatedPostsIndex index = new RelatedPostsIndex(2);
+		index.add(1, Map.of("java", 1.0, "spring", 1.0));
+		index.add(2, Map.of("java", 1.0, "other", 3.0));
+		index.add(3, Map.of("java", 1.0, "spring", 0.5));
+		index.add(4, Map.of("java", 1.0, "spring", 1.0, "boot", 0.1));
+
+		assertThat(index.related(1)).containsExactly(4L, 3L);
+	}
+
+	@Test
+	void removalRefillsListsThatContainedTheBlog() {
+		RelatedPostsIndex index = new RelatedPostsIndex(1);
+		index.add(1, Map.of("java", 1.0, "spring", 1.0));
+		index.add(2, Map.of("java", 1.0, "spring", 1.0));
+		index.add(3, Map.of("java", 1.0));
+
+		assertThat(index.related(1)).containsExactly(2L);
+		index.remove(2);
+
+		assertThat(index.related(1)).containsExactly(3L);
+		assertThat(index.related(2)).isEmpty();
+		assertThat(index.size()).isEqualTo(2);
+	}
+}
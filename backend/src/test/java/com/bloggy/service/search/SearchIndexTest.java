@@ -0,0 +1,115 @@
+package com.bloggy.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SearchIndexTest {
+
+	@Test
+	void ranksDocumentsWithMoreMatchingTermsFirst() {
+		SearchIndex index = new SearchIndex();
+		index.add(1, Map.of("java", 1, "spring", 1, "boot", 1));
+		index.add(2, Map.of("java", 3, "thread", 2));
+		index.add(3, Map.of("garden", 4, "tomato", 2));
+
+		SearchIndex.Result result = index.search(List.of("java", "thread"), 0, 10);
+
+		assertThat(result.getTotal()).isEqualTo(2);
+		assertThat(result.getHits()).extracting(SearchIndex.Hit::getBlogId).containsExactly(2L, 1L);
+	}
+
+	@Test
+	void pagesThroughHits() {
+		SearchIndex index = new SearchIndex();
+		for (int i = 1; i <= 25; i++) {
+			index.add(i, Map.of("common", i));
+		}
+
+		SearchIndex.Result page = index.search(List.of("common"), 20, 10);
+
+		assertThat(page.getTotal()).isEqualTo(25);
+		assertThat(page.getHits()).hasSize(5);
+	}
+
+	@Test
+	void removedAndReindexedDocumentsAreNotReturnedTwice() {
+		SearchIndex index = new SearchIndex();
+		index.add(1, Map.of("alpha", 1));
+		index.add(2, Map.of("alpha", 1));
+		index.add(2, Map.of("beta", 1));
+		index.remove(1);
+
+		assertThat(index.search(List.of("alpha"), 0, 10).getTotal()).isZero();
+		assertThat(index.search(List.of("beta"), 0, 10).getHits())
+			.extracting(SearchIndex.Hit::getBlogId).containsExactly(2L);
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	@Test
+	void compactsAfterManyDeletions() {
+		SearchIndex index = new SearchIndex();
+		for (int i = 1; i <= 3000; i++) {
+			index.add(i, Map.of("term" + (i % 7), 1, "shared", 1));
+		}
+		long before = index.getPostingBytes();
+		for (int i = 1; i <= 2000; i++) {
+			index.remove(i);
+		}
+
+		assertThat(index.getPostingBytes()).isLessThan(before);
+		assertThat(index.search(List.of("shared"), 0, 5).getTotal()).isEqualTo(1000);
+		assertThat(index.contains(2500)).isTrue();
+		assertThat(index.contains(10)).isFalse();
+	}
+
+	@Test
+	void compactsAfterManyReindexes() {
+		SearchIndex index = new SearchIndex();
+		for (int i = 1; i <= 1000; i++) {
+			index.add(i, Map.of("draft", 1));
+		}
+		long before = index.getPostingBytes();
+		for (int round = 0; round < 5; round++) {
+			for (int i = 1; i <= 1000; i++) {
+				index.add(i, Map.of("edit" + round, 1));
+			}
+		}
+
+		// Without compaction the postings of all six versions would still be held
+		assertThat(index.getPostingBytes()).isLessThan(before * 3);
+		assertThat(index.getTermCount()).isLessThan(6);
+		assertThat(index.size()).isEqualTo(1000);
+		assertThat(index.search(List.of("edit4"), 0, 5).getTotal()).isEqualTo(1000);
+		assertThat(index.search(List.of("draft"), 0, 5).getTotal()).isZero();
+		// Live docs are renumbered, so dense scans don't cover every version ever indexed
+		assertThat((int) ReflectionTestUtils.getField(index, "docCount")).isLessThan(2000);
+	}
+
+	@Test
+	void compactionKeepsDocsFindableAndInOrder() {
+		SearchIndex index = new SearchIndex();
+		for (int i = 1; i <= 3000; i++) {
+			index.add(i, Map.of("common", 1, "doc" + i, 1));
+		}
+		// Every other blog removed, past the compaction threshold
+		for (int i = 2; i <= 3000; i += 2) {
+			index.remove(i);
+		}
+		index.add(7, Map.of("common", 1, "edited", 2));
+
+		assertThat(index.size()).isEqualTo(1500);
+		assertThat(index.contains(7)).isTrue();
+		assertThat(index.contains(8)).isFalse();
+		assertThat(index.search(List.of("doc2999"), 0, 5).getHits()).extracting(SearchIndex.Hit::getBlogId).containsExactly(2999L);
+		assertThat(index.search(List.of("doc3000"), 0, 5).getTotal()).isZero();
+		assertThat(index.search(List.of("edited"), 0, 5).getHits()).extracting(SearchIndex.Hit::getBlogId).containsExactly(7L);
+		assertThat(index.search(List.of("common"), 0, 5000).getTotal()).isEqualTo(1500);
+		// Equal scores rank the newer doc first, before and after renumbering
+		assertThat(index.search(List.of("common"), 0, 2).getHits()).extracting(SearchIndex.Hit::getBlogId).containsExactly(2999L, 2997L);
+	}
+}
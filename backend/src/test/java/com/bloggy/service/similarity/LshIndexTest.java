@@ -0,0 +1,100 @@
+package com.bloggy.service.similarity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.bloggy.service.analysis.TextAnalysis;
+
+class LshIndexTest {
+
+	private static final String[] WORDS = {
+		"java", "spring", "thread", "cache", "index", "query", "latency", "server", "memory", "pattern",
+		"design", "docker", "stream", "token", "storage", "network", "metrics", "deploy", "testing", "cloud"
+	};
+
+	@Test
+	void findsLightlyEditedCopy() {
+		LshIndex index = new LshIndex();
+		String original = text(1, 300);
+		index.add(1, signature(original));
+		for (int id = 2; id <= 50; id++) {
+			index.add(id, signature(text(id, 300)));
+		}
+
+		// Change one word in twenty
+		String[] words = original.split(" ");
+		for (int i = 0; i < words.length; i += 20) {
+			words[i] = "changed";
+		}
+		List<LshIndex.Match> matches = index.query(signature(String.join(" ", words)), null, 0.3, 5);
+
+		assertThat(matches).isNotEmpty();
+		assertThat(matches.get(0).getBlogId()).isEqualTo(1L);
+		assertThat(matches.get(0).getSimilarity()).isGreaterThan(0.5);
+	}
+
+	@Test
+	void unrelatedTextHasNoMatches() {
+		LshIndex index = new LshIndex();
+		for (int id = 1; id <= 50; id++) {
+			index.add(id, signature(text(id, 300)));
+		}
+
+		assertThat(index.query(signature(text(999, 300)), null, 0.3, 5)).isEmpty();
+	}
+
+	@Test
+	void excludesTheBlogItselfAndReplacesOldSignatures() {
+		LshIndex index = new LshIndex();
+		int[] first = signature(text(1, 200));
+		index.add(1, first);
+		index.add(1, signature(text(2, 200)));
+
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.query(first, null, 0.3, 5)).isEmpty();
+		assertThat(index.query(signature(text(2, 200)), 1L, 0.3, 5)).isEmpty();
+	}
+
+	@Test
+	void replacedSignaturesDoNotCrowdOutCandidates() {
+		LshIndex index = new LshIndex();
+		int[] shared = signature(text(3, 200));
+		index.add(2, shared);
+		index.add(3, shared);
+		index.add(4, shared);
+		// Re-index the middle of every chain, then the head, more often than a band examines
+		index.add(3, signature(text(5, 200)));
+		for (int i = 0; i < 1_500; i++) {
+			index.add(1, shared);
+		}
+
+		assertThat(index.query(shared, 1L, 0.3, 5)).extracting(LshIndex.Match::getBlogId).containsExactlyInAnyOrder(2L, 4L);
+		assertThat(index.query(signature(text(5, 200)), null, 0.3, 5)).extracting(LshIndex.Match::getBlogId).containsExactly(3L);
+		assertThat(index.size()).isEqualTo(4);
+	}
+
+	@Test
+	void signatureSurvivesSerialization() {
+		int[] signature = signature(text(7, 100));
+
+		assertThat(MinHash.fromBytes(MinHash.toBytes(signature))).containsExactly(signature);
+	}
+
+	private static int[] signature(String content) {
+		return MinHash.signature(TextAnalysis.of(null, content));
+	}
+
+	private static String text(long seed, int words) {
+		Random random = new Random(seed);
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			if (i > 0) text.append(' ');
+			text.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,43 @@
+package com.bloggy.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTest {
+
+	@Test
+	void addToRemovesEntriesThatReachZero() {
+		LongIntHashMap map = new LongIntHashMap(16);
+		map.addTo(42L, 2);
+		map.addTo(42L, -1);
+		assertThat(map.get(42L)).isEqualTo(1);
+		map.addTo(42L, -1);
+		assertThat(map.get(42L)).isZero();
+		assertThat(map.size()).isZero();
+	}
+
+	@Test
+	void matchesHashMapUnderRandomChurn() {
+		LongIntHashMap map = new LongIntHashMap(16);
+		Map<Long, Integer> expected = new HashMap<>();
+		Random random = new Random(7);
+		for (int i = 0; i < 100_000; i++) {
+			long key = 1 + random.nextInt(2_000);
+			int delta = random.nextBoolean() ? 1 : -1;
+			map.addTo(key, delta);
+			int value = expected.getOrDefault(key, 0) + delta;
+			if (value <= 0) {
+				expected.remove(key);
+			} else {
+				expected.put(key, value);
+			}
+		}
+		assertThat(map.size()).isEqualTo(expected.size());
+		expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+	}
+}
@@ -0,0 +1,50 @@
+package com.bloggy.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+	@Test
+	void waitersQueueBehindEachOtherWithoutHoldingTheLock() throws Exception {
+		RateLimiter limiter = new RateLimiter(100);
+		limiter.acquire(100); // Drain the burst
+
+		long start = System.nanoTime();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			threads.add(Thread.ofVirtual().start(() -> {
+				try {
+					limiter.acquire(10);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+		// 40 permits at 100/s: the last waiter is 400ms in, not the sum of everyone's waits
+		assertThat(elapsedMs).isBetween(350L, 900L);
+	}
+
+	@Test
+	void interruptedWaiterHandsItsPermitsBack() throws Exception {
+		RateLimiter limiter = new RateLimiter(10);
+		limiter.acquire(10);
+		Thread.currentThread().interrupt();
+		assertThatThrownBy(() -> limiter.acquire(50)).isInstanceOf(InterruptedException.class);
+
+		// Without the refund this would wait five seconds
+		long start = System.nanoTime();
+		limiter.acquire(1);
+		assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(1_000L);
+	}
+}
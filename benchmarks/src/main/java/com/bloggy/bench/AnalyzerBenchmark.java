@@ -0,0 +1,157 @@
+package com.bloggy.bench;
+
+import com.bloggy.model.Blog;
+import com.bloggy.service.DocumentFrequencyService;
+import com.bloggy.service.TfIdfTagGenerator;
+import com.bloggy.service.analysis.BlogText;
+import com.bloggy.service.analysis.ContentStats;
+import com.bloggy.service.analysis.ProfanityAnalyzer;
+import com.bloggy.service.analysis.SeoAnalyzer;
+import com.bloggy.service.analysis.TagAnalyzer;
+import com.bloggy.service.analysis.TextAnalysis;
+import com.bloggy.service.profanity.ProfanityDictionary;
+import com.bloggy.service.profanity.ProfanityMatcher;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-submission cost of each moderation stage, and of the whole pipeline.
+ * Each iteration rotates through a pool of distinct generated blogs so no single text is hot.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class AnalyzerBenchmark {
+
+    private static final int POOL_SIZE = 64;
+    private static final int CORPUS_SIZE = 2_000;
+
+    @Param({"SMALL", "MEDIUM", "LARGE", "MAX"})
+    public BlogSize size;
+
+    private String[] titles;
+    private String[] contents;
+    private String[] edited;
+    private TextAnalysis[] analyses;
+    private BlogText[] texts;
+    private Map<String, ContentStats> paragraphStats;
+    private ProfanityMatcher matcher;
+
+    private ProfanityAnalyzer profanityAnalyzer;
+    private SeoAnalyzer seoAnalyzer;
+    private TagAnalyzer tagAnalyzer;
+    private TfIdfTagGenerator tagGenerator;
+
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ProfanityDictionary dictionary = new ProfanityDictionary();
+        ReflectionTestUtils.setField(dictionary, "location", "classpath*:profanity/*.txt");
+        dictionary.init();
+        matcher = dictionary.getMatcher();
+        profanityAnalyzer = new ProfanityAnalyzer();
+        ReflectionTestUtils.setField(profanityAnalyzer, "dictionary", dictionary);
+
+        seoAnalyzer = new SeoAnalyzer();
+
+        // Seed IDF with a realistic approved corpus
+        DocumentFrequencyService frequencies = new DocumentFrequencyService();
+        CorpusGenerator corpus = new CorpusGenerator(1, 5_000);
+        for (String[] doc : corpus.blogs(CORPUS_SIZE, BlogSize.MEDIUM, 0)) {
+            Blog blog = new Blog();
+            blog.setTitle(doc[0]);
+            blog.setContent(doc[1]);
+            frequencies.addDocument(blog);
+        }
+        tagGenerator = new TfIdfTagGenerator();
+        ReflectionTestUtils.setField(tagGenerator, "documentFrequencies", frequencies);
+        tagAnalyzer = new TagAnalyzer();
+        ReflectionTestUtils.setField(tagAnalyzer, "tagGenerator", tagGenerator);
+
+        List<String[]> pool = new CorpusGenerator(2, 5_000).blogs(POOL_SIZE, size, 0.02);
+        titles = new String[POOL_SIZE];
+        contents = new String[POOL_SIZE];
+        edited = new String[POOL_SIZE];
+        analyses = new TextAnalysis[POOL_SIZE];
+        texts = new BlogText[POOL_SIZE];
+        paragraphStats = new HashMap<>();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            titles[i] = pool.get(i)[0];
+            contents[i] = pool.get(i)[1];
+            // A typo fix: one word changed in the first paragraph
+            edited[i] = contents[i].replaceFirst("\\w+", "Edited");
+            analyses[i] = TextAnalysis.of(titles[i], contents[i]);
+            texts[i] = BlogText.of(titles[i], contents[i], matcher,
+                p -> paragraphStats.computeIfAbsent(p, ContentStats::of));
+        }
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (POOL_SIZE - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public TextAnalysis scanText() {
+        int i = next();
+        return TextAnalysis.of(titles[i], contents[i]);
+    }
+
+    /** Cache miss: every paragraph scanned, shingled and joined */
+    @Benchmark
+    public BlogText analyzeText() {
+        int i = next();
+        return BlogText.of(titles[i], contents[i], matcher);
+    }
+
+    /** An edit of an analyzed blog: one paragraph rescanned, the rest from the paragraph cache */
+    @Benchmark
+    public BlogText analyzeEditedText() {
+        int i = next();
+        return BlogText.of(titles[i], edited[i], matcher, p -> {
+            ContentStats cached = paragraphStats.get(p);
+            return cached != null ? cached : ContentStats.of(p);
+        });
+    }
+
+    @Benchmark
+    public boolean profanityCheck() {
+        return profanityAnalyzer.hasProfanity(analyses[next()]);
+    }
+
+    @Benchmark
+    public double seoScore() {
+        return seoAnalyzer.score(texts[next()]);
+    }
+
+    @Benchmark
+    public String generateTags() {
+        int i = next();
+        return tagGenerator.generateTags(titles[i], contents[i], 5);
+    }
+
+    /** Everything processBlog does to the text, from raw strings */
+    @Benchmark
+    public void fullPipeline(Blackhole bh) {
+        int i = next();
+        Blog blog = new Blog();
+        blog.setTitle(titles[i]);
+        blog.setContent(contents[i]);
+        BlogText text = BlogText.of(blog.getTitle(), blog.getContent(), matcher);
+        profanityAnalyzer.analyze(text, blog);
+        seoAnalyzer.analyze(text, blog);
+        tagAnalyzer.analyze(text, blog);
+        bh.consume(blog);
+    }
+}
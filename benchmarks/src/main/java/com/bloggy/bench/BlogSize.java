@@ -0,0 +1,24 @@
+package com.bloggy.bench;
+
+import com.bloggy.model.Blog;
+
+/**
+ * Submission sizes the benchmarks run against.
+ * MAX fills the content limit of a blog (Blog.MAX_CONTENT_LENGTH).
+ */
+public enum BlogSize {
+    SMALL(100),
+    MEDIUM(400),
+    LARGE(1000),
+    MAX(Integer.MAX_VALUE);
+
+    static final int MAX_CONTENT_CHARS = Blog.MAX_CONTENT_LENGTH;
+
+    private final int words;
+
+    BlogSize(int words) {
+        this.words = words;
+    }
+
+    public int getWords() { return words; }
+}
@@ -0,0 +1,128 @@
+package com.bloggy.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic generator of blog-like text: Zipf-distributed vocabulary, sentences of varying
+ * length, paragraphs, markdown headings, links, images and an occasional profane word.
+ */
+public class CorpusGenerator {
+
+    private static final String[] COMMON = {
+        "the", "and", "to", "of", "a", "in", "is", "that", "for", "it", "with", "as", "was", "on",
+        "are", "this", "be", "by", "at", "or", "from", "but", "not", "have", "you", "we", "they"
+    };
+    private static final String[] TOPICAL = {
+        "java", "spring", "database", "performance", "latency", "cache", "thread", "server",
+        "design", "pattern", "kubernetes", "docker", "testing", "deployment", "security", "token",
+        "memory", "garbage", "collector", "query", "index", "network", "protocol", "frontend",
+        "react", "typescript", "cloud", "storage", "stream", "pipeline", "metrics", "tracing"
+    };
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ren", "sta", "tor", "vel", "qui", "dan", "pel", "zor", "fi", "gra",
+        "hon", "jex", "lum", "nar", "orb", "pra", "sil", "tem", "und", "vor", "wex", "yal"
+    };
+    private static final String[] PROFANE = { "damn", "sh1t", "f*ck", "crap" };
+
+    private final Random random;
+    private final String[] vocabulary;
+    private final double[] cumulative;
+
+    public CorpusGenerator(long seed, int vocabularySize) {
+        this.random = new Random(seed);
+        this.vocabulary = new String[vocabularySize];
+        int i = 0;
+        for (String w : COMMON) vocabulary[i++] = w;
+        for (String w : TOPICAL) vocabulary[i++] = w;
+        while (i < vocabularySize) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            vocabulary[i++] = word.toString();
+        }
+        // Zipf weights, s = 1.07
+        this.cumulative = new double[vocabularySize];
+        double total = 0;
+        for (int r = 0; r < vocabularySize; r++) {
+            total += 1.0 / Math.pow(r + 1, 1.07);
+            cumulative[r] = total;
+        }
+        for (int r = 0; r < vocabularySize; r++) {
+            cumulative[r] /= total;
+        }
+    }
+
+    public String title() {
+        StringBuilder title = new StringBuilder();
+        int words = 4 + random.nextInt(8);
+        for (int i = 0; i < words; i++) {
+            String word = i % 2 == 0 ? TOPICAL[random.nextInt(TOPICAL.length)] : word();
+            if (i > 0) title.append(' ');
+            title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        return title.toString();
+    }
+
+    /**
+     * @param size Target size
+     * @param profanityRate Chance per sentence of a profane (possibly obfuscated) word
+     */
+    public String content(BlogSize size, double profanityRate) {
+        StringBuilder out = new StringBuilder();
+        int words = 0;
+        while (words < size.getWords() && out.length() < BlogSize.MAX_CONTENT_CHARS) {
+            if (random.nextInt(4) == 0) {
+                out.append("## ").append(title()).append('\n');
+            }
+            int sentences = 2 + random.nextInt(5);
+            for (int s = 0; s < sentences && words < size.getWords(); s++) {
+                int length = 6 + random.nextInt(18);
+                for (int w = 0; w < length; w++) {
+                    String word = word();
+                    out.append(w == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+                    out.append(' ');
+                    words++;
+                }
+                if (random.nextDouble() < profanityRate) {
+                    out.append(PROFANE[random.nextInt(PROFANE.length)]).append(' ');
+                }
+                if (random.nextInt(12) == 0) {
+                    out.append("see https://example.com/").append(word()).append(' ');
+                }
+                out.setLength(out.length() - 1);
+                out.append(random.nextInt(6) == 0 ? "! " : ". ");
+            }
+            if (random.nextInt(10) == 0) {
+                out.append("\n![diagram](/img/").append(word()).append(".png)");
+            }
+            out.append("\n\n");
+        }
+        if (out.length() > BlogSize.MAX_CONTENT_CHARS) {
+            out.setLength(BlogSize.MAX_CONTENT_CHARS);
+        }
+        return out.toString();
+    }
+
+    public List<String[]> blogs(int count, BlogSize size, double profanityRate) {
+        List<String[]> blogs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            blogs.add(new String[] { title(), content(size, profanityRate) });
+        }
+        return blogs;
+    }
+
+    private String word() {
+        double p = random.nextDouble();
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] < p) lo = mid + 1; else hi = mid;
+        }
+        return vocabulary[lo];
+    }
+}
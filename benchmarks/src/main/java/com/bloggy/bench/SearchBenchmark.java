@@ -0,0 +1,67 @@
+package com.bloggy.bench;
+
+import com.bloggy.model.Blog;
+import com.bloggy.service.search.SearchIndex;
+import com.bloggy.service.search.SearchService;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the in-memory search index over a generated approved corpus.
+ * Sample mode reports the percentiles; the target is p99 under 20 ms at one million posts.
+ * Queries are two words picked from generated titles, so they mix common topical words with rarer ones.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final int QUERY_POOL = 256;
+
+    @Param({"100000", "1000000"})
+    public int docs;
+
+    private SearchIndex index;
+    private List<Set<String>> queries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new SearchIndex();
+        CorpusGenerator corpus = new CorpusGenerator(3, 20_000);
+        Blog blog = new Blog();
+        for (int i = 1; i <= docs; i++) {
+            blog.setTitle(corpus.title());
+            blog.setContent(corpus.content(BlogSize.SMALL, 0));
+            index.add(i, SearchService.termFrequencies(blog));
+        }
+        System.out.println("Indexed " + index.size() + " docs, " + index.getTermCount() + " terms, "
+            + index.getPostingBytes() / (1024 * 1024) + " MB postings");
+
+        Random random = new Random(4);
+        queries = new ArrayList<>();
+        while (queries.size() < QUERY_POOL) {
+            String[] words = corpus.title().split(" ");
+            String q = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+            Set<String> terms = SearchService.queryTerms(q);
+            if (!terms.isEmpty()) {
+                queries.add(terms);
+            }
+        }
+    }
+
+    @Benchmark
+    public SearchIndex.Result firstPage() {
+        cursor = (cursor + 1) & (QUERY_POOL - 1);
+        return index.search(queries.get(cursor), 0, 10);
+    }
+}
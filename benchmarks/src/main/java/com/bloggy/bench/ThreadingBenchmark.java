@@ -0,0 +1,210 @@
+package com.bloggy.bench;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform pools versus virtual threads under blocking-heavy load.
+ *
+ * Each operation is a burst of tasks shaped like a moderation job or request: a short
+ * query holding one of a fixed number of DB connections, then a longer wait on other I/O
+ * (SMTP, Redis, a remote call) holding nothing. Tasks are submitted to the executor under
+ * test all at once; the score is the time to drain the burst, and per-task latency from
+ * submit to finish is printed as p50/p99/p999 after each iteration.
+ *
+ * With db=SIMULATED the query is a sleep behind a semaphore, which isolates scheduling.
+ * With db=H2 it is real JDBC through a Hikari pool, as the backend runs it: the worker's
+ * claim (read a blog, update its status) against an in-memory database, so pool hand-off,
+ * driver locking and any carrier pinning show up in the numbers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadingBenchmark {
+
+    private static final int DB_CONNECTIONS = 10;
+    private static final int BLOGS = 10_000;
+
+    public enum Executor {
+        /** The old workerExecutor */
+        PLATFORM_10,
+        /** Tomcat's default max threads */
+        PLATFORM_200,
+        VIRTUAL
+    }
+
+    public enum Database {
+        SIMULATED,
+        H2
+    }
+
+    @Param({"PLATFORM_10", "PLATFORM_200", "VIRTUAL"})
+    public Executor executor;
+
+    @Param({"SIMULATED", "H2"})
+    public Database db;
+
+    @Param({"2000"})
+    public int tasks;
+
+    /** Query time for db=SIMULATED; H2 takes what it takes */
+    @Param({"2"})
+    public int dbMillis;
+
+    @Param({"20", "100"})
+    public int ioMillis;
+
+    private AsyncTaskExecutor pool;
+    private Semaphore connections;
+    private HikariDataSource dataSource;
+    private long[] latencies;
+    private int recorded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connections = new Semaphore(DB_CONNECTIONS, true);
+        if (db == Database.H2) {
+            dataSource = h2();
+        }
+        switch (executor) {
+            case PLATFORM_10 -> pool = platform(10);
+            case PLATFORM_200 -> pool = platform(200);
+            case VIRTUAL -> {
+                SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("bench-");
+                virtual.setVirtualThreads(true);
+                pool = virtual;
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetLatencies() {
+        latencies = new long[tasks * 64];
+        recorded = 0;
+    }
+
+    @Benchmark
+    public void burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(tasks);
+        long[] finished = new long[tasks];
+        long submitted = System.nanoTime();
+        for (int i = 0; i < tasks; i++) {
+            int task = i;
+            pool.execute(() -> {
+                try {
+                    if (dataSource != null) {
+                        query(task);
+                    } else {
+                        connections.acquire();
+                        try {
+                            Thread.sleep(dbMillis);
+                        } finally {
+                            connections.release();
+                        }
+                    }
+                    Thread.sleep(ioMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+                finished[task] = System.nanoTime();
+                done.countDown();
+            });
+        }
+        done.await();
+        for (long end : finished) {
+            if (recorded == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[recorded++] = end - submitted;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportLatencies() {
+        long[] sorted = Arrays.copyOf(latencies, recorded);
+        Arrays.sort(sorted);
+        System.out.printf("%n  task latency ms: p50=%.1f p99=%.1f p999=%.1f (%d tasks)%n",
+            percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999), recorded);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool instanceof ThreadPoolTaskExecutor platform) {
+            platform.shutdown();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    /** Reads a blog and moves it to the next status, in one transaction */
+    private void query(int task) throws SQLException {
+        long id = 1 + task % BLOGS;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            String status;
+            try (PreparedStatement select = connection.prepareStatement("SELECT status, content FROM blog WHERE id = ?")) {
+                select.setLong(1, id);
+                try (ResultSet row = select.executeQuery()) {
+                    row.next();
+                    status = row.getString(1);
+                }
+            }
+            try (PreparedStatement update = connection.prepareStatement("UPDATE blog SET status = ? WHERE id = ?")) {
+                update.setString(1, status.equals("PENDING") ? "APPROVED" : "PENDING");
+                update.setLong(2, id);
+                update.executeUpdate();
+            }
+            connection.commit();
+        }
+    }
+
+    private static HikariDataSource h2() throws SQLException {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:threading;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(DB_CONNECTIONS);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS blog (id BIGINT PRIMARY KEY, status VARCHAR(16), content VARCHAR(4000))");
+            statement.execute("DELETE FROM blog");
+            statement.execute("INSERT INTO blog SELECT x, 'PENDING', REPEAT('lorem ipsum ', 300) FROM SYSTEM_RANGE(1, " + BLOGS + ")");
+        }
+        return dataSource;
+    }
+
+    private static ThreadPoolTaskExecutor platform(int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("bench-");
+        executor.initialize();
+        return executor;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000d;
+    }
+}
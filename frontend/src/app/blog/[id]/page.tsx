@@ -2,6 +2,7 @@
 
 import { useState, useEffect } from 'react';
 import { useParams } from 'next/navigation';
+import Link from 'next/link';
 import { useAuth } from '../../../context/AuthContext';
 import type { Blog } from '../../../types/blog';
 
@@ -14,27 +15,37 @@ interface Comment {
   createdAt: string;
 }
 
+interface RelatedPost {
+  id: number;
+  title: string;
+  author: string;
+  snippet: string;
+}
+
 export default function BlogPage() {
   const params = useParams();
   const { user, isLoggedIn } = useAuth();
   const [blog, setBlog] = useState<Blog | null>(null);
   const [comments, setComments] = useState<Comment[]>([]);
+  const [commentCount, setCommentCount] = useState(0);
+  const [commentCursor, setCommentCursor] = useState<string | null>(null);
   const [newComment, setNewComment] = useState('');
   const [loading, setLoading] = useState(true);
   const [isFollowing, setIsFollowing] = useState(false);
   const [followerCount, setFollowerCount] = useState(0);
+  const [related, setRelated] = useState<RelatedPost[]>([]);
 
   useEffect(() => {
     if (params.id) {
       fetchBlog();
       fetchComments();
+      fetchRelated();
     }
   }, [params.id]);
 
   useEffect(() => {
-    if (blog && user) {
-      checkFollowing();
-      fetchFollowerCount();
+    if (blog) {
+      fetchFollowState();
     }
   }, [blog, user]);
 
@@ -52,41 +63,53 @@ export default function BlogPage() {
     }
   }
 
-  async function fetchComments() {
+  async function fetchComments(cursor?: string) {
     try {
-      const res = await fetch(`${API_BASE}/api/blogs/${params.id}/comments`);
-      if (res.ok) {
-        const data = await res.json();
-        setComments(data);
+      const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+      const [pageRes, countRes] = await Promise.all([
+        fetch(`${API_BASE}/api/blogs/${params.id}/comments${query}`),
+        cursor ? null : fetch(`${API_BASE}/api/blogs/${params.id}/comments/count`)
+      ]);
+      if (pageRes.ok) {
+        const page = await pageRes.json();
+        setComments(prev => cursor ? [...prev, ...page.items] : page.items);
+        setCommentCursor(page.nextCursor);
+      }
+      if (countRes?.ok) {
+        const data = await countRes.json();
+        setCommentCount(data.count);
       }
     } catch (err) {
       console.error('Failed to fetch comments:', err);
     }
   }
 
-  async function checkFollowing() {
-    if (!user || !blog) return;
+  async function fetchRelated() {
     try {
-      const res = await fetch(`${API_BASE}/api/follow/check?userId=${user.id}&authorName=${encodeURIComponent(blog.author)}`);
+      const res = await fetch(`${API_BASE}/api/blogs/${params.id}/related`);
       if (res.ok) {
         const data = await res.json();
-        setIsFollowing(data.isFollowing);
+        setRelated(data.items);
       }
     } catch (err) {
-      console.error('Failed to check following:', err);
+      console.error('Failed to fetch related posts:', err);
     }
   }
 
-  async function fetchFollowerCount() {
+  // Follow state and follower count in one request
+  async function fetchFollowState() {
     if (!blog) return;
     try {
-      const res = await fetch(`${API_BASE}/api/follow/count/${encodeURIComponent(blog.author)}`);
+      const userParam = user ? `userId=${user.id}&` : '';
+      const res = await fetch(`${API_BASE}/api/follow/state?${userParam}authorNames=${encodeURIComponent(blog.author)}`);
       if (res.ok) {
         const data = await res.json();
-        setFollowerCount(data.count);
+        const author = data.authors[0];
+        setIsFollowing(author.isFollowing);
+        setFollowerCount(author.followers);
       }
     } catch (err) {
-      console.error('Failed to fetch follower count:', err);
+      console.error('Failed to fetch follow state:', err);
     }
   }
 
@@ -96,16 +119,16 @@ export default function BlogPage() {
       if (isFollowing) {
         await fetch(`${API_BASE}/api/follow`, {
           method: 'DELETE',
-          headers: { 'Content-Type': 'application/json' },
-          body: JSON.stringify({ userId: user.id, authorName: blog.author })
+          headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${user.token}` },
+          body: JSON.stringify({ authorName: blog.author })
         });
         setIsFollowing(false);
         setFollowerCount(prev => prev - 1);
       } else {
         await fetch(`${API_BASE}/api/follow`, {
           method: 'POST',
-          headers: { 'Content-Type': 'application/json' },
-          body: JSON.stringify({ userId: user.id, authorName: blog.author })
+          headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${user.token}` },
+          body: JSON.stringify({ authorName: blog.author })
         });
         setIsFollowing(true);
         setFollowerCount(prev => prev + 1);
@@ -122,13 +145,14 @@ export default function BlogPage() {
     try {
       const res = await fetch(`${API_BASE}/api/blogs/${params.id}/comments`, {
         method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
-        body: JSON.stringify({ content: newComment, userId: user.id })
+        headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${user.token}` },
+        body: JSON.stringify({ content: newComment })
       });
 
       if (res.ok) {
         const comment = await res.json();
         setComments([comment, ...comments]);
+        setCommentCount(prev => prev + 1);
         setNewComment('');
       }
     } catch (err) {
@@ -196,6 +220,23 @@ export default function BlogPage() {
         )}
       </article>
 
+      {related.length > 0 && (
+        <section style={{ marginBottom: 48 }}>
+          <h2 style={{ marginBottom: 16, fontSize: 18, color: '#000', fontWeight: 600 }}>
+            Related posts
+          </h2>
+          {related.map(post => (
+            <Link key={post.id} href={`/blog/${post.id}`} style={{
+              display: 'block', padding: '14px 0', borderBottom: '1px solid #ffd5cc',
+              color: '#000', textDecoration: 'none'
+            }}>
+              <p style={{ fontWeight: 500, marginBottom: 4 }}>{post.title}</p>
+              <p style={{ color: '#333', fontSize: 13 }}>{post.author}</p>
+            </Link>
+          ))}
+        </section>
+      )}
+
       <section style={{
         backgroundColor: '#fff', border: '1px solid #ffd5cc',
         borderRadius: 12, padding: 28
@@ -203,7 +244,7 @@ export default function BlogPage() {
         <h2 style={{
           marginBottom: 24, fontSize: 18, color: '#000', fontWeight: 600
         }}>
-          Discussion ({comments.length})
+          Discussion ({commentCount})
         </h2>
 
         {isLoggedIn ? (
@@ -256,6 +297,14 @@ export default function BlogPage() {
             </div>
           ))
         )}
+
+        {commentCursor && (
+          <button onClick={() => fetchComments(commentCursor)} style={{
+            marginTop: 16, padding: '8px 16px', backgroundColor: '#fff0ed',
+            color: '#000', border: '1px solid #ffd5cc', borderRadius: 6,
+            cursor: 'pointer', fontSize: 14
+          }}>Load more comments</button>
+        )}
       </section>
     </main>
   );
@@ -3,7 +3,7 @@
 import { useState, useEffect } from 'react';
 import { useAuth } from '../../context/AuthContext';
 import type { Blog } from '../../types/blog';
-import { fetchBlogsByStatus, approveBlog, rejectBlog, putUnderReview } from '../../services/blogService';
+import { fetchBlogsByStatus, approveBlog, rejectBlog, putUnderReview, bulkModerate } from '../../services/blogService';
 
 export default function ModerationPage() {
   const { user, isLoggedIn } = useAuth();
@@ -65,6 +65,18 @@ export default function ModerationPage() {
     setCounts(prev => ({ ...prev, [activeTab]: prev[activeTab] - 1, REVIEW: prev.REVIEW + 1 }));
   }
 
+  async function onBulk(action: 'approve' | 'reject') {
+    const ids = blogs.map(b => b.id).filter((id): id is number => !!id);
+    if (ids.length === 0) return;
+    try {
+      await bulkModerate(action, ids);
+    } catch (err) {
+      console.error(err);
+    }
+    load(activeTab);
+    loadAllCounts();
+  }
+
   if (!isLoggedIn || !user?.isAdmin) {
     return (
       <main style={{ maxWidth: 500, margin: '0 auto', padding: '60px 20px', textAlign: 'center' }}>
@@ -107,6 +119,18 @@ export default function ModerationPage() {
             {tabConfig[tab].label} ({counts[tab]})
           </button>
         ))}
+        {activeTab === 'REVIEW' && blogs.length > 0 && (
+          <div style={{ marginLeft: 'auto', display: 'flex', gap: 8 }}>
+            <button onClick={() => onBulk('approve')} style={{
+              padding: '12px 20px', backgroundColor: '#7ac47f', color: '#000',
+              border: 'none', borderRadius: 8, cursor: 'pointer', fontSize: 14, fontWeight: 500
+            }}>Approve all ({blogs.length})</button>
+            <button onClick={() => onBulk('reject')} style={{
+              padding: '12px 20px', backgroundColor: '#e07060', color: '#000',
+              border: 'none', borderRadius: 8, cursor: 'pointer', fontSize: 14, fontWeight: 500
+            }}>Reject all ({blogs.length})</button>
+          </div>
+        )}
       </div>
 
       {loading ? (
@@ -191,10 +215,15 @@ export default function ModerationPage() {
               <div style={{
                 padding: 14, borderRadius: 8, border: '1px solid #ffd5cc', backgroundColor: '#fff9f7'
               }}>
-                <p style={{ fontSize: 12, color: '#333', marginBottom: 4 }}>AI Similarity</p>
+                <p style={{ fontSize: 12, color: '#333', marginBottom: 4 }}>Similarity</p>
                 <p style={{ fontSize: 15, fontWeight: 600, color: '#000' }}>
                   {(b.aiSimilarityScore * 100)?.toFixed(1)}%
                 </p>
+                {b.similarBlogIds && (
+                  <p style={{ fontSize: 12, color: '#666', marginTop: 4 }}>
+                    Closest: {b.similarBlogIds.split(',').map(id => `#${id}`).join(', ')}
+                  </p>
+                )}
               </div>
               <div style={{
                 padding: 14, borderRadius: 8, border: '1px solid #ffd5cc', backgroundColor: '#fff9f7'
@@ -71,8 +71,8 @@ export default function ProfilePage() {
     try {
       await fetch(`${API_BASE}/api/follow`, {
         method: 'DELETE',
-        headers: { 'Content-Type': 'application/json' },
-        body: JSON.stringify({ userId: user.id, authorName })
+        headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${user.token}` },
+        body: JSON.stringify({ authorName })
       });
       setFollowing(following.filter(f => f !== authorName));
     } catch (err) {
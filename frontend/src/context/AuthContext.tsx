@@ -10,6 +10,7 @@ interface User {
   name: string;
   bio?: string;
   isAdmin: boolean;
+  token: string;
 }
 
 interface AuthContextType {
@@ -30,7 +31,13 @@ export function AuthProvider({ children }: { children: ReactNode }) {
   useEffect(() => {
     const saved = localStorage.getItem('bloggy_user');
     if (saved) {
-      setUser(JSON.parse(saved));
+      const parsed: User = JSON.parse(saved);
+      // Sessions saved before tokens were issued must sign in again
+      if (parsed.token) {
+        setUser(parsed);
+      } else {
+        localStorage.removeItem('bloggy_user');
+      }
     }
   }, []);
 
@@ -49,7 +56,8 @@ export function AuthProvider({ children }: { children: ReactNode }) {
           email: data.email,
           name: data.name,
           bio: data.bio,
-          isAdmin: data.role === 'ADMIN'
+          isAdmin: data.role === 'ADMIN',
+          token: data.token
         };
         setUser(userData);
         localStorage.setItem('bloggy_user', JSON.stringify(userData));
@@ -77,7 +85,8 @@ export function AuthProvider({ children }: { children: ReactNode }) {
           id: data.id,
           email: data.email,
           name: data.name,
-          isAdmin: data.role === 'ADMIN'
+          isAdmin: data.role === 'ADMIN',
+          token: data.token
         };
         setUser(userData);
         localStorage.setItem('bloggy_user', JSON.stringify(userData));
@@ -99,7 +108,7 @@ export function AuthProvider({ children }: { children: ReactNode }) {
 
       const res = await fetch(`${API_BASE}/api/auth/user/${user.id}`, {
         method: 'PUT',
-        headers: { 'Content-Type': 'application/json' },
+        headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${user.token}` },
         body: JSON.stringify(body)
       });
 
@@ -111,7 +120,8 @@ export function AuthProvider({ children }: { children: ReactNode }) {
           email: data.email,
           name: data.name,
           bio: data.bio,
-          isAdmin: data.role === 'ADMIN'
+          isAdmin: data.role === 'ADMIN',
+          token: data.token
         };
         setUser(userData);
         localStorage.setItem('bloggy_user', JSON.stringify(userData));
@@ -2,6 +2,13 @@
 
 const API_BASE = process.env.NEXT_PUBLIC_API_BASE || 'http://localhost:8080';
 
+// Moderation endpoints need the signed-in admin's token (saved by AuthContext)
+function authHeader(): Record<string, string> {
+    const saved = typeof window !== 'undefined' ? localStorage.getItem('bloggy_user') : null;
+    const token = saved ? JSON.parse(saved).token : null;
+    return token ? { Authorization: `Bearer ${token}` } : {};
+}
+
 export async function submitBlog(blog: {title:string, author:string, content:string}){
     const res = await fetch(`${API_BASE}/api/blogs`, {
         method: 'POST',
@@ -13,6 +20,18 @@ export async function submitBlog(blog: {title:string, author:string, content:str
     return res.json();
 }
 
+// Authors only; the edit is moderated again before this returns
+export async function updateBlog(id: number, changes: {title?: string, content?: string}){
+    const res = await fetch(`${API_BASE}/api/blogs/${id}`, {
+        method: 'PUT',
+        headers: { 'Content-Type': 'application/json', ...authHeader() },
+        body: JSON.stringify(changes),
+    });
+
+    if(!res.ok) throw new Error('Failed to update blog');
+    return res.json();
+}
+
 export async function fetchBlogsByStatus(status: String){
     const res = await fetch(`${API_BASE}/api/blogs?status=${status}`);
     if(!res.ok) throw new Error('Failed to fetch blogs');
@@ -22,6 +41,7 @@ export async function fetchBlogsByStatus(status: String){
 export async function approveBlog(id: number){
     const res = await fetch(`${API_BASE}/api/blogs/${id}/approve`, {
         method: 'PUT',
+        headers: authHeader(),
     });
 
     if(!res.ok) throw new Error('Failed to approve blog');
@@ -31,6 +51,7 @@ export async function approveBlog(id: number){
 export async function rejectBlog(id: number){
     const res = await fetch(`${API_BASE}/api/blogs/${id}/reject`, {
         method: 'PUT',
+        headers: authHeader(),
     });
 
     if(!res.ok) throw new Error('Failed to reject blog');
@@ -40,12 +61,25 @@ export async function rejectBlog(id: number){
 export async function putUnderReview(id: number){
     const res = await fetch(`${API_BASE}/api/blogs/${id}/review`, {
         method: 'PUT',
+        headers: authHeader(),
     });
 
     if(!res.ok) throw new Error('Failed to put blog under review');
     return res.json();
 }
 
+// One request for many blogs; the response lists each blog's outcome
+export async function bulkModerate(action: 'approve' | 'reject' | 'review', ids: number[]){
+    const res = await fetch(`${API_BASE}/api/moderation/bulk/${action}`, {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json', ...authHeader() },
+        body: JSON.stringify({ ids }),
+    });
+
+    if(!res.ok) throw new Error('Failed to moderate blogs');
+    return res.json();
+}
+
 export async function fetchBlogsByAuthor(author: string){
     const res = await fetch(`${API_BASE}/api/blogs?author=${encodeURIComponent(author)}`);
     if(!res.ok) throw new Error('Failed to fetch blogs by author');
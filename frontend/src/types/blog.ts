@@ -9,6 +9,7 @@ export interface Blog {
     tags: string;
     seoScore: number;
     aiSimilarityScore: number;
+    similarBlogIds?: string;
     profanityFound: boolean;
     createdAt: string;
     updatedAt: string;
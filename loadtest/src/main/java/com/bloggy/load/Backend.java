@@ -0,0 +1,119 @@
+package com.bloggy.load;
+
+import com.bloggy.BloggyBackendApplication;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The backend under test: a running instance at a URL, or one started in this JVM against an
+ * in-memory H2 database or the docker-compose MySQL. In-process runs deliver email to an
+ * embedded GreenMail server, so follower fan-out does its real SMTP work without leaving the
+ * machine; pass {@code --spring.mail.host=...} to point it elsewhere. Redis is used if it is up.
+ * In-process backends serve actuator on a separate management port, where metrics need no token.
+ */
+public class Backend implements AutoCloseable {
+
+    private final String baseUrl;
+    private final String metricsUrl;
+    private final ConfigurableApplicationContext context;
+    private final GreenMail mail;
+
+    private Backend(String baseUrl, String metricsUrl, ConfigurableApplicationContext context, GreenMail mail) {
+        this.baseUrl = baseUrl;
+        this.metricsUrl = metricsUrl;
+        this.context = context;
+        this.mail = mail;
+    }
+
+    public static Backend start(LoadConfig config) {
+        if (config.isExternal()) {
+            String target = config.target.endsWith("/") ? config.target.substring(0, config.target.length() - 1) : config.target;
+            return new Backend(target, config.metricsUrl != null ? config.metricsUrl : target + "/actuator/prometheus", null, null);
+        }
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        // A fixed number, as the backend only opens actuator to requests arriving on that exact port
+        properties.put("management.server.port", String.valueOf(freePort()));
+        // Statement and security logging would dominate the profile
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.com.bloggy", "INFO");
+        properties.put("logging.level.org.springframework.security", "INFO");
+        properties.put("tags.idf.snapshot-path", config.reportDir.resolve("document-frequencies.bin").toString());
+        switch (config.target) {
+            case "h2" -> {
+                properties.put("spring.datasource.url", "jdbc:h2:mem:bloggy;MODE=MySQL;DB_CLOSE_DELAY=-1");
+                properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+                properties.put("spring.datasource.username", "sa");
+                properties.put("spring.datasource.password", "");
+                properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+            }
+            case "mysql" -> { } // application.properties already points at the docker-compose MySQL
+            default -> throw new IllegalArgumentException("--target must be h2, mysql or a URL, got " + config.target);
+        }
+
+        GreenMail mail = null;
+        if (!config.backendProperties.containsKey("spring.mail.host")) {
+            mail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+            mail.start();
+            properties.put("spring.mail.host", "127.0.0.1");
+            properties.put("spring.mail.port", String.valueOf(mail.getSmtp().getPort()));
+            properties.put("spring.mail.properties.mail.smtp.auth", "false");
+            properties.put("spring.mail.properties.mail.smtp.starttls.enable", "false");
+            // A username makes the sender log in, which GreenMail refuses for an unknown user
+            properties.put("spring.mail.username", "");
+            properties.put("spring.mail.password", "");
+            properties.put("email.from", "loadtest@localhost");
+        }
+        properties.putAll(config.backendProperties);
+
+        List<String> args = properties.entrySet().stream()
+            .map(property -> "--" + property.getKey() + "=" + property.getValue())
+            .toList();
+        ConfigurableApplicationContext context = SpringApplication.run(BloggyBackendApplication.class, args.toArray(String[]::new));
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String managementPort = context.getEnvironment().getProperty("local.management.port", port);
+        return new Backend("http://localhost:" + port, "http://localhost:" + managementPort + "/actuator/prometheus", context, mail);
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getMetricsUrl() {
+        return metricsUrl;
+    }
+
+    /** Emails the embedded SMTP server received, or -1 if it isn't in use */
+    public int emailsReceived() {
+        return mail == null ? -1 : mail.getReceivedMessages().length;
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+        if (mail != null) {
+            mail.stop();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.bloggy.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * The REST calls a browser makes, over one shared HTTP/1.1 client. Reads ask for gzip as
+ * browsers do, so the pre-compressed responses are exercised; bodies are not decompressed.
+ */
+public class BloggyClient {
+
+    /** A registered user and its bearer token */
+    public static class User {
+        final long id;
+        final String name;
+        final String token;
+
+        User(long id, String name, String token) {
+            this.id = id;
+            this.name = name;
+            this.token = token;
+        }
+    }
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+    private final String baseUrl;
+
+    public BloggyClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public User register(String name, String email, String password) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(post("/api/auth/register", Map.of(
+            "name", name, "email", email, "password", password)).build());
+        if (response.statusCode() != 200) {
+            throw new IOException("Could not register " + email + ": HTTP " + response.statusCode()
+                + " " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        Map<?, ?> body = mapper.readValue(response.body(), Map.class);
+        return new User(((Number) body.get("id")).longValue(), name, (String) body.get("token"));
+    }
+
+    public HttpResponse<byte[]> submit(User user, String title, String content) throws IOException, InterruptedException {
+        return send(post("/api/blogs", Map.of("title", title, "author", user.name, "content", content)).build());
+    }
+
+    public HttpResponse<byte[]> approvedSummaries() throws IOException, InterruptedException {
+        return send(get("/api/blogs/summaries?status=APPROVED&limit=20").header("Accept-Encoding", "gzip").build());
+    }
+
+    public HttpResponse<byte[]> blog(long id) throws IOException, InterruptedException {
+        return send(get("/api/blogs/" + id).header("Accept-Encoding", "gzip").build());
+    }
+
+    public HttpResponse<byte[]> comment(User user, long blogId, String content) throws IOException, InterruptedException {
+        return send(authorized(post("/api/blogs/" + blogId + "/comments", Map.of("content", content)), user));
+    }
+
+    public HttpResponse<byte[]> follow(User user, String authorName, boolean follow) throws IOException, InterruptedException {
+        HttpRequest.Builder request = json(follow ? "POST" : "DELETE", "/api/follow", Map.of("authorName", authorName));
+        return send(authorized(request, user));
+    }
+
+    /** Moderation status of a blog, or null if it can't be read */
+    public String status(long id) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(get("/api/blogs/" + id).build());
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        return (String) mapper.readValue(response.body(), Map.class).get("status");
+    }
+
+    public long id(HttpResponse<byte[]> response) throws IOException {
+        return ((Number) mapper.readValue(response.body(), Map.class).get("id")).longValue();
+    }
+
+    /** Prometheus text exposition, or null if the endpoint is not reachable */
+    public String prometheus(String url) {
+        try {
+            HttpResponse<byte[]> response = send(HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET().build());
+            return response.statusCode() == 200 ? new String(response.body(), StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET();
+    }
+
+    private HttpRequest.Builder post(String path, Map<String, ?> body) {
+        return json("POST", path, body);
+    }
+
+    private HttpRequest.Builder json(String method, String path, Map<String, ?> body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static HttpRequest authorized(HttpRequest.Builder request, User user) {
+        return request.header("Authorization", "Bearer " + user.token).build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.bloggy.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Options of a run, from {@code --name=value} arguments. Arguments the harness does not know
+ * are passed on to the backend when it is started in-process, e.g.
+ * {@code --spring.threads.virtual.enabled=true}, and are recorded in the report.
+ */
+public class LoadConfig {
+
+    /** h2, mysql (the docker/docker-compose.yml stack) or the base URL of a running backend */
+    String target = "h2";
+    /** Virtual users, one worker thread each */
+    int users = 32;
+    /** Total requests per second across users; 0 runs closed-loop, each user as fast as it can */
+    double rate = 0;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(60);
+    /** How long to wait for outstanding moderation decisions after seeding and after the run */
+    Duration drain = Duration.ofSeconds(60);
+    Duration pollInterval = Duration.ofMillis(250);
+    /** Blogs each user submits before the run, so there is something to list, read and comment on */
+    int seedBlogs = 2;
+    /** Words per submitted blog */
+    int words = 600;
+    /** Chance a submitted blog contains a profane word, and so goes to REVIEW */
+    double profanityRate = 0.05;
+    long seed = 42;
+    Map<Operation, Integer> mix = defaultMix();
+    Path reportDir = Path.of("target", "loadtest");
+    String label = "bloggy";
+    /** Earlier report to print deltas against */
+    Path compare;
+    /** Prometheus endpoint of an external target, e.g. on its management port; by default target/actuator/prometheus */
+    String metricsUrl;
+    Map<String, String> backendProperties = new LinkedHashMap<>();
+
+    private static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.SUBMIT, 10);
+        mix.put(Operation.LIST, 40);
+        mix.put(Operation.READ, 35);
+        mix.put(Operation.COMMENT, 10);
+        mix.put(Operation.FOLLOW, 5);
+        return mix;
+    }
+
+    public static LoadConfig parse(String[] args) {
+        LoadConfig config = new LoadConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "target" -> config.target = value;
+                case "users" -> config.users = Integer.parseInt(value);
+                case "rate" -> config.rate = Double.parseDouble(value);
+                case "warmup" -> config.warmup = duration(value);
+                case "duration" -> config.duration = duration(value);
+                case "drain" -> config.drain = duration(value);
+                case "poll-interval" -> config.pollInterval = duration(value);
+                case "seed-blogs" -> config.seedBlogs = Integer.parseInt(value);
+                case "words" -> config.words = Integer.parseInt(value);
+                case "profanity-rate" -> config.profanityRate = Double.parseDouble(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "mix" -> config.mix = mix(value);
+                case "report-dir" -> config.reportDir = Path.of(value);
+                case "label" -> config.label = value;
+                case "compare" -> config.compare = Path.of(value);
+                case "metrics-url" -> config.metricsUrl = value;
+                default -> config.backendProperties.put(name, value);
+            }
+        }
+        if (config.users < 1) {
+            throw new IllegalArgumentException("--users must be at least 1");
+        }
+        return config;
+    }
+
+    /** e.g. submit=10,list=40,read=35,comment=10,follow=5; operations left out are not run */
+    static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Bad --mix entry: " + part);
+            }
+            mix.put(Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix needs a positive weight");
+        }
+        return mix;
+    }
+
+    /** 90s, 5m, 250ms, or plain seconds */
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    boolean isExternal() {
+        return target.startsWith("http://") || target.startsWith("https://");
+    }
+
+    /** Settings that make two reports comparable */
+    Map<String, Object> describe() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("target", target);
+        settings.put("users", users);
+        settings.put("rate", rate);
+        settings.put("warmupSeconds", warmup.toSeconds());
+        settings.put("durationSeconds", duration.toSeconds());
+        settings.put("seedBlogs", seedBlogs);
+        settings.put("words", words);
+        settings.put("profanityRate", profanityRate);
+        settings.put("seed", seed);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((operation, weight) -> weights.put(operation.name().toLowerCase(Locale.ROOT), weight));
+        settings.put("mix", weights);
+        settings.put("backendProperties", backendProperties);
+        return settings;
+    }
+}
@@ -0,0 +1,97 @@
+package com.bloggy.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Writes a run's report as JSON (one file per run, named by label and time), prints it as a
+ * table, and diffs it against an earlier report.
+ */
+public class LoadReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static Path write(Map<String, Object> report, Path dir, String label) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve(label + "-" + LocalDateTime.now().format(FILE_TIME) + ".json");
+        MAPPER.writeValue(file.toFile(), report);
+        return file;
+    }
+
+    public static void print(Map<String, Object> report) {
+        System.out.printf("%n%-8s %9s %6s %6s %9s %9s %9s %9s %9s%n",
+            "op", "ok", "shed", "errors", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        map(report, "operations").forEach((operation, value) -> {
+            Map<String, Object> stats = map(value);
+            Map<String, Object> latency = map(stats.get("latency"));
+            System.out.printf("%-8s %9s %6s %6s %9s %9.1f %9.1f %9.1f %9.1f%n", operation,
+                stats.get("ok"), stats.get("shed"), stats.get("errors"), stats.get("throughput"),
+                number(latency, "p50Ms"), number(latency, "p99Ms"), number(latency, "p999Ms"), number(latency, "maxMs"));
+        });
+        System.out.println("total ops/s: " + report.get("throughput"));
+
+        Map<String, Object> moderation = map(report, "moderation");
+        Map<String, Object> lag = map(moderation.get("lag"));
+        System.out.printf("moderation lag (submit to decision): p50=%.0fms p99=%.0fms p999=%.0fms over %s blogs, %s undecided%n",
+            number(lag, "p50Ms"), number(lag, "p99Ms"), number(lag, "p999Ms"), lag.get("count"), moderation.get("undecided"));
+        map(moderation.get("byOutcome")).forEach((outcome, value) -> {
+            Map<String, Object> outcomeLag = map(value);
+            System.out.printf("  %-9s %6s blogs, p99=%.0fms%n", outcome, outcomeLag.get("count"), number(outcomeLag, "p99Ms"));
+        });
+
+        Map<String, Object> server = map(report, "server");
+        if (!Boolean.FALSE.equals(server.get("available"))) {
+            server.forEach((name, value) -> System.out.println("server " + name + ": " + value));
+        }
+    }
+
+    /** Prints throughput and tail latency of this run next to an earlier one */
+    public static void compare(Map<String, Object> report, Path previousFile) throws IOException {
+        Map<String, Object> previous = map(MAPPER.readValue(previousFile.toFile(), Map.class));
+        System.out.printf("%nCompared with %s (%s):%n", previous.get("label"), previous.get("startedAt"));
+        // Round-trip so numbers have the types they'd be read back with
+        if (!map(previous, "settings").equals(map(map(MAPPER.convertValue(report, Map.class)), "settings"))) {
+            System.out.println("  note: settings differ, see the reports");
+        }
+        line("total ops/s", number(previous, "throughput"), number(report, "throughput"));
+
+        Map<String, Object> before = map(previous, "operations");
+        map(report, "operations").forEach((operation, value) -> {
+            if (before.containsKey(operation)) {
+                Map<String, Object> now = map(value);
+                Map<String, Object> then = map(before.get(operation));
+                line(operation + " ops/s", number(then, "throughput"), number(now, "throughput"));
+                line(operation + " p99 ms", number(map(then.get("latency")), "p99Ms"), number(map(now.get("latency")), "p99Ms"));
+                line(operation + " p999 ms", number(map(then.get("latency")), "p999Ms"), number(map(now.get("latency")), "p999Ms"));
+            }
+        });
+        line("moderation lag p99 ms", number(map(map(previous, "moderation").get("lag")), "p99Ms"),
+            number(map(map(report, "moderation").get("lag")), "p99Ms"));
+    }
+
+    private static void line(String name, double before, double after) {
+        String change = before == 0 ? "" : String.format("%+.1f%%", (after - before) / before * 100);
+        System.out.printf("  %-24s %10.1f -> %10.1f %8s%n", name, before, after, change);
+    }
+
+    private static Map<String, Object> map(Map<String, Object> parent, String key) {
+        return map(parent.get(key));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Map.of();
+    }
+
+    private static double number(Map<String, Object> parent, String key) {
+        return parent.get(key) instanceof Number n ? n.doubleValue() : 0;
+    }
+}
@@ -0,0 +1,296 @@
+package com.bloggy.load;
+
+import com.bloggy.load.BloggyClient.User;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test: registers users, seeds blogs, then has each user pick operations from
+ * the configured mix until the run ends, and writes a JSON report to compare across releases.
+ *
+ * <pre>
+ * java -jar target/loadtest.jar --target=h2 --users=64 --duration=2m
+ * java -jar target/loadtest.jar --target=mysql --rate=200 --mix=submit=30,list=40,read=30
+ * java -jar target/loadtest.jar --target=http://localhost:8080 --compare=target/loadtest/bloggy-20260101-120000.json
+ * </pre>
+ *
+ * Closed-loop by default. With --rate, requests are scheduled at fixed intervals and latency is
+ * measured from when a request was due rather than when it was sent, so a stalled server shows
+ * up in the percentiles instead of just slowing the load down.
+ */
+public class LoadTest {
+
+    /** Outcome counts and successful-request latency of one operation */
+    static class OperationStats {
+        final Latencies latencies = new Latencies();
+        final AtomicLong ok = new AtomicLong();
+        /** 429 and 503: load shed by the backend, e.g. submissions while the moderation queue is full */
+        final AtomicLong shed = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+
+        Map<String, Object> summary(double seconds) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("ok", ok.get());
+            summary.put("shed", shed.get());
+            summary.put("errors", errors.get());
+            summary.put("throughput", Math.round(ok.get() / seconds * 10) / 10d);
+            summary.put("latency", latencies.summary());
+            return summary;
+        }
+    }
+
+    private final LoadConfig config;
+    private final BloggyClient client;
+    private final ModerationTracker tracker;
+    private final ServerMetrics metrics;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] weighted;
+    private final AtomicLong slots = new AtomicLong();
+    private List<User> users;
+    private long startNanos;
+    private long measureStartNanos;
+    private long endNanos;
+
+    private final String metricsUrl;
+
+    LoadTest(LoadConfig config, String baseUrl, String metricsUrl) {
+        this.config = config;
+        this.client = new BloggyClient(baseUrl);
+        this.tracker = new ModerationTracker(client, config.pollInterval);
+        this.metrics = new ServerMetrics(client, metricsUrl);
+        this.metricsUrl = metricsUrl;
+        List<Operation> weighted = new ArrayList<>();
+        config.mix.forEach((operation, weight) -> {
+            stats.put(operation, new OperationStats());
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        stats.putIfAbsent(Operation.LIST, new OperationStats()); // READ and COMMENT fall back to it
+        this.weighted = weighted.toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.parse(args);
+        try (Backend backend = Backend.start(config)) {
+            System.out.println("Load testing " + backend.getBaseUrl());
+            Map<String, Object> report = new LoadTest(config, backend.getBaseUrl(), backend.getMetricsUrl()).run(backend);
+
+            Path file = LoadReport.write(report, config.reportDir, config.label);
+            LoadReport.print(report);
+            if (config.compare != null) {
+                LoadReport.compare(report, config.compare);
+            }
+            System.out.println("Report written to " + file);
+        }
+    }
+
+    Map<String, Object> run(Backend backend) throws Exception {
+        Instant startedAt = Instant.now();
+        tracker.start();
+
+        int seeded = seed();
+        metrics.start();
+        if (!metrics.available()) {
+            System.err.println(metricsUrl + " is not reachable; server metrics are left out of the report");
+        }
+
+        startNanos = System.nanoTime();
+        measureStartNanos = startNanos + config.warmup.toNanos();
+        endNanos = measureStartNanos + config.duration.toNanos();
+        System.out.printf("Running %d users for %ds after %ds warm-up%n",
+            users.size(), config.duration.toSeconds(), config.warmup.toSeconds());
+
+        Thread sampler = Thread.ofVirtual().name("metrics-sampler").start(() -> {
+            while (System.nanoTime() < endNanos) {
+                metrics.sample();
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users.size(); i++) {
+                int user = i;
+                workers.submit(() -> runUser(user));
+            }
+        }
+        sampler.join();
+
+        int undecided = tracker.awaitDecisions(config.drain);
+        if (undecided > 0) {
+            System.err.println(undecided + " submissions still awaiting moderation after " + config.drain.toSeconds() + "s");
+        }
+        tracker.stop();
+        metrics.stop();
+
+        double seconds = config.duration.toNanos() / 1e9;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", config.label);
+        report.put("startedAt", startedAt.toString());
+        report.put("java", Runtime.version().toString());
+        report.put("settings", config.describe());
+        report.put("seededBlogs", seeded);
+        long total = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            operations.put(entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue().summary(seconds));
+            total += entry.getValue().ok.get();
+        }
+        report.put("throughput", Math.round(total / seconds * 10) / 10d);
+        report.put("operations", operations);
+        report.put("moderation", tracker.summary());
+        Map<String, Object> server = metrics.summary();
+        if (backend.emailsReceived() >= 0) {
+            server.put("emailsReceivedBySmtp", backend.emailsReceived());
+        }
+        report.put("server", server);
+        return report;
+    }
+
+    /** Registers the users and has each submit its seed blogs, unmeasured; returns how many were approved */
+    private int seed() throws Exception {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<Future<User>> registrations = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.users; i++) {
+                String name = "load-" + run + "-" + i;
+                registrations.add(executor.submit(() -> client.register(name, name + "@example.com", "load-test")));
+            }
+        }
+        users = new ArrayList<>();
+        for (Future<User> registration : registrations) {
+            users.add(registration.get());
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                PostGenerator posts = new PostGenerator(new Random(config.seed - i - 1), config.words, config.profanityRate);
+                executor.submit(() -> {
+                    for (int b = 0; b < config.seedBlogs; b++) {
+                        long sent = System.nanoTime();
+                        HttpResponse<byte[]> response = client.submit(user, posts.title(), posts.content());
+                        if (response.statusCode() == 200) {
+                            tracker.submitted(client.id(response), sent, false);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        tracker.awaitDecisions(config.drain);
+        System.out.printf("Registered %d users, %d seed blogs approved%n", users.size(), tracker.approvedCount());
+        return tracker.approvedCount();
+    }
+
+    private void runUser(int index) {
+        User user = users.get(index);
+        Random random = new Random(config.seed + index);
+        PostGenerator posts = new PostGenerator(random, config.words, config.profanityRate);
+        Set<String> following = new HashSet<>();
+        double periodNanos = config.rate > 0 ? 1e9 / config.rate : 0;
+
+        while (true) {
+            Operation operation = weighted[random.nextInt(weighted.length)];
+            long blogId = tracker.randomApproved(random);
+            if ((operation == Operation.READ || operation == Operation.COMMENT) && blogId < 0
+                    || operation == Operation.FOLLOW && users.size() < 2) {
+                operation = Operation.LIST; // Nothing to act on yet
+            }
+            // Build the request body before the clock starts
+            String title = operation == Operation.SUBMIT ? posts.title() : null;
+            String text = operation == Operation.SUBMIT ? posts.content()
+                : operation == Operation.COMMENT ? posts.comment() : null;
+            String author = operation == Operation.FOLLOW ? otherUser(index, random).name : null;
+
+            long start;
+            if (periodNanos > 0) {
+                start = startNanos + (long) (slots.getAndIncrement() * periodNanos);
+                if (start >= endNanos) {
+                    return;
+                }
+                sleepUntil(start);
+            } else {
+                start = System.nanoTime();
+                if (start >= endNanos) {
+                    return;
+                }
+            }
+            boolean measured = start >= measureStartNanos;
+
+            int status;
+            try {
+                HttpResponse<byte[]> response = switch (operation) {
+                    case SUBMIT -> client.submit(user, title, text);
+                    case LIST -> client.approvedSummaries();
+                    case READ -> client.blog(blogId);
+                    case COMMENT -> client.comment(user, blogId, text);
+                    case FOLLOW -> client.follow(user, author, !following.contains(author));
+                };
+                status = response.statusCode();
+                if (status == 200 && operation == Operation.SUBMIT) {
+                    tracker.submitted(client.id(response), start, measured);
+                }
+                if (status == 200 && operation == Operation.FOLLOW && !following.remove(author)) {
+                    following.add(author);
+                }
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (measured) {
+                record(operation, status, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void record(Operation operation, int status, long nanos) {
+        OperationStats operationStats = stats.get(operation);
+        if (status >= 200 && status < 400) {
+            operationStats.ok.incrementAndGet();
+            operationStats.latencies.record(nanos);
+        } else if (status == 429 || status == 503) {
+            operationStats.shed.incrementAndGet();
+        } else {
+            operationStats.errors.incrementAndGet();
+        }
+    }
+
+    private User otherUser(int index, Random random) {
+        int other = random.nextInt(users.size() - 1);
+        return users.get(other >= index ? other + 1 : other);
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            try {
+                Thread.sleep(remaining / 1_000_000, (int) (remaining % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.bloggy.load;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Follows submitted blogs until the moderation worker decides them, by polling each pending
+ * blog every poll interval, and keeps the pool of approved blogs that users read and comment on.
+ * Lag runs from sending the submission to the first poll that sees a decision, so it is
+ * accurate to within one poll interval. Poll requests are not counted as load.
+ */
+public class ModerationTracker {
+
+    private static class Submission {
+        final long sentNanos;
+        final boolean measured;
+
+        Submission(long sentNanos, boolean measured) {
+            this.sentNanos = sentNanos;
+            this.measured = measured;
+        }
+    }
+
+    private final BloggyClient client;
+    private final Duration pollInterval;
+    private final Map<Long, Submission> pending = new ConcurrentHashMap<>();
+    private final Map<String, Latencies> lagByOutcome = new ConcurrentHashMap<>();
+    private final Latencies lag = new Latencies();
+    private final List<Long> approved = new ArrayList<>();
+    private final AtomicLong pollErrors = new AtomicLong();
+    private volatile boolean running = true;
+    private Thread poller;
+
+    public ModerationTracker(BloggyClient client, Duration pollInterval) {
+        this.client = client;
+        this.pollInterval = pollInterval;
+    }
+
+    public void start() {
+        poller = Thread.ofVirtual().name("moderation-poller").start(this::poll);
+    }
+
+    /**
+     * @param measured Whether the decision counts towards the reported lag (false while seeding and warming up)
+     */
+    public void submitted(long blogId, long sentNanos, boolean measured) {
+        pending.put(blogId, new Submission(sentNanos, measured));
+    }
+
+    /** Waits until every tracked blog is decided or the timeout passes; returns how many are still pending */
+    public int awaitDecisions(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!pending.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(pollInterval.toMillis());
+        }
+        return pending.size();
+    }
+
+    /** A random approved blog, or -1 if none is known yet */
+    public long randomApproved(Random random) {
+        synchronized (approved) {
+            return approved.isEmpty() ? -1 : approved.get(random.nextInt(approved.size()));
+        }
+    }
+
+    public int approvedCount() {
+        synchronized (approved) {
+            return approved.size();
+        }
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        if (poller != null) {
+            poller.join();
+        }
+    }
+
+    /** Lag over all decisions and per outcome, plus submissions never decided */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("lag", lag.summary());
+        Map<String, Object> outcomes = new LinkedHashMap<>();
+        lagByOutcome.forEach((status, latencies) -> outcomes.put(status, latencies.summary()));
+        summary.put("byOutcome", outcomes);
+        summary.put("undecided", pending.values().stream().filter(s -> s.measured).count());
+        summary.put("pollIntervalMs", pollInterval.toMillis());
+        summary.put("pollErrors", pollErrors.get());
+        return summary;
+    }
+
+    private void poll() {
+        while (running) {
+            long roundStart = System.nanoTime();
+            for (Map.Entry<Long, Submission> entry : pending.entrySet()) {
+                if (!running) {
+                    return;
+                }
+                check(entry.getKey(), entry.getValue());
+            }
+            long sleep = pollInterval.toMillis() - (System.nanoTime() - roundStart) / 1_000_000;
+            try {
+                Thread.sleep(Math.max(sleep, 10));
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void check(long blogId, Submission submission) {
+        String status;
+        try {
+            status = client.status(blogId);
+        } catch (IOException e) {
+            pollErrors.incrementAndGet();
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return;
+        }
+        if (status == null || status.equals("PENDING") || status.equals("PROCESSING")) {
+            return;
+        }
+        long nanos = System.nanoTime() - submission.sentNanos;
+        pending.remove(blogId);
+        if (submission.measured) {
+            lag.record(nanos);
+            lagByOutcome.computeIfAbsent(status, s -> new Latencies()).record(nanos);
+        }
+        if (status.equals("APPROVED")) {
+            synchronized (approved) {
+                approved.add(blogId);
+            }
+        }
+    }
+}
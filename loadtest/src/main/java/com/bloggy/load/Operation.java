@@ -0,0 +1,17 @@
+package com.bloggy.load;
+
+/**
+ * What a simulated user can do in one step. Each is a single HTTP request.
+ */
+public enum Operation {
+    /** POST /api/blogs, queued for moderation */
+    SUBMIT,
+    /** GET /api/blogs/summaries?status=APPROVED, the home page listing */
+    LIST,
+    /** GET /api/blogs/{id} of an approved blog */
+    READ,
+    /** POST /api/blogs/{id}/comments */
+    COMMENT,
+    /** POST or DELETE /api/follow, alternating per author */
+    FOLLOW
+}
@@ -0,0 +1,82 @@
+package com.bloggy.load;
+
+import java.util.Random;
+
+/**
+ * Blog-like titles, contents and comments from a seeded Random: a topical vocabulary mixed
+ * with made-up words so tags and similarity vary between posts, in paragraphs, with a profane
+ * word in a configurable share of posts so some go to REVIEW.
+ */
+public class PostGenerator {
+
+    private static final String[] TOPICAL = {
+        "java", "spring", "database", "performance", "latency", "cache", "thread", "server",
+        "design", "pattern", "docker", "testing", "deployment", "security", "memory", "query",
+        "index", "network", "frontend", "react", "cloud", "storage", "stream", "metrics"
+    };
+    private static final String[] COMMON = {
+        "the", "and", "to", "of", "a", "in", "is", "that", "for", "it", "with", "on", "this", "we"
+    };
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ren", "sta", "tor", "vel", "qui", "dan", "pel", "zor", "fi", "gra", "hon"
+    };
+    private static final String[] PROFANE = { "damn", "crap" };
+
+    private final Random random;
+    private final int words;
+    private final double profanityRate;
+
+    public PostGenerator(Random random, int words, double profanityRate) {
+        this.random = random;
+        this.words = words;
+        this.profanityRate = profanityRate;
+    }
+
+    public String title() {
+        StringBuilder title = new StringBuilder();
+        for (int i = 0, n = 3 + random.nextInt(6); i < n; i++) {
+            String word = i % 2 == 0 ? TOPICAL[random.nextInt(TOPICAL.length)] : word();
+            title.append(i == 0 ? "" : " ").append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        return title.toString();
+    }
+
+    public String content() {
+        StringBuilder out = new StringBuilder();
+        int profaneAt = random.nextDouble() < profanityRate ? random.nextInt(words) : -1;
+        for (int i = 0; i < words; i++) {
+            out.append(i == profaneAt ? PROFANE[random.nextInt(PROFANE.length)] : word());
+            if (i % 80 == 79) {
+                out.append(".\n\n");
+            } else if (i % 12 == 11) {
+                out.append(". ");
+            } else {
+                out.append(' ');
+            }
+        }
+        return out.toString().trim();
+    }
+
+    public String comment() {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0, n = 5 + random.nextInt(25); i < n; i++) {
+            out.append(i == 0 ? "" : " ").append(word());
+        }
+        return out.toString();
+    }
+
+    private String word() {
+        int kind = random.nextInt(10);
+        if (kind < 5) {
+            return COMMON[random.nextInt(COMMON.length)];
+        }
+        if (kind < 8) {
+            return TOPICAL[random.nextInt(TOPICAL.length)];
+        }
+        StringBuilder word = new StringBuilder();
+        for (int s = 0, n = 2 + random.nextInt(2); s < n; s++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,126 @@
+package com.bloggy.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Server-side view of a run, from the Prometheus endpoint: what the client can't see, such as
+ * tasks the executors turned away, the moderation backlog and email fan-out. Counters are
+ * reported as the change over the run; gauges are sampled while it runs and reported as a peak.
+ */
+public class ServerMetrics {
+
+    private static final Pattern SERIES = Pattern.compile("^([a-zA-Z_:][a-zA-Z0-9_:]*)(\\{[^}]*})?\\s+(\\S+)");
+    private static final Pattern NAME_LABEL = Pattern.compile("name=\"([^\"]*)\"");
+
+    private final BloggyClient client;
+    private final String url;
+    private Map<String, Double> before;
+    private Map<String, Double> after;
+    private double peakQueueDepth;
+    private double peakPendingConnections;
+    private double peakEmailQueue;
+
+    public ServerMetrics(BloggyClient client, String url) {
+        this.client = client;
+        this.url = url;
+    }
+
+    public boolean available() {
+        return before != null;
+    }
+
+    public void start() {
+        before = scrape();
+    }
+
+    /** Call every second or so while the run is going */
+    public void sample() {
+        Map<String, Double> now = scrape();
+        if (now == null) {
+            return;
+        }
+        synchronized (this) {
+            peakQueueDepth = Math.max(peakQueueDepth, sum(now, "bloggy_moderation_queue_depth"));
+            peakPendingConnections = Math.max(peakPendingConnections, sum(now, "hikaricp_connections_pending"));
+            peakEmailQueue = Math.max(peakEmailQueue, sumOf(now, "executor_queued_tasks", "emailExecutor"));
+        }
+    }
+
+    public void stop() {
+        after = scrape();
+    }
+
+    public synchronized Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (before == null || after == null) {
+            summary.put("available", false);
+            return summary;
+        }
+        Map<String, Long> rejected = new TreeMap<>();
+        after.forEach((series, value) -> {
+            if (series.startsWith("executor_rejected_total")) {
+                Matcher name = NAME_LABEL.matcher(series);
+                String executor = name.find() ? name.group(1) : series;
+                long delta = Math.round(value - before.getOrDefault(series, 0d));
+                rejected.merge(executor, delta, Long::sum);
+            }
+        });
+        summary.put("executorRejected", rejected);
+        summary.put("peakModerationQueueDepth", Math.round(peakQueueDepth));
+        summary.put("finalModerationQueueDepth", Math.round(sum(after, "bloggy_moderation_queue_depth")));
+        summary.put("peakPendingDbConnections", Math.round(peakPendingConnections));
+        summary.put("peakEmailExecutorQueue", Math.round(peakEmailQueue));
+        summary.put("emailsSent", delta("bloggy_email_sent_total"));
+        summary.put("emailsFailed", delta("bloggy_email_failed_total"));
+        return summary;
+    }
+
+    private long delta(String name) {
+        return Math.round(sum(after, name) - sum(before, name));
+    }
+
+    private Map<String, Double> scrape() {
+        String text = client.prometheus(url);
+        return text == null ? null : parse(text);
+    }
+
+    /** Series (name plus labels, as written) to value */
+    static Map<String, Double> parse(String text) {
+        Map<String, Double> series = new LinkedHashMap<>();
+        for (String line : text.split("\n")) {
+            if (line.startsWith("#")) {
+                continue;
+            }
+            Matcher matcher = SERIES.matcher(line);
+            if (matcher.find()) {
+                String labels = matcher.group(2) != null ? matcher.group(2) : "";
+                try {
+                    series.put(matcher.group(1) + labels, Double.parseDouble(matcher.group(3)));
+                } catch (NumberFormatException e) {
+                    // NaN and friends are parsed; anything else isn't a sample
+                }
+            }
+        }
+        return series;
+    }
+
+    private static double sum(Map<String, Double> series, String name) {
+        return sumOf(series, name, null);
+    }
+
+    private static double sumOf(Map<String, Double> series, String name, String executor) {
+        double total = 0;
+        for (Map.Entry<String, Double> entry : series.entrySet()) {
+            String key = entry.getKey();
+            boolean matches = key.equals(name) || key.startsWith(name + "{");
+            if (matches && (executor == null || key.contains("name=\"" + executor + "\""))) {
+                total += entry.getValue().isNaN() ? 0 : entry.getValue();
+            }
+        }
+        return total;
+    }
+}